@@ -0,0 +1,79 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai mesurant le nombre de générations calculées par seconde par chaque moteur de calcul.
+ * La grille carrée est remplie aléatoirement, avec une graine fixe, selon la densité demandée.
+ * Chaque appel mesuré calcule un nombre fixe de générations à partir d'un automate neuf, recréé avant l'appel hors du temps mesuré :
+ * tous les moteurs calculent ainsi exactement les mêmes générations de la même soupe, jamais une grille déjà stabilisée ou éteinte,
+ * et HashLife ne profite d'aucun résultat mémorisé lors d'un appel précédent.
+ * Le module de l'API Vector est ajouté à la machine virtuelle de mesure, le moteur vectoriel peut ainsi être comparé au moteur classique, qui calcule une cellule à la fois.
+ * @author Velki0
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class AutomateBenchmark {
+
+    /** Nombre de générations calculées à chaque appel mesuré à partir de la soupe de départ. */
+    private static final int GENERATIONS_PAR_APPEL = 32;
+
+    /** Moteur de calcul mesuré. */
+    @Param({"CLASSIQUE", "VECTORIEL", "BINAIRE", "HASHLIFE", "DISPERSE", "GENERATIONS"})
+    public TypeAutomate typeAutomate;
+    /** Nombre de lignes et de colonnes de la grille. */
+    @Param({"256", "1024", "2048"})
+    public int taille;
+    /** Proportion de cellules vivantes au départ. */
+    @Param({"0.05", "0.3", "0.5"})
+    public double densite;
+    /** Nombre de fils d'exécution utilisés par les moteurs sur grille. */
+    @Param({"1"})
+    public int nombreDeFils;
+
+    /** Automate mesuré. */
+    private Automate automate;
+
+    /**
+     * Méthode créant un automate neuf sur la grille de départ avant chaque appel mesuré.
+     */
+    @Setup(Level.Invocation)
+    public void preparer() {
+
+        automate = typeAutomate.creer(taille, taille, false);
+        automate.setNombreDeFils(nombreDeFils);
+        automate.remplir(new Remplissage(42, densite));
+
+    }
+
+    /**
+     * Calcul des premières générations de la soupe, chacune comptant pour une opération : le débit mesuré est donc un nombre de générations par seconde.
+     * @return L'automate, afin que le calcul ne soit pas éliminé par le compilateur.
+     */
+    @Benchmark
+    @OperationsPerInvocation(GENERATIONS_PAR_APPEL)
+    public Automate mettreAJourAutomate() {
+
+        for (int generation = 0; generation < GENERATIONS_PAR_APPEL; generation++) {
+            automate.mettreAJourAutomate();
+        }
+        return automate;
+
+    }
+
+}
@@ -0,0 +1,117 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import fr.baptistegerardin.jeudelavie.exceptions.ModeleRenseigneNonConforme;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Banc d'essai mesurant le temps de lecture d'un modèle au format RLE.
+ * Les modèles fournis avec l'application sont lus depuis les ressources, la soupe est un modèle de 2048 x 2048 cellules généré à la volée.
+ * Le fichier est chargé en mémoire au préalable afin de ne mesurer que le décodage, sans les accès disque.
+ * @author Velki0
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModeleBenchmark {
+
+    /** Nom du fichier lu dans /modeles/, ou 'soupe' pour le modèle généré. */
+    @Param({"p43 glider loop.rle", "crystallizationanddecayoscillator.rle", "soupe"})
+    public String fichier;
+
+    /** Contenu du modèle. */
+    private String contenu;
+
+    /**
+     * Méthode chargeant le contenu du modèle en mémoire.
+     * @throws IOException Exception jetée si la ressource est introuvable.
+     */
+    @Setup
+    public void preparer() throws IOException {
+
+        if (fichier.equals("soupe")) {
+            contenu = genererSoupe(2048, 0.3);
+            return;
+        }
+        try (InputStream flux = ModeleBenchmark.class.getResourceAsStream("/modeles/" + fichier)) {
+            if (flux == null) {
+                throw new IOException("Ressource introuvable : /modeles/" + fichier);
+            }
+            contenu = new String(flux.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+    }
+
+    /**
+     * Méthode encodant au format RLE une grille carrée aléatoire.
+     * @param taille Nombre de lignes et de colonnes.
+     * @param densite Proportion de cellules vivantes.
+     * @return Le modèle encodé.
+     */
+    private static String genererSoupe(int taille, double densite) {
+
+        SplittableRandom aleatoire = new SplittableRandom(42);
+        StringBuilder rle = new StringBuilder("x = " + taille + ", y = " + taille + ", rule = B3/S23\n");
+        int longueurLigne = 0;
+        for (int x = 0; x < taille; x++) {
+            int y = 0;
+            while (y < taille) {
+                boolean enVie = aleatoire.nextDouble() < densite;
+                int repetitions = 1;
+                while (y + repetitions < taille && (aleatoire.nextDouble() < densite) == enVie) {
+                    repetitions++;
+                }
+                int debut = rle.length();
+                if (repetitions > 1) {
+                    rle.append(repetitions);
+                }
+                rle.append(enVie ? 'o' : 'b');
+                y += repetitions;
+                // Les lignes du fichier ne dépassent pas 70 caractères, comme dans les fichiers de la communauté.
+                longueurLigne += rle.length() - debut;
+                if (longueurLigne >= 70) {
+                    rle.append('\n');
+                    longueurLigne = 0;
+                }
+            }
+            rle.append(x == taille - 1 ? '!' : '$');
+        }
+        return rle.toString();
+
+    }
+
+    /**
+     * Lecture complète du modèle.
+     * @param trou Puits de JMH empêchant l'élimination du modèle lu.
+     * @throws IOException Exception jetée en cas d'erreur de lecture.
+     * @throws ModeleRenseigneNonConforme Exception jetée si le modèle n'est pas conforme.
+     */
+    @Benchmark
+    public void lireModele(Blackhole trou) throws IOException, ModeleRenseigneNonConforme {
+
+        trou.consume(new Modele(new StringReader(contenu)));
+
+    }
+
+}
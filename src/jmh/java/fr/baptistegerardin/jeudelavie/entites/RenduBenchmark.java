@@ -0,0 +1,89 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Banc d'essai mesurant le temps de dessin d'une image complète du plateau de jeu.
+ * Une image complète comprend le dessin de la trame par le fil de simulation puis son affichage par le fil de Swing,
+ * tous deux enchaînés ici par le fil du banc d'essai pendant que le fil de simulation du plateau attend sans rien faire.
+ * Le plateau est dessiné dans une image hors écran, sans fenêtre, la JVM est donc lancée en mode 'headless'.
+ * @author Velki0
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenduBenchmark {
+
+    /** Nombre de lignes et de colonnes du plateau. */
+    @Param({"100", "400"})
+    public int taille;
+    /** Taille des cellules en pixels. */
+    @Param({"1", "5"})
+    public int tailleCellules;
+
+    /** Plateau de jeu dessiné. */
+    private PlateauDeJeu plateauDeJeu;
+    /** Image hors écran recevant le dessin. */
+    private BufferedImage image;
+    /** Contexte graphique de l'image. */
+    private Graphics2D graphique;
+
+    /**
+     * Méthode créant un plateau aléatoire et l'image dans laquelle il est dessiné.
+     */
+    @Setup
+    public void preparer() {
+
+        plateauDeJeu = new PlateauDeJeu();
+        plateauDeJeu.rearrangerGrille(taille, taille).join();
+        plateauDeJeu.autoRemplissage(42, 0.5).join();
+        plateauDeJeu.setTailleCellules(tailleCellules);
+        plateauDeJeu.setSize(taille * tailleCellules, taille * tailleCellules);
+        image = new BufferedImage(taille * tailleCellules, taille * tailleCellules, BufferedImage.TYPE_INT_RGB);
+        graphique = image.createGraphics();
+
+    }
+
+    /**
+     * Méthode libérant le contexte graphique.
+     */
+    @TearDown
+    public void liberer() {
+
+        graphique.dispose();
+
+    }
+
+    /**
+     * Dessin d'une image complète du plateau.
+     * @return L'image dessinée, afin que le dessin ne soit pas éliminé par le compilateur.
+     */
+    @Benchmark
+    public BufferedImage dessiner() {
+
+        plateauDeJeu.publierTrame();
+        plateauDeJeu.paintComponent(graphique);
+        return image;
+
+    }
+
+}
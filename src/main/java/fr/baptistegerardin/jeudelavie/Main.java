@@ -1,22 +1,20 @@
 package fr.baptistegerardin.jeudelavie;
 
 import fr.baptistegerardin.jeudelavie.entites.JeuDeLaVie;
-
-import javax.swing.JFrame;
+import fr.baptistegerardin.jeudelavie.entites.SimulationSansInterface;
 
 /**
  * Démarrage de l'application du Jeu de la Vie.
+ * Avec l'argument '--headless', la simulation tourne en ligne de commande sans ouvrir de fenêtre.
  */
 public class Main {
 
     public static void main(String[] args) {
 
-        JFrame jeuDeLaVie = new JeuDeLaVie();
-        jeuDeLaVie.setTitle("Jeu de la Vie de Conway");
-        jeuDeLaVie.setLocationByPlatform(true);
-        jeuDeLaVie.setResizable(false);
-        jeuDeLaVie.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        jeuDeLaVie.setVisible(true);
+        if (SimulationSansInterface.estDemandee(args)) {
+            System.exit(SimulationSansInterface.executer(args));
+        }
+        JeuDeLaVie.lancer();
 
     }
 
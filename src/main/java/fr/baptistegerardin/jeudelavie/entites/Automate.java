@@ -1,26 +1,30 @@
 package fr.baptistegerardin.jeudelavie.entites;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Un Automate cellulaire est un ensemble de cellules possédant une taille (en lignes et colonnes) maximale fixée.
- * Il est défini suivant la définition du Jeu de la Vie de Conway et suit la règle standard B3/S23.
+ * Il est défini suivant la définition du Jeu de la Vie de Conway et suit par défaut la règle standard B3/S23,
+ * toute autre règle de la même famille ('Life-like') pouvant lui être donnée.
+ * Cette classe abstraite définit le contrat commun à tous les moteurs de calcul, quelle que soit la façon dont les cellules sont stockées en mémoire.
  * @author Velki0
  * @version 1.0
  */
-public class Automate {
+public abstract class Automate {
 
     /** Nombre de lignes totales de l'automate. */
-    private final int lignesTotales;
+    protected final int lignesTotales;
     /** Nombre de colonnes totales de l'automate. */
-    private final int colonnesTotales;
-    /** Tableau à deux dimensions de Cellules définissant l'automate cellulaire prévu par le Jeu de la Vie de Conway.  */
-    private final List<List<Cellule>> cellules;
+    protected final int colonnesTotales;
+    /** Nombre de fils d'exécution que l'automate peut utiliser pour calculer une génération. */
+    private int nombreDeFils = 1;
+    /** Comportement de l'automate aux bords de la grille. */
+    private Topologie topologie = Topologie.BORNEE;
+    /** Règle de naissance et de survie des cellules. */
+    private Regle regle = Regle.CONWAY;
 
     /**
-     * Constructeur d'un automate avec des attributs cellulaires aléatoires.
-     * Nécessite deux paramètres définissant la taille de l'objet.
+     * Constructeur commun à tous les automates fixant leur taille.
      * @param lignesTotales Nombre de lignes totales de l'automate.
      * @param colonnesTotales Nombre de colonnes totales de l'automate.
      */
@@ -28,148 +32,412 @@ public class Automate {
 
         this.lignesTotales = lignesTotales;
         this.colonnesTotales = colonnesTotales;
-        cellules = new ArrayList<>();
-        for (int x = 0; x < lignesTotales; x++) {
-            cellules.add(new ArrayList<>());
-            for (int y = 0; y < colonnesTotales; y++) {
-                cellules.get(x).add(new Cellule());
+
+    }
+
+    /**
+     * Méthode pour l'obtention de l'état actuel d'une cellule spécifiée par son identifiant de ligne et de colonne.
+     * @param ligne Numéro de ligne de la cellule.
+     * @param colonne Numéro de colonne de la cellule.
+     * @return L'état actuel de la cellule.
+     */
+    protected abstract boolean getEnVie(int ligne, int colonne);
+
+    /**
+     * Méthode permettant de fixer l'état actuel d'une cellule spécifiée par son identifiant de ligne et de colonne.
+     * @param ligne Numéro de ligne de la cellule.
+     * @param colonne Numéro de colonne de la cellule.
+     * @param enVie Nouvel état de la cellule.
+     */
+    protected abstract void setEnVie(int ligne, int colonne, boolean enVie);
+
+    /**
+     * Méthode pour l'obtention de l'état d'une cellule parmi les états de la règle : 0 pour une cellule morte, 1 pour une cellule vivante,
+     * 2 et au-delà pour une cellule mourante d'une règle 'Generations'.
+     * Par défaut, seuls les états 0 et 1 existent.
+     * @param ligne Numéro de ligne de la cellule.
+     * @param colonne Numéro de colonne de la cellule.
+     * @return L'état de la cellule.
+     */
+    protected int getEtat(int ligne, int colonne) { return getEnVie(ligne, colonne) ? 1 : 0; }
+
+    /**
+     * Méthode permettant de fixer l'état d'une cellule parmi les états de la règle.
+     * Par défaut, tout état autre que 1 rend la cellule morte.
+     * @param ligne Numéro de ligne de la cellule.
+     * @param colonne Numéro de colonne de la cellule.
+     * @param etat Nouvel état de la cellule.
+     */
+    protected void setEtat(int ligne, int colonne, int etat) { setEnVie(ligne, colonne, etat == 1); }
+
+    /**
+     * Méthode d'incrémentation de l'automate vers sa prochaine génération.
+     */
+    protected abstract void mettreAJourAutomate();
+
+    /**
+     * Méthode faisant avancer l'automate d'un nombre quelconque de générations.
+     * Par défaut les générations sont calculées une à une, les moteurs capables de sauter des générations redéfinissent cette méthode.
+     * @param generations Nombre de générations à franchir.
+     */
+    protected void avancer(long generations) {
+
+        for (long generation = 0; generation < generations; generation++) {
+            mettreAJourAutomate();
+        }
+
+    }
+
+    /**
+     * Méthode faisant avancer l'automate sans dépasser une durée donnée, afin que le fil appelant puisse reprendre la main au cours d'un long saut.
+     * Par défaut toutes les générations sont franchies par 'avancer', quelle que soit la durée : seuls les moteurs capables de sauter des générations
+     * redéfinissent cette méthode pour rendre la main entre deux sauts.
+     * @param generations Nombre de générations à franchir, au moins une.
+     * @param dureeMaximale Durée en nanosecondes au-delà de laquelle aucun nouveau saut n'est commencé.
+     * @return Le nombre de générations franchies, au moins une.
+     */
+    protected long avancer(long generations, long dureeMaximale) {
+
+        avancer(generations);
+        return generations;
+
+    }
+
+    /**
+     * Getter indiquant si le moteur franchit plusieurs générations d'un seul coup dans 'avancer', plutôt que de les calculer une à une.
+     * @return 'true' si le moteur saute des générations, 'false' par défaut.
+     */
+    protected boolean isSautDeGenerations() { return false; }
+
+    /**
+     * Méthode permettant à l'automate d'effacer entièrement son contenu et de le remplacer par des valeurs 'false' uniquement.
+     */
+    protected abstract void reinitialiserAutomate();
+
+    /**
+     * Méthode recopiant l'état de chaque cellule d'un autre automate de même taille.
+     * Elle permet notamment de changer de moteur de calcul sans perdre la génération en cours.
+     * Les états mourants d'une règle 'Generations' ne sont conservés que si les deux automates peuvent les représenter.
+     * @param source L'automate dont l'état est recopié.
+     */
+    protected void copierDepuis(Automate source) {
+
+        for (int x = 0; x < Math.min(lignesTotales, source.lignesTotales); x++) {
+            for (int y = 0; y < Math.min(colonnesTotales, source.colonnesTotales); y++) {
+                setEtat(x, y, source.getEtat(x, y));
             }
         }
 
     }
 
     /**
-     * Constructeur d'un automate permettant de fixer l'état initial de chaque cellule de façon uniforme.
-     * Nécessite deux paramètres définissant la taille de l'objet et d'une valeur booléenne de départ.
-     * @param lignesTotales Nombre de lignes totales de l'automate.
-     * @param colonnesTotales Nombre de colonnes totales de l'automate.
-     * @param etatInitial État initial de toutes les cellules de l'automate.
+     * Méthode remplaçant toutes les cellules de l'automate par des cellules tirées au hasard.
+     * Par défaut chaque ligne tirée est recopiée cellule vivante par cellule vivante, sur un seul fil, les moteurs sur grille la recopient directement.
+     * @param remplissage Remplissage fixant la graine et la densité des cellules vivantes.
      */
-    protected Automate(int lignesTotales, int colonnesTotales, boolean etatInitial) {
+    protected void remplir(Remplissage remplissage) {
 
-        this.lignesTotales = lignesTotales;
-        this.colonnesTotales = colonnesTotales;
-        cellules = new ArrayList<>();
+        reinitialiserAutomate();
+        remplissage.remplir(lignesTotales, colonnesTotales, 1, (x, mots) -> {
+            for (int mot = 0; mot < mots.length; mot++) {
+                for (long bits = mots[mot]; bits != 0; bits &= bits - 1) {
+                    setEnVie(x, (mot << 6) + Long.numberOfTrailingZeros(bits), true);
+                }
+            }
+        });
+
+    }
+
+    /**
+     * Méthode recopiant une ligne de l'automate sous forme de mots de 64 bits.
+     * Par défaut chaque cellule de la ligne est lue, les moteurs redéfinissent cette méthode pour recopier leurs mots directement.
+     * @param ligne Numéro de la ligne.
+     * @param mots Mots recevant la ligne, le bit 'n' du mot 'm' correspondant à la colonne '64 * m + n', entièrement réécrits.
+     */
+    protected void copierLigne(int ligne, long[] mots) {
+
+        Arrays.fill(mots, 0);
+        for (int y = 0; y < colonnesTotales; y++) {
+            if (getEnVie(ligne, y)) {
+                mots[y >>> 6] |= 1L << y;
+            }
+        }
+
+    }
+
+    /**
+     * Méthode recopiant l'état de chaque cellule d'une ligne de l'automate, un octet par cellule.
+     * Par défaut chaque cellule de la ligne est lue, le moteur Generations redéfinit cette méthode pour recopier sa ligne directement.
+     * @param ligne Numéro de la ligne.
+     * @param etats Octets recevant la ligne, l'octet 'y' correspondant à la colonne 'y'.
+     */
+    protected void copierEtats(int ligne, byte[] etats) {
+
+        for (int y = 0; y < colonnesTotales; y++) {
+            etats[y] = (byte) getEtat(ligne, y);
+        }
+
+    }
+
+    /**
+     * Getter afin de récupérer le nombre de cellules vivantes de l'automate.
+     * Par défaut les cellules sont comptées à chaque appel, les moteurs redéfinissent cette méthode pour tenir la population à jour au fil des générations.
+     * Sur un plan infini, les cellules sorties de la fenêtre affichée sont également comptées.
+     * @return Le nombre de cellules vivantes.
+     */
+    protected long getPopulation() { return compterPopulation(); }
+
+    /**
+     * Méthode comptant les cellules vivantes de l'automate en parcourant toute la grille.
+     * Par défaut chaque cellule de la grille est lue, les moteurs redéfinissent cette méthode pour compter plus rapidement.
+     * @return Le nombre de cellules vivantes.
+     */
+    protected long compterPopulation() {
+
+        long population = 0;
         for (int x = 0; x < lignesTotales; x++) {
-            cellules.add(new ArrayList<>());
             for (int y = 0; y < colonnesTotales; y++) {
-                cellules.get(x).add(new Cellule(etatInitial));
+                if (getEnVie(x, y)) {
+                    population++;
+                }
             }
         }
+        return population;
 
     }
 
     /**
-     * Constructeur d'un automate via le chargement d'un modèle prédéfini.
-     * Nécessite toutes les informations de la grille de départ contenu dans le paramètre 'modele'.
-     * @param modele Modèle de l'automate cellulaire.
+     * Getter afin de récupérer le nombre de cellules nées lors de la dernière génération calculée.
+     * Les naissances sont comptées pendant le calcul de la génération, dans la même boucle que les cellules elles-mêmes.
+     * @return Le nombre de naissances, -1 si le moteur ne les compte pas.
+     */
+    protected long getNaissances() { return -1; }
+
+    /**
+     * Getter afin de récupérer le nombre de cellules mortes lors de la dernière génération calculée.
+     * @return Le nombre de morts, -1 si le moteur ne les compte pas.
+     */
+    protected long getMorts() { return -1; }
+
+    /**
+     * Méthode renvoyant l'empreinte de la génération en cours : une valeur de 64 bits identique pour deux générations identiques,
+     * et différente avec une très forte probabilité sinon. Elle permet de reconnaître une génération déjà rencontrée sans comparer les grilles.
+     * Par défaut l'empreinte est recalculée en lisant chaque cellule, les moteurs redéfinissent cette méthode
+     * pour la tenir à jour au fil des générations en ne tenant compte que des cellules ayant changé.
+     * Seules les empreintes d'un même automate sont comparables entre elles.
+     * @return L'empreinte de la génération en cours.
      */
-    protected Automate(Modele modele) {
+    protected long getEmpreinte() { return calculerEmpreinte(); }
 
-        this.lignesTotales = modele.getLignesTotales();
-        this.colonnesTotales = modele.getColonnesTotales();
-        cellules = new ArrayList<>();
-        List<Cellule> ligneCellules;
+    /**
+     * Méthode calculant l'empreinte de la génération en cours en parcourant toute la grille.
+     * L'empreinte est le OU exclusif des empreintes des cellules vivantes : naître ou mourir inverse la contribution d'une cellule,
+     * une empreinte tenue à jour cellule par cellule reste donc toujours égale à celle que calcule cette méthode.
+     * @return L'empreinte de la génération en cours.
+     */
+    protected long calculerEmpreinte() {
+
+        long empreinte = 0;
         for (int x = 0; x < lignesTotales; x++) {
-            ligneCellules = new ArrayList<>();
             for (int y = 0; y < colonnesTotales; y++) {
-                ligneCellules.add(new Cellule(modele.getModeleNormaliser().get(x).get(y)));
+                if (getEnVie(x, y)) {
+                    empreinte ^= empreinteCellule(x, y);
+                }
             }
-            cellules.add(ligneCellules);
         }
+        return empreinte;
 
     }
 
     /**
-     * Méthode pour l'obtention de l'état actuel d'une cellule spécifiée par son identifiant de ligne et de colonne.
-     * Il est à noter que si les valeurs de localisation définisse un objet hors grille, la méthode renvoie false.
-     * @param ligne Numéro de ligne de la cellule.
-     * @param colonne Numéro de colonne de la cellule.
-     * @return Une valeur booléenne suivant l'état actuel de la cellule. Revoie 'false' si la cellule est hors-champ.
+     * Méthode renvoyant la contribution d'une cellule vivante à l'empreinte d'une génération.
+     * @param ligne Ligne de la cellule.
+     * @param colonne Colonne de la cellule.
+     * @return L'empreinte de la cellule.
      */
-    private boolean getValeurCellule(int ligne, int colonne) {
+    protected static long empreinteCellule(int ligne, int colonne) { return melanger(((long) ligne << 32) | (colonne & 0xFFFFFFFFL)); }
 
-        if (ligne >= 0 && colonne >= 0 && ligne < lignesTotales && colonne < colonnesTotales) {
-            return cellules.get(ligne).get(colonne).getEnVie();
-        } else {
-            return false;
-        }
+    /**
+     * Méthode mélangeant les bits d'une valeur de 64 bits (finaliseur de SplitMix64) : deux valeurs proches donnent des résultats sans rapport.
+     * @param valeur Valeur à mélanger.
+     * @return La valeur mélangée.
+     */
+    protected static long melanger(long valeur) {
+
+        valeur = (valeur ^ (valeur >>> 30)) * 0xbf58476d1ce4e5b9L;
+        valeur = (valeur ^ (valeur >>> 27)) * 0x94d049bb133111ebL;
+        return valeur ^ (valeur >>> 31);
 
     }
 
     /**
-     * Méthode permettant d'obtenir le nombre de cellules voisines en vie pour une cellule spécifiée.
-     * @param ligne Numéro de ligne de la cellule.
-     * @param colonne Numéro de colonne de la cellule.
-     * @return Le nombre de cellules voisines en vie.
+     * Méthode dessinant la génération en cours dans un tableau de pixels, à raison d'un pixel par cellule.
+     * Le tableau est rangé ligne après ligne et mesure 'colonnesTotales' pixels de large, comme le raster d'une image.
+     * @param pixels Tableau d'au moins 'lignesTotales * colonnesTotales' pixels.
+     * @param couleurVivante Couleur RGB des cellules vivantes.
+     * @param couleurMorte Couleur RGB des cellules mortes.
+     */
+    protected final void dessiner(int[] pixels, int couleurVivante, int couleurMorte) {
+
+        dessiner(pixels, 0, 0, lignesTotales, colonnesTotales, 1, couleurVivante, couleurMorte);
+
+    }
+
+    /**
+     * Méthode dessinant une région rectangulaire de la génération en cours dans un tableau de pixels,
+     * à raison d'un pixel par bloc de 'reduction' x 'reduction' cellules.
+     * Un pixel prend la couleur des cellules vivantes dès qu'au moins une cellule de son bloc est vivante,
+     * afin que les structures isolées restent visibles une fois la grille réduite.
+     * Le tableau est rangé ligne après ligne et mesure 'ceil(colonnes / reduction)' pixels de large, comme le raster d'une image.
+     * Seules les cellules de la région sont lues, le coût du dessin ne dépend donc que de la taille de la région et non de celle de la grille.
+     * @param pixels Tableau d'au moins 'ceil(lignes / reduction) * ceil(colonnes / reduction)' pixels.
+     * @param ligneDebut Première ligne de la région.
+     * @param colonneDebut Première colonne de la région.
+     * @param lignes Nombre de lignes de la région, qui doit être contenue dans la grille.
+     * @param colonnes Nombre de colonnes de la région, qui doit être contenue dans la grille.
+     * @param reduction Nombre de cellules représentées par un pixel, sur chaque axe.
+     * @param couleurVivante Couleur RGB des cellules vivantes.
+     * @param couleurMorte Couleur RGB des cellules mortes.
      */
-    private int compterVoisins(int ligne, int colonne) {
+    protected void dessiner(int[] pixels, int ligneDebut, int colonneDebut, int lignes, int colonnes, int reduction, int couleurVivante, int couleurMorte) {
 
-        // Renvoie le nombre de cellules vivantes dans un carré de 9 x 9 centré sur la cellule renseignée.
-        int compteurVoisins = 0;
-        for (int x = ligne - 1; x <= ligne + 1; x++) {
-            for (int y = colonne - 1; y <= colonne + 1; y++) {
-                if (getValeurCellule(x, y)) {
-                    compteurVoisins++;
+        int largeurImage = (colonnes + reduction - 1) / reduction;
+        int hauteurImage = (lignes + reduction - 1) / reduction;
+        for (int px = 0; px < hauteurImage; px++) {
+            int xDebut = ligneDebut + px * reduction;
+            int xFin = Math.min(xDebut + reduction, ligneDebut + lignes);
+            for (int py = 0; py < largeurImage; py++) {
+                int yDebut = colonneDebut + py * reduction;
+                int yFin = Math.min(yDebut + reduction, colonneDebut + colonnes);
+                boolean enVie = false;
+                for (int x = xDebut; x < xFin && !enVie; x++) {
+                    for (int y = yDebut; y < yFin && !enVie; y++) {
+                        enVie = getEnVie(x, y);
+                    }
                 }
+                pixels[px * largeurImage + py] = enVie ? couleurVivante : couleurMorte;
             }
         }
-        // On élimine la valeur de la case ciblée si elle était vivante.
-        if (getValeurCellule(ligne, colonne)) {
-            compteurVoisins--;
-        }
-        return compteurVoisins;
 
     }
 
     /**
-     * Méthode d'incrémentation de l'automate vers sa prochaine génération.
+     * Méthode dessinant une région d'une grille de bits, rangée ligne par ligne en mots de 64 cellules, dans un tableau de pixels.
+     * Les lignes d'un même bloc sont d'abord fusionnées par un OU mot à mot, puis chaque pixel teste les bits de son bloc dans la ligne fusionnée :
+     * une réduction de 64 ne coûte ainsi qu'une lecture de mot par ligne et par pixel.
+     * @param grille Grille de bits, le bit 'y & 63' du mot 'y >>> 6' d'une ligne représentant la colonne 'y'.
+     * @param pixels Tableau d'au moins 'ceil(lignes / reduction) * ceil(colonnes / reduction)' pixels.
+     * @param ligneDebut Première ligne de la région.
+     * @param colonneDebut Première colonne de la région.
+     * @param lignes Nombre de lignes de la région.
+     * @param colonnes Nombre de colonnes de la région.
+     * @param reduction Nombre de cellules représentées par un pixel, sur chaque axe.
+     * @param couleurVivante Couleur RGB des cellules vivantes.
+     * @param couleurMorte Couleur RGB des cellules mortes.
      */
-    protected void mettreAJourAutomate() {
+    protected static void dessinerBits(long[][] grille, int[] pixels, int ligneDebut, int colonneDebut, int lignes, int colonnes, int reduction, int couleurVivante, int couleurMorte) {
 
-        // Prépare pour chaque cellule son prochain état suivant leur nombre de voisins en vie.
-        for (int x = 0; x < lignesTotales; x++) {
-            for (int y = 0; y < colonnesTotales; y++) {
-                switch (compterVoisins(x, y)) {
-                    // Survie à 2 voisins
-                    case 2:
-                        if (getValeurCellule(x, y)) {
-                            cellules.get(x).get(y).setProchainEtat(true);
-                        }
-                        break;
-                    // Survie à 2 voisins ou naissance
-                    case 3:
-                        cellules.get(x).get(y).setProchainEtat(true);
-                        break;
-                    // Mort dans tous les autres cas
-                    default:
-                        cellules.get(x).get(y).setProchainEtat(false);
-                        break;
+        int largeurImage = (colonnes + reduction - 1) / reduction;
+        int hauteurImage = (lignes + reduction - 1) / reduction;
+        int colonneFin = colonneDebut + colonnes;
+        long[] fusion = new long[(colonneFin + 63) >>> 6];
+        int motDebut = colonneDebut >>> 6;
+        int motFin = fusion.length;
+        for (int px = 0; px < hauteurImage; px++) {
+            int xDebut = ligneDebut + px * reduction;
+            int xFin = Math.min(xDebut + reduction, ligneDebut + lignes);
+            long[] ligne = grille[xDebut];
+            if (xFin - xDebut > 1) {
+                System.arraycopy(ligne, motDebut, fusion, motDebut, motFin - motDebut);
+                for (int x = xDebut + 1; x < xFin; x++) {
+                    long[] suivante = grille[x];
+                    for (int mot = motDebut; mot < motFin; mot++) {
+                        fusion[mot] |= suivante[mot];
+                    }
                 }
+                ligne = fusion;
             }
-        }
-        // Fixe la nouvelle valeur 'en vie' pour chaque cellule.
-        for (int x = 0; x < lignesTotales; x++) {
-            for (int y = 0; y < colonnesTotales; y++) {
-                cellules.get(x).get(y).setEnVie(cellules.get(x).get(y).getProchainEtat());
+            int cible = px * largeurImage;
+            if (reduction == 1) {
+                for (int y = colonneDebut; y < colonneFin; y++) {
+                    pixels[cible++] = ((ligne[y >>> 6] >>> y) & 1L) != 0 ? couleurVivante : couleurMorte;
+                }
+            } else {
+                for (int yDebut = colonneDebut; yDebut < colonneFin; yDebut += reduction) {
+                    pixels[cible++] = contientBit(ligne, yDebut, Math.min(yDebut + reduction, colonneFin)) ? couleurVivante : couleurMorte;
+                }
             }
         }
 
     }
 
     /**
-     * Méthode permettant à l'automate d'effacer entièrement son contenu et de le remplacer par des valeurs 'false' uniquement.
+     * Méthode indiquant si au moins un bit est à 1 dans un intervalle d'une ligne de bits.
+     * @param ligne Ligne de bits, en mots de 64 cellules.
+     * @param debut Premier bit de l'intervalle.
+     * @param fin Bit suivant le dernier bit de l'intervalle.
+     * @return 'true' si un bit de l'intervalle est à 1.
      */
-    protected void reinitialiserAutomate() {
+    private static boolean contientBit(long[] ligne, int debut, int fin) {
 
-        for (int x = 0; x < lignesTotales; x++) {
-            for (int y = 0; y < colonnesTotales; y++) {
-                cellules.get(x).get(y).setEnVie(false);
+        int motDebut = debut >>> 6;
+        int motFin = (fin - 1) >>> 6;
+        long masqueDebut = -1L << debut;
+        long masqueFin = -1L >>> (63 - ((fin - 1) & 63));
+        if (motDebut == motFin) {
+            return (ligne[motDebut] & masqueDebut & masqueFin) != 0;
+        }
+        if ((ligne[motDebut] & masqueDebut) != 0) {
+            return true;
+        }
+        for (int mot = motDebut + 1; mot < motFin; mot++) {
+            if (ligne[mot] != 0) {
+                return true;
             }
         }
+        return (ligne[motFin] & masqueFin) != 0;
 
     }
 
+    /**
+     * Getter pour récupérer le nombre de fils d'exécution utilisés pour calculer une génération.
+     * @return Le nombre de fils d'exécution.
+     */
+    protected int getNombreDeFils() { return nombreDeFils; }
+
+    /**
+     * Setter pour fixer le nombre de fils d'exécution utilisés pour calculer une génération.
+     * Les moteurs ne sachant pas paralléliser leur calcul ignorent ce paramètre.
+     * @param nombreDeFils Nombre de fils d'exécution, au minimum 1.
+     */
+    protected void setNombreDeFils(int nombreDeFils) { this.nombreDeFils = Math.max(1, nombreDeFils); }
+
+    /**
+     * Getter pour récupérer le comportement de l'automate aux bords de la grille.
+     * @return La topologie de l'automate.
+     */
+    protected Topologie getTopologie() { return topologie; }
+
+    /**
+     * Setter pour fixer le comportement de l'automate aux bords de la grille.
+     * Les moteurs sur plan infini n'ont pas de bord et ignorent ce paramètre.
+     * @param topologie Nouvelle topologie.
+     */
+    protected void setTopologie(Topologie topologie) { this.topologie = topologie; }
+
+    /**
+     * Getter pour récupérer la règle de naissance et de survie suivie par l'automate.
+     * @return La règle de l'automate.
+     */
+    protected Regle getRegle() { return regle; }
+
+    /**
+     * Setter pour fixer la règle de naissance et de survie suivie par l'automate.
+     * Les moteurs gardant des calculs en mémoire les oublient en redéfinissant cette méthode.
+     * @param regle Nouvelle règle.
+     */
+    protected void setRegle(Regle regle) { this.regle = regle; }
+
     /**
      * Getter pour récupérer le nombre de lignes totales de l'automate.
      * @return Le nombre total de lignes de l'automate.
@@ -182,10 +450,4 @@ public class Automate {
      */
     protected int getColonnesTotales() { return colonnesTotales; }
 
-    /**
-     * Getter pour renvoyer le tableau de cellule entier de l'automate.
-     * @return Le tableau de cellules de l'automate.
-     */
-    protected List<List<Cellule>> getCellules() { return cellules; }
-
 }
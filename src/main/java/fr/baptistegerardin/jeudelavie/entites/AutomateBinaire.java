@@ -0,0 +1,441 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import java.util.Arrays;
+
+/**
+ * L'AutomateBinaire est un automate cellulaire dont les cellules sont compactées à raison de 64 cellules par 'long'.
+ * Chaque ligne de l'automate est un tableau de 'long' où le bit 'n' du mot 'm' correspond à la colonne '64 * m + n'.
+ * La génération suivante est calculée 64 cellules à la fois grâce à un additionneur binaire opérant sur des mots entiers.
+ * Une cellule n'occupe ainsi qu'un seul bit en mémoire.
+ * La grille est de plus découpée en tuiles de 64 colonnes (un mot) sur HAUTEUR_TUILE lignes.
+ * Seules les tuiles ayant changé lors de la dernière génération, ou bordant une tuile ayant changé, sont recalculées.
+ * Une tuile inchangée contient en effet la même chose dans les deux générations, la génération en préparation est donc déjà correcte pour elle.
+ * La règle de l'automate est compilée en listes de nombres de voisins, chaque nombre étant reconnu sur 64 cellules à la fois par quelques opérations binaires.
+ * En topologie torique, les lignes voisines sont prises modulo le nombre de lignes et les bits sortant d'un bord de ligne sont réinjectés au bord opposé.
+ * L'empreinte et la population de la grille sont tenues à jour mot par mot : seuls les mots ayant changé pendant une génération sont comptés.
+ * @author Velki0
+ * @version 1.0
+ */
+public final class AutomateBinaire extends AutomateGrille {
+
+    /** Nombre de lignes d'une tuile. */
+    private static final int HAUTEUR_TUILE = 32;
+
+    /** Nombre de mots de 64 bits nécessaires pour stocker une ligne. */
+    private final int motsParLigne;
+    /** Masque des colonnes réellement utilisées dans le dernier mot de chaque ligne. */
+    private final long masqueDernierMot;
+    /** Position dans le dernier mot du bit de la dernière colonne. */
+    private final int bitDerniereColonne;
+    /** Ligne toujours vide utilisée comme voisine des lignes du bord. */
+    private final long[] ligneVide;
+    /** Génération en cours, une ligne par tableau de mots. */
+    private long[][] generationCourante;
+    /** Génération en préparation, échangée avec la génération en cours à chaque incrémentation. */
+    private long[][] generationSuivante;
+    /** Nombre de tuiles dans la hauteur de la grille. */
+    private final int lignesDeTuiles;
+    /** Tuiles ayant changé entre la génération précédente et la génération en cours, rangées ligne de tuiles après ligne de tuiles. */
+    private boolean[] tuilesModifiees;
+    /** Tuiles ayant changé entre la génération en cours et la génération en préparation. */
+    private boolean[] tuilesModifieesSuivantes;
+    /** Nombres de voisins provoquant à la fois la naissance d'une cellule morte et la survie d'une cellule vivante. */
+    private int[] voisinsNaissanceEtSurvie;
+    /** Nombres de voisins provoquant uniquement la naissance d'une cellule morte. */
+    private int[] voisinsNaissanceSeule;
+    /** Nombres de voisins permettant uniquement la survie d'une cellule vivante. */
+    private int[] voisinsSurvieSeule;
+
+    /**
+     * Constructeur d'un automate binaire permettant de fixer l'état initial de chaque cellule de façon uniforme.
+     * @param lignesTotales Nombre de lignes totales de l'automate.
+     * @param colonnesTotales Nombre de colonnes totales de l'automate.
+     * @param etatInitial État initial de toutes les cellules de l'automate.
+     */
+    protected AutomateBinaire(int lignesTotales, int colonnesTotales, boolean etatInitial) {
+
+        super(lignesTotales, colonnesTotales);
+        motsParLigne = (colonnesTotales + 63) >>> 6;
+        masqueDernierMot = -1L >>> (64 - (colonnesTotales - ((motsParLigne - 1) << 6)));
+        bitDerniereColonne = (colonnesTotales - 1) & 63;
+        ligneVide = new long[motsParLigne];
+        generationCourante = new long[lignesTotales][motsParLigne];
+        generationSuivante = new long[lignesTotales][motsParLigne];
+        lignesDeTuiles = (lignesTotales + HAUTEUR_TUILE - 1) / HAUTEUR_TUILE;
+        tuilesModifiees = new boolean[lignesDeTuiles * motsParLigne];
+        tuilesModifieesSuivantes = new boolean[lignesDeTuiles * motsParLigne];
+        // Les deux générations diffèrent au départ, toutes les tuiles devront être calculées.
+        Arrays.fill(tuilesModifiees, true);
+        compilerRegle(getRegle());
+        if (etatInitial) {
+            for (long[] ligne : generationCourante) {
+                Arrays.fill(ligne, -1L);
+                ligne[motsParLigne - 1] &= masqueDernierMot;
+            }
+            setCompteurs(empreinteGrille(), populationGrille());
+        }
+
+    }
+
+    /**
+     * Constructeur d'un automate binaire via le chargement d'un modèle prédéfini.
+     * @param modele Modèle de l'automate cellulaire.
+     */
+    protected AutomateBinaire(Modele modele) {
+
+        this(modele.getLignesTotales(), modele.getColonnesTotales(), false);
+        // Le modèle est déjà rangé en mots de 64 bits, chaque ligne est recopiée d'un bloc.
+        for (int x = 0; x < lignesTotales; x++) {
+            System.arraycopy(modele.getLigne(x), 0, generationCourante[x], 0, motsParLigne);
+        }
+        setCompteurs(empreinteGrille(), populationGrille());
+
+    }
+
+    @Override
+    protected boolean getEnVie(int ligne, int colonne) { return (generationCourante[ligne][colonne >>> 6] & (1L << colonne)) != 0; }
+
+    @Override
+    protected void setEnVie(int ligne, int colonne, boolean enVie) {
+
+        int mot = colonne >>> 6;
+        long ancien = generationCourante[ligne][mot];
+        long nouveau = enVie ? ancien | (1L << colonne) : ancien & ~(1L << colonne);
+        generationCourante[ligne][mot] = nouveau;
+        modifierCompteurs(empreinteMot(ligne, mot, ancien) ^ empreinteMot(ligne, mot, nouveau), Long.bitCount(nouveau) - Long.bitCount(ancien));
+        tuilesModifiees[(ligne / HAUTEUR_TUILE) * motsParLigne + (colonne >>> 6)] = true;
+
+    }
+
+    @Override
+    protected void dessiner(int[] pixels, int ligneDebut, int colonneDebut, int lignes, int colonnes, int reduction, int couleurVivante, int couleurMorte) {
+
+        dessinerBits(generationCourante, pixels, ligneDebut, colonneDebut, lignes, colonnes, reduction, couleurVivante, couleurMorte);
+
+    }
+
+    @Override
+    protected void remplir(Remplissage remplissage) {
+
+        // Les mots sont tirés directement dans la génération en cours, sans grille intermédiaire.
+        remplissage.remplir(generationCourante, colonnesTotales, getNombreDeFils());
+        Arrays.fill(tuilesModifiees, true);
+        setCompteurs(empreinteGrille(), populationGrille());
+
+    }
+
+    @Override
+    protected void copierLigne(int ligne, long[] mots) { System.arraycopy(generationCourante[ligne], 0, mots, 0, motsParLigne); }
+
+    @Override
+    protected long compterPopulation() { return populationGrille(); }
+
+    @Override
+    protected long calculerEmpreinte() { return empreinteGrille(); }
+
+    /**
+     * Méthode comptant les cellules vivantes de la génération en cours, mot par mot.
+     * Privée, elle peut être appelée par les constructeurs sans dépendre d'une éventuelle redéfinition.
+     * @return Le nombre de cellules vivantes.
+     */
+    private long populationGrille() {
+
+        long population = 0;
+        for (long[] ligne : generationCourante) {
+            for (long mot : ligne) {
+                population += Long.bitCount(mot);
+            }
+        }
+        return population;
+
+    }
+
+    /**
+     * Méthode calculant l'empreinte de la génération en cours en parcourant chaque mot de la grille.
+     * L'empreinte est le OU exclusif des contributions des mots non nuls, chaque contribution dépendant de la position et du contenu du mot.
+     * Privée, elle peut être appelée par les constructeurs sans dépendre d'une éventuelle redéfinition.
+     * @return L'empreinte de la génération en cours.
+     */
+    private long empreinteGrille() {
+
+        long empreinte = 0;
+        for (int x = 0; x < lignesTotales; x++) {
+            for (int mot = 0; mot < motsParLigne; mot++) {
+                empreinte ^= empreinteMot(x, mot, generationCourante[x][mot]);
+            }
+        }
+        return empreinte;
+
+    }
+
+    /**
+     * Méthode renvoyant la contribution d'un mot à l'empreinte de la grille, nulle pour un mot vide.
+     * @param ligne Ligne du mot.
+     * @param mot Index du mot dans la ligne.
+     * @param valeur Contenu du mot.
+     * @return La contribution du mot.
+     */
+    private static long empreinteMot(int ligne, int mot, long valeur) { return valeur == 0 ? 0 : melanger(empreinteCellule(ligne, mot) + valeur); }
+
+    @Override
+    protected int getGranulariteLignes() { return HAUTEUR_TUILE; }
+
+    /**
+     * Méthode préparant la prochaine génération des lignes comprises dans l'intervalle [debut, fin[.
+     * Les tuiles dont le voisinage est resté figé lors de la dernière génération sont ignorées.
+     * @param debut Première ligne de la bande (incluse), multiple de HAUTEUR_TUILE.
+     * @param fin Dernière ligne de la bande (exclue).
+     * @return Le bilan des mots de la bande qui changent.
+     */
+    @Override
+    protected Bilan calculerLignes(int debut, int fin) {
+
+        boolean torique = getTopologie() == Topologie.TORIQUE;
+        long[] ligneAvantPremiere = torique ? generationCourante[lignesTotales - 1] : ligneVide;
+        long[] ligneApresDerniere = torique ? generationCourante[0] : ligneVide;
+        boolean[] tuilesActives = new boolean[motsParLigne];
+        Bilan bilan = new Bilan();
+        for (int ligneTuile = debut / HAUTEUR_TUILE; ligneTuile * HAUTEUR_TUILE < fin; ligneTuile++) {
+            // Une tuile est active si elle-même ou l'une de ses huit voisines a changé lors de la dernière génération.
+            boolean auMoinsUneActive = false;
+            for (int mot = 0; mot < motsParLigne; mot++) {
+                tuilesActives[mot] = voisinageModifie(ligneTuile, mot, torique);
+                auMoinsUneActive |= tuilesActives[mot];
+                tuilesModifieesSuivantes[ligneTuile * motsParLigne + mot] = false;
+            }
+            if (!auMoinsUneActive) {
+                continue;
+            }
+            int derniereLigne = Math.min(fin, (ligneTuile + 1) * HAUTEUR_TUILE);
+            for (int x = ligneTuile * HAUTEUR_TUILE; x < derniereLigne; x++) {
+                long[] haut = x > 0 ? generationCourante[x - 1] : ligneAvantPremiere;
+                long[] milieu = generationCourante[x];
+                long[] bas = x < lignesTotales - 1 ? generationCourante[x + 1] : ligneApresDerniere;
+                long[] cible = generationSuivante[x];
+                for (int mot = 0; mot < motsParLigne; mot++) {
+                    if (tuilesActives[mot]) {
+                        cible[mot] = calculerMot(haut, milieu, bas, mot, torique);
+                        if (cible[mot] != milieu[mot]) {
+                            tuilesModifieesSuivantes[ligneTuile * motsParLigne + mot] = true;
+                            bilan.naissances += Long.bitCount(cible[mot] & ~milieu[mot]);
+                            bilan.morts += Long.bitCount(milieu[mot] & ~cible[mot]);
+                            bilan.empreinte ^= empreinteMot(x, mot, milieu[mot]) ^ empreinteMot(x, mot, cible[mot]);
+                        }
+                    }
+                }
+            }
+        }
+        return bilan;
+
+    }
+
+    /**
+     * Méthode indiquant si une tuile ou l'une de ses huit voisines a changé lors de la dernière génération.
+     * @param ligneTuile Ligne de la tuile.
+     * @param mot Colonne de la tuile, c'est-à-dire l'index du mot dans chaque ligne.
+     * @param torique Indique si les tuiles des bords opposés sont voisines.
+     * @return 'true' si la tuile doit être recalculée.
+     */
+    private boolean voisinageModifie(int ligneTuile, int mot, boolean torique) {
+
+        for (int x = ligneTuile - 1; x <= ligneTuile + 1; x++) {
+            for (int y = mot - 1; y <= mot + 1; y++) {
+                int ligneVoisine = torique ? Math.floorMod(x, lignesDeTuiles) : x;
+                int motVoisin = torique ? Math.floorMod(y, motsParLigne) : y;
+                if (ligneVoisine >= 0 && ligneVoisine < lignesDeTuiles && motVoisin >= 0 && motVoisin < motsParLigne
+                        && tuilesModifiees[ligneVoisine * motsParLigne + motVoisin]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+
+    }
+
+    @Override
+    protected void permuterGenerations() {
+
+        // Les deux générations sont échangées, aucune recopie n'est nécessaire.
+        long[][] echange = generationCourante;
+        generationCourante = generationSuivante;
+        generationSuivante = echange;
+        boolean[] echangeTuiles = tuilesModifiees;
+        tuilesModifiees = tuilesModifieesSuivantes;
+        tuilesModifieesSuivantes = echangeTuiles;
+
+    }
+
+    /**
+     * Méthode calculant le prochain état des 64 cellules d'un mot à partir des trois lignes qui l'entourent.
+     * @param haut Ligne située au-dessus.
+     * @param milieu Ligne contenant le mot à calculer.
+     * @param bas Ligne située en dessous.
+     * @param mot Index du mot dans la ligne.
+     * @param torique Indique si les bords gauche et droit de la ligne se rejoignent.
+     * @return Le mot contenant l'état des 64 cellules à la prochaine génération.
+     */
+    private long calculerMot(long[] haut, long[] milieu, long[] bas, int mot, boolean torique) {
+
+        boolean premier = mot == 0;
+        boolean dernier = mot == motsParLigne - 1;
+        long centre = milieu[mot];
+
+        // Les huit voisins de chaque cellule, alignés sur la position de la cellule.
+        long hautGauche = decalerGauche(haut, mot, premier, torique);
+        long hautCentre = haut[mot];
+        long hautDroite = decalerDroite(haut, mot, dernier, torique);
+        long gauche = decalerGauche(milieu, mot, premier, torique);
+        long droite = decalerDroite(milieu, mot, dernier, torique);
+        long basGauche = decalerGauche(bas, mot, premier, torique);
+        long basCentre = bas[mot];
+        long basDroite = decalerDroite(bas, mot, dernier, torique);
+
+        // Additionneurs complets sur les voisins du haut et du bas, demi-additionneur sur ceux de la ligne centrale.
+        long sommeHaut = hautGauche ^ hautCentre ^ hautDroite;
+        long retenueHaut = (hautGauche & hautCentre) | (hautDroite & (hautGauche ^ hautCentre));
+        long sommeBas = basGauche ^ basCentre ^ basDroite;
+        long retenueBas = (basGauche & basCentre) | (basDroite & (basGauche ^ basCentre));
+        long sommeMilieu = gauche ^ droite;
+        long retenueMilieu = gauche & droite;
+
+        // Bit de poids 1 du nombre de voisins.
+        long bit0 = sommeHaut ^ sommeBas ^ sommeMilieu;
+        long retenueUnites = (sommeHaut & sommeBas) | (sommeMilieu & (sommeHaut ^ sommeBas));
+        // Bits de poids 2, 4 et 8, ce dernier n'étant présent que pour exactement 8 voisins.
+        long sommeDeux = retenueHaut ^ retenueBas ^ retenueMilieu;
+        long retenueDeux = (retenueHaut & retenueBas) | (retenueMilieu & (retenueHaut ^ retenueBas));
+        long bit1 = sommeDeux ^ retenueUnites;
+        long retenueQuatre = sommeDeux & retenueUnites;
+        long bit2 = retenueDeux ^ retenueQuatre;
+        long bit3 = retenueDeux & retenueQuatre;
+
+        // Chaque nombre de voisins retenu par la règle est reconnu sur les 64 cellules à la fois.
+        long naissanceEtSurvie = 0L;
+        for (int voisins : voisinsNaissanceEtSurvie) {
+            naissanceEtSurvie |= egal(voisins, bit0, bit1, bit2, bit3);
+        }
+        long naissanceSeule = 0L;
+        for (int voisins : voisinsNaissanceSeule) {
+            naissanceSeule |= egal(voisins, bit0, bit1, bit2, bit3);
+        }
+        long survieSeule = 0L;
+        for (int voisins : voisinsSurvieSeule) {
+            survieSeule |= egal(voisins, bit0, bit1, bit2, bit3);
+        }
+
+        // Les colonnes hors grille du dernier mot restent mortes.
+        return (naissanceEtSurvie | (naissanceSeule & ~centre) | (survieSeule & centre)) & (dernier ? masqueDernierMot : -1L);
+
+    }
+
+    /**
+     * Méthode renvoyant un mot dont chaque bit indique si le nombre de voisins de la cellule correspondante vaut exactement 'voisins'.
+     * @param voisins Nombre de voisins recherché, de 0 à 8.
+     * @param bit0 Bits de poids 1 des nombres de voisins.
+     * @param bit1 Bits de poids 2 des nombres de voisins.
+     * @param bit2 Bits de poids 4 des nombres de voisins.
+     * @param bit3 Bits de poids 8 des nombres de voisins.
+     * @return Le mot des cellules ayant exactement 'voisins' voisins.
+     */
+    private static long egal(int voisins, long bit0, long bit1, long bit2, long bit3) {
+
+        return ((voisins & 1) != 0 ? bit0 : ~bit0) & ((voisins & 2) != 0 ? bit1 : ~bit1)
+                & ((voisins & 4) != 0 ? bit2 : ~bit2) & ((voisins & 8) != 0 ? bit3 : ~bit3);
+
+    }
+
+    /**
+     * Méthode répartissant les nombres de voisins de la règle entre naissance et survie, naissance seule et survie seule.
+     * @param regle Règle à compiler.
+     */
+    private void compilerRegle(Regle regle) {
+
+        int[] naissanceEtSurvie = new int[9];
+        int[] naissanceSeule = new int[9];
+        int[] survieSeule = new int[9];
+        int nombreNaissanceEtSurvie = 0;
+        int nombreNaissanceSeule = 0;
+        int nombreSurvieSeule = 0;
+        for (int voisins = 0; voisins <= 8; voisins++) {
+            if (regle.isNaissance(voisins) && regle.isSurvie(voisins)) {
+                naissanceEtSurvie[nombreNaissanceEtSurvie++] = voisins;
+            } else if (regle.isNaissance(voisins)) {
+                naissanceSeule[nombreNaissanceSeule++] = voisins;
+            } else if (regle.isSurvie(voisins)) {
+                survieSeule[nombreSurvieSeule++] = voisins;
+            }
+        }
+        voisinsNaissanceEtSurvie = Arrays.copyOf(naissanceEtSurvie, nombreNaissanceEtSurvie);
+        voisinsNaissanceSeule = Arrays.copyOf(naissanceSeule, nombreNaissanceSeule);
+        voisinsSurvieSeule = Arrays.copyOf(survieSeule, nombreSurvieSeule);
+
+    }
+
+    /**
+     * Méthode renvoyant un mot où chaque bit contient l'état de la cellule située à sa gauche (colonne précédente).
+     * @param ligne Ligne de l'automate.
+     * @param mot Index du mot dans la ligne.
+     * @param premier Indique s'il s'agit du premier mot de la ligne.
+     * @param torique Indique si la première colonne a pour voisine de gauche la dernière colonne.
+     * @return Le mot décalé.
+     */
+    private long decalerGauche(long[] ligne, int mot, boolean premier, boolean torique) {
+
+        if (premier) {
+            return torique ? (ligne[0] << 1) | ((ligne[motsParLigne - 1] >>> bitDerniereColonne) & 1L) : ligne[0] << 1;
+        }
+        return (ligne[mot] << 1) | (ligne[mot - 1] >>> 63);
+
+    }
+
+    /**
+     * Méthode renvoyant un mot où chaque bit contient l'état de la cellule située à sa droite (colonne suivante).
+     * @param ligne Ligne de l'automate.
+     * @param mot Index du mot dans la ligne.
+     * @param dernier Indique s'il s'agit du dernier mot de la ligne.
+     * @param torique Indique si la dernière colonne a pour voisine de droite la première colonne.
+     * @return Le mot décalé.
+     */
+    private long decalerDroite(long[] ligne, int mot, boolean dernier, boolean torique) {
+
+        if (dernier) {
+            return torique ? (ligne[mot] >>> 1) | ((ligne[0] & 1L) << bitDerniereColonne) : ligne[mot] >>> 1;
+        }
+        return (ligne[mot] >>> 1) | (ligne[mot + 1] << 63);
+
+    }
+
+    @Override
+    protected void setTopologie(Topologie topologie) {
+
+        super.setTopologie(topologie);
+        // Le voisinage des tuiles des bords change, toutes les tuiles doivent être recalculées.
+        Arrays.fill(tuilesModifiees, true);
+
+    }
+
+    @Override
+    protected void setRegle(Regle regle) {
+
+        super.setRegle(regle);
+        compilerRegle(regle);
+        // Une tuile figée peut évoluer sous la nouvelle règle, toutes les tuiles doivent être recalculées.
+        Arrays.fill(tuilesModifiees, true);
+
+    }
+
+    /**
+     * Méthode permettant à l'automate d'effacer entièrement son contenu et de le remplacer par des valeurs 'false' uniquement.
+     */
+    @Override
+    protected void reinitialiserAutomate() {
+
+        for (long[] ligne : generationCourante) {
+            Arrays.fill(ligne, 0L);
+        }
+        Arrays.fill(tuilesModifiees, true);
+        setCompteurs(0, 0);
+
+    }
+
+}
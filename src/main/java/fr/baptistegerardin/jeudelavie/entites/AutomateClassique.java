@@ -0,0 +1,282 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import java.util.Arrays;
+
+/**
+ * L'AutomateClassique est l'implémentation de référence d'un automate cellulaire.
+ * Chaque cellule y est représentée par un octet (0 ou 1) rangé dans un tableau à une dimension, ligne après ligne.
+ * Deux tableaux sont alloués : la génération en cours et la génération en préparation, échangés à chaque incrémentation.
+ * Chaque tableau est entouré d'une bordure (halo) d'une cellule d'épaisseur : vide pour une grille bornée,
+ * recopiée depuis le bord opposé une fois par génération pour une grille torique.
+ * Le comptage des voisins n'a ainsi besoin d'aucun test de dépassement de la grille.
+ * L'état suivant de chaque cellule est enfin lu dans la table de transition de la règle de l'automate.
+ * Seul l'automate vectoriel, qui partage sa grille, peut en hériter : les constructeurs comptent la grille sans appeler aucune méthode redéfinissable.
+ * @author Velki0
+ * @version 1.0
+ */
+public sealed class AutomateClassique extends AutomateGrille permits AutomateVectoriel {
+
+    /** Largeur d'une ligne en comptant le halo, soit 'colonnesTotales + 2'. */
+    private final int largeur;
+    /** Génération en cours, la cellule (x, y) se trouve à l'index '(x + 1) * largeur + (y + 1)'. */
+    private byte[] generationCourante;
+    /** Génération en préparation, échangée avec la génération en cours à chaque incrémentation. */
+    private byte[] generationSuivante;
+
+    /**
+     * Constructeur d'un automate permettant de fixer l'état initial de chaque cellule de façon uniforme.
+     * Nécessite deux paramètres définissant la taille de l'objet et d'une valeur booléenne de départ.
+     * @param lignesTotales Nombre de lignes totales de l'automate.
+     * @param colonnesTotales Nombre de colonnes totales de l'automate.
+     * @param etatInitial État initial de toutes les cellules de l'automate.
+     */
+    protected AutomateClassique(int lignesTotales, int colonnesTotales, boolean etatInitial) {
+
+        super(lignesTotales, colonnesTotales);
+        largeur = colonnesTotales + 2;
+        generationCourante = new byte[(lignesTotales + 2) * largeur];
+        generationSuivante = new byte[(lignesTotales + 2) * largeur];
+        if (etatInitial) {
+            for (int x = 0; x < lignesTotales; x++) {
+                Arrays.fill(generationCourante, (x + 1) * largeur + 1, (x + 2) * largeur - 1, (byte) 1);
+            }
+            setCompteurs(empreinteGrille(), populationGrille());
+        }
+
+    }
+
+    /**
+     * Constructeur d'un automate via le chargement d'un modèle prédéfini.
+     * Nécessite toutes les informations de la grille de départ contenu dans le paramètre 'modele'.
+     * @param modele Modèle de l'automate cellulaire.
+     */
+    protected AutomateClassique(Modele modele) {
+
+        this(modele.getLignesTotales(), modele.getColonnesTotales(), false);
+        for (int x = 0; x < lignesTotales; x++) {
+            for (int y = 0; y < colonnesTotales; y++) {
+                setEnVie(x, y, modele.getEnVie(x, y));
+            }
+        }
+
+    }
+
+    /**
+     * Méthode remplissant le halo de la génération en cours avant le calcul d'une génération.
+     * Pour une grille torique, chaque bord reçoit une copie du bord opposé, coins compris.
+     */
+    @Override
+    protected void preparerGeneration() {
+
+        if (getTopologie() != Topologie.TORIQUE) {
+            return;
+        }
+        // Colonnes de gauche et de droite de chaque ligne.
+        for (int x = 1; x <= lignesTotales; x++) {
+            generationCourante[x * largeur] = generationCourante[x * largeur + colonnesTotales];
+            generationCourante[x * largeur + colonnesTotales + 1] = generationCourante[x * largeur + 1];
+        }
+        // Lignes du haut et du bas, y compris leurs colonnes de halo fraîchement recopiées (les coins).
+        System.arraycopy(generationCourante, lignesTotales * largeur, generationCourante, 0, largeur);
+        System.arraycopy(generationCourante, largeur, generationCourante, (lignesTotales + 1) * largeur, largeur);
+
+    }
+
+    @Override
+    protected Bilan calculerLignes(int debut, int fin) {
+
+        // Prépare pour chaque cellule son prochain état suivant leur nombre de voisins en vie.
+        // Grâce au halo, les huit voisins sont toujours lisibles, sans aucun test de bord.
+        byte[] courante = generationCourante;
+        byte[] suivante = generationSuivante;
+        byte[] transitions = getRegle().getTransitions();
+        Bilan bilan = new Bilan();
+        for (int x = debut + 1; x <= fin; x++) {
+            int ligne = x * largeur;
+            calculerCellules(courante, suivante, ligne + 1, ligne + colonnesTotales + 1, largeur, transitions);
+            // Seules les cellules qui naissent ou meurent figurent au bilan, elles sont retrouvées par une comparaison vectorisée des deux lignes.
+            int debutLigne = ligne + 1;
+            int finLigne = ligne + colonnesTotales + 1;
+            int decalage;
+            while ((decalage = Arrays.mismatch(courante, debutLigne, finLigne, suivante, debutLigne, finLigne)) >= 0) {
+                debutLigne += decalage;
+                if (suivante[debutLigne] != 0) {
+                    bilan.naissances++;
+                } else {
+                    bilan.morts++;
+                }
+                bilan.empreinte ^= empreinteCellule(x - 1, debutLigne - ligne - 1);
+                debutLigne++;
+            }
+        }
+        return bilan;
+
+    }
+
+    /**
+     * Méthode calculant l'état suivant des cellules consécutives d'une même ligne, une cellule à la fois.
+     * Les moteurs dérivés redéfinissent cette méthode pour calculer plusieurs cellules par instruction.
+     * @param courante Génération en cours, halo compris.
+     * @param suivante Génération en préparation, recevant l'état suivant des cellules.
+     * @param debut Index de la première cellule.
+     * @param fin Index suivant la dernière cellule, sur la même ligne.
+     * @param largeur Largeur d'une ligne halo compris, c'est-à-dire l'écart entre les index de deux cellules l'une au-dessus de l'autre.
+     * @param transitions Table de transition de la règle, indexée par 'etat * 9 + voisins'.
+     */
+    protected void calculerCellules(byte[] courante, byte[] suivante, int debut, int fin, int largeur, byte[] transitions) {
+
+        for (int index = debut; index < fin; index++) {
+            int voisins = courante[index - largeur - 1] + courante[index - largeur] + courante[index - largeur + 1]
+                    + courante[index - 1] + courante[index + 1]
+                    + courante[index + largeur - 1] + courante[index + largeur] + courante[index + largeur + 1];
+            // Une seule lecture dans la table de transition, indexée par l'état de la cellule puis par son nombre de voisins.
+            suivante[index] = transitions[courante[index] * 9 + voisins];
+        }
+
+    }
+
+    @Override
+    protected void permuterGenerations() {
+
+        // Les deux générations sont échangées, aucune recopie n'est nécessaire.
+        byte[] echange = generationCourante;
+        generationCourante = generationSuivante;
+        generationSuivante = echange;
+
+    }
+
+    @Override
+    protected void setTopologie(Topologie topologie) {
+
+        super.setTopologie(topologie);
+        if (topologie == Topologie.BORNEE) {
+            // Le halo a pu être rempli par une topologie torique, il doit redevenir vide dans les deux générations.
+            viderHalo(generationCourante);
+            viderHalo(generationSuivante);
+        }
+
+    }
+
+    /**
+     * Méthode remettant à zéro le halo d'une génération.
+     * @param generation Génération dont le halo est vidé.
+     */
+    private void viderHalo(byte[] generation) {
+
+        Arrays.fill(generation, 0, largeur, (byte) 0);
+        Arrays.fill(generation, (lignesTotales + 1) * largeur, (lignesTotales + 2) * largeur, (byte) 0);
+        for (int x = 1; x <= lignesTotales; x++) {
+            generation[x * largeur] = 0;
+            generation[x * largeur + colonnesTotales + 1] = 0;
+        }
+
+    }
+
+    /**
+     * Méthode remplaçant toutes les cellules par des cellules tirées au hasard, les lignes tirées étant dépliées directement dans la génération en cours, à raison d'un octet par cellule.
+     * @param remplissage Remplissage fixant la graine et la densité des cellules vivantes.
+     */
+    @Override
+    protected void remplir(Remplissage remplissage) {
+
+        remplissage.remplir(generationCourante, largeur + 1, largeur, lignesTotales, colonnesTotales, getNombreDeFils());
+        setCompteurs(empreinteGrille(), populationGrille());
+
+    }
+
+    /**
+     * Méthode permettant à l'automate d'effacer entièrement son contenu et de le remplacer par des valeurs 'false' uniquement.
+     */
+    @Override
+    protected void reinitialiserAutomate() {
+
+        Arrays.fill(generationCourante, (byte) 0);
+        setCompteurs(0, 0);
+
+    }
+
+    @Override
+    protected void dessiner(int[] pixels, int ligneDebut, int colonneDebut, int lignes, int colonnes, int reduction, int couleurVivante, int couleurMorte) {
+
+        byte[] courante = generationCourante;
+        int largeurImage = (colonnes + reduction - 1) / reduction;
+        int hauteurImage = (lignes + reduction - 1) / reduction;
+        int colonneFin = colonneDebut + colonnes;
+        for (int px = 0; px < hauteurImage; px++) {
+            int xDebut = ligneDebut + px * reduction;
+            int xFin = Math.min(xDebut + reduction, ligneDebut + lignes);
+            int cible = px * largeurImage;
+            for (int yDebut = colonneDebut; yDebut < colonneFin; yDebut += reduction) {
+                int yFin = Math.min(yDebut + reduction, colonneFin);
+                int enVie = 0;
+                for (int x = xDebut; x < xFin && enVie == 0; x++) {
+                    int source = (x + 1) * largeur + 1;
+                    for (int y = yDebut; y < yFin; y++) {
+                        enVie |= courante[source + y];
+                    }
+                }
+                pixels[cible++] = enVie != 0 ? couleurVivante : couleurMorte;
+            }
+        }
+
+    }
+
+    @Override
+    protected long compterPopulation() { return populationGrille(); }
+
+    @Override
+    protected long calculerEmpreinte() { return empreinteGrille(); }
+
+    /**
+     * Méthode comptant les cellules vivantes de la génération en cours.
+     * Privée, elle peut être appelée par les constructeurs sans dépendre d'une éventuelle redéfinition.
+     * @return Le nombre de cellules vivantes.
+     */
+    private long populationGrille() {
+
+        // Le halo est exclu du comptage, il peut contenir une copie des bords en topologie torique.
+        long population = 0;
+        for (int x = 1; x <= lignesTotales; x++) {
+            for (int index = x * largeur + 1; index <= x * largeur + colonnesTotales; index++) {
+                population += generationCourante[index];
+            }
+        }
+        return population;
+
+    }
+
+    /**
+     * Méthode calculant l'empreinte de la génération en cours en parcourant directement la grille, halo exclu.
+     * Privée, elle peut être appelée par les constructeurs sans dépendre d'une éventuelle redéfinition.
+     * @return L'empreinte de la génération en cours.
+     */
+    private long empreinteGrille() {
+
+        long empreinte = 0;
+        for (int x = 0; x < lignesTotales; x++) {
+            int debut = (x + 1) * largeur + 1;
+            for (int y = 0; y < colonnesTotales; y++) {
+                if (generationCourante[debut + y] != 0) {
+                    empreinte ^= empreinteCellule(x, y);
+                }
+            }
+        }
+        return empreinte;
+
+    }
+
+    @Override
+    protected boolean getEnVie(int ligne, int colonne) { return generationCourante[(ligne + 1) * largeur + colonne + 1] != 0; }
+
+    @Override
+    protected void setEnVie(int ligne, int colonne, boolean enVie) {
+
+        int index = (ligne + 1) * largeur + colonne + 1;
+        byte etat = (byte) (enVie ? 1 : 0);
+        if (generationCourante[index] != etat) {
+            generationCourante[index] = etat;
+            modifierCompteurs(empreinteCellule(ligne, colonne), enVie ? 1 : -1);
+        }
+
+    }
+}
@@ -0,0 +1,226 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import java.util.Arrays;
+
+/**
+ * L'AutomateDisperse est un automate cellulaire sur un plan infini ne stockant que ses cellules vivantes.
+ * Chaque cellule vivante est une clé 'long' regroupant sa ligne (32 bits de poids fort) et sa colonne (32 bits de poids faible).
+ * À chaque génération, chaque cellule vivante incrémente le compteur de ses huit voisines dans une table de comptage,
+ * la mémoire et le temps de calcul sont donc proportionnels à la population et non à la taille du plan.
+ * Les règles faisant naître des cellules sans voisin (B0) ne peuvent pas être suivies sur un plan infini.
+ * L'empreinte de la génération suivante ainsi que ses naissances et ses morts sont comptées pendant son calcul, à mesure que ses cellules vivantes sont inscrites,
+ * sans parcours supplémentaire.
+ * Comme pour l'AutomateHashLife, la taille de l'automate ne définit que la fenêtre affichée, dont le coin supérieur gauche est l'origine du plan.
+ * @author Velki0
+ * @version 1.0
+ */
+public class AutomateDisperse extends Automate {
+
+    /** Cellules vivantes de la génération en cours. */
+    private TableHachageLong vivantes;
+    /** Cellules vivantes de la génération en préparation. */
+    private TableHachageLong vivantesSuivantes;
+    /** Nombre de voisins vivants de chaque cellule ayant au moins une voisine vivante. */
+    private final TableHachageLong voisins;
+    /** Empreinte de la génération en cours, y compris les cellules hors de la fenêtre affichée. */
+    private long empreinte;
+    /** Nombre de cellules nées lors de la dernière génération calculée. */
+    private long naissances;
+    /** Nombre de cellules mortes lors de la dernière génération calculée. */
+    private long morts;
+
+    /**
+     * Constructeur d'un automate dispersé vide.
+     * @param lignesTotales Nombre de lignes de la fenêtre affichée.
+     * @param colonnesTotales Nombre de colonnes de la fenêtre affichée.
+     */
+    protected AutomateDisperse(int lignesTotales, int colonnesTotales) {
+
+        super(lignesTotales, colonnesTotales);
+        vivantes = new TableHachageLong(64);
+        vivantesSuivantes = new TableHachageLong(64);
+        voisins = new TableHachageLong(512);
+
+    }
+
+    /**
+     * Constructeur d'un automate dispersé via le chargement d'un modèle prédéfini.
+     * @param modele Modèle de l'automate cellulaire.
+     */
+    protected AutomateDisperse(Modele modele) {
+
+        this(modele.getLignesTotales(), modele.getColonnesTotales());
+        // Seuls les bits à 1 de chaque mot du modèle sont parcourus.
+        for (int x = 0; x < lignesTotales; x++) {
+            long[] ligne = modele.getLigne(x);
+            for (int mot = 0; mot < ligne.length; mot++) {
+                for (long bits = ligne[mot]; bits != 0; bits &= bits - 1) {
+                    vivantes.ajouter(cle(x, (mot << 6) + Long.numberOfTrailingZeros(bits)), 1);
+                }
+            }
+        }
+        empreinte = empreinteDesVivantes();
+
+    }
+
+    /**
+     * Méthode regroupant la ligne et la colonne d'une cellule dans une seule clé.
+     * @param ligne Ligne de la cellule.
+     * @param colonne Colonne de la cellule.
+     * @return La clé de la cellule.
+     */
+    private static long cle(int ligne, int colonne) { return ((long) ligne << 32) | (colonne & 0xFFFFFFFFL); }
+
+    /**
+     * Méthode d'incrémentation de l'automate vers sa prochaine génération.
+     */
+    @Override
+    protected void mettreAJourAutomate() {
+
+        // Chaque cellule vivante signale sa présence à ses huit voisines.
+        // Si la règle permet de survivre sans voisin, elle s'inscrit aussi elle-même afin d'être examinée.
+        Regle regle = getRegle();
+        boolean survieSansVoisin = regle.isSurvie(0);
+        voisins.vider();
+        for (int index = 0; index < vivantes.getCapacite(); index++) {
+            if (vivantes.estOccupee(index)) {
+                long cellule = vivantes.getCle(index);
+                int ligne = (int) (cellule >> 32);
+                int colonne = (int) cellule;
+                if (survieSansVoisin) {
+                    voisins.ajouter(cellule, 0);
+                }
+                for (int x = ligne - 1; x <= ligne + 1; x++) {
+                    for (int y = colonne - 1; y <= colonne + 1; y++) {
+                        if (x != ligne || y != colonne) {
+                            voisins.ajouter(cle(x, y), 1);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Seules les cellules ayant au moins une voisine vivante peuvent être en vie à la génération suivante.
+        vivantesSuivantes.vider();
+        long empreinteSuivante = 0;
+        long survivantes = 0;
+        for (int index = 0; index < voisins.getCapacite(); index++) {
+            if (voisins.estOccupee(index)) {
+                int nombreVoisins = voisins.getValeur(index);
+                long cellule = voisins.getCle(index);
+                boolean enVie = vivantes.contient(cellule);
+                if (regle.prochainEtat(enVie, nombreVoisins)) {
+                    vivantesSuivantes.ajouter(cellule, 1);
+                    empreinteSuivante ^= melanger(cellule);
+                    if (enVie) {
+                        survivantes++;
+                    }
+                }
+            }
+        }
+        // Les cellules mortes sans aucune voisine ne figurent pas dans la table de comptage, les morts se déduisent donc des survivantes.
+        naissances = vivantesSuivantes.getTaille() - survivantes;
+        morts = vivantes.getTaille() - survivantes;
+        empreinte = empreinteSuivante;
+        TableHachageLong echange = vivantes;
+        vivantes = vivantesSuivantes;
+        vivantesSuivantes = echange;
+
+    }
+
+    /**
+     * Setter pour fixer la règle de naissance et de survie suivie par l'automate.
+     * @param regle Nouvelle règle, qui ne doit pas contenir B0.
+     */
+    @Override
+    protected void setRegle(Regle regle) {
+
+        if (regle.isNaissanceSansVoisin()) {
+            throw new IllegalArgumentException("La règle " + regle + " ne peut pas être suivie sur un plan infini");
+        }
+        super.setRegle(regle);
+
+    }
+
+    @Override
+    protected void dessiner(int[] pixels, int ligneDebut, int colonneDebut, int lignes, int colonnes, int reduction, int couleurVivante, int couleurMorte) {
+
+        // La région est peinte en couleur morte, puis seules les cellules vivantes qu'elle contient sont dessinées.
+        int largeurImage = (colonnes + reduction - 1) / reduction;
+        int hauteurImage = (lignes + reduction - 1) / reduction;
+        Arrays.fill(pixels, 0, largeurImage * hauteurImage, couleurMorte);
+        for (int index = 0; index < vivantes.getCapacite(); index++) {
+            if (vivantes.estOccupee(index)) {
+                long cellule = vivantes.getCle(index);
+                int ligne = (int) (cellule >> 32) - ligneDebut;
+                int colonne = (int) cellule - colonneDebut;
+                if (ligne >= 0 && ligne < lignes && colonne >= 0 && colonne < colonnes) {
+                    pixels[(ligne / reduction) * largeurImage + colonne / reduction] = couleurVivante;
+                }
+            }
+        }
+
+    }
+
+    @Override
+    protected long getPopulation() { return vivantes.getTaille(); }
+
+    @Override
+    protected long getNaissances() { return naissances; }
+
+    @Override
+    protected long getMorts() { return morts; }
+
+    @Override
+    protected long getEmpreinte() { return empreinte; }
+
+    @Override
+    protected long calculerEmpreinte() { return empreinteDesVivantes(); }
+
+    /**
+     * Méthode calculant l'empreinte de toutes les cellules vivantes, y compris hors de la fenêtre affichée.
+     * Privée, elle peut être appelée par les constructeurs sans dépendre d'une éventuelle redéfinition.
+     * @return L'empreinte de la génération en cours.
+     */
+    private long empreinteDesVivantes() {
+
+        long empreinteVivantes = 0;
+        for (int index = 0; index < vivantes.getCapacite(); index++) {
+            if (vivantes.estOccupee(index)) {
+                empreinteVivantes ^= melanger(vivantes.getCle(index));
+            }
+        }
+        return empreinteVivantes;
+
+    }
+
+    @Override
+    protected boolean getEnVie(int ligne, int colonne) { return vivantes.contient(cle(ligne, colonne)); }
+
+    @Override
+    protected void setEnVie(int ligne, int colonne, boolean enVie) {
+
+        long cellule = cle(ligne, colonne);
+        if (vivantes.contient(cellule) != enVie) {
+            if (enVie) {
+                vivantes.ajouter(cellule, 1);
+            } else {
+                vivantes.retirer(cellule);
+            }
+            empreinte ^= empreinteCellule(ligne, colonne);
+        }
+
+    }
+
+    /**
+     * Méthode permettant à l'automate d'effacer entièrement son contenu, y compris hors de la fenêtre affichée.
+     */
+    @Override
+    protected void reinitialiserAutomate() {
+
+        vivantes.vider();
+        empreinte = 0;
+
+    }
+
+}
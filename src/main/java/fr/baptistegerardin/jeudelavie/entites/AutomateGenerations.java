@@ -0,0 +1,374 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import java.util.Arrays;
+
+/**
+ * L'AutomateGenerations suit les règles à plusieurs états de la famille 'Generations', comme Brian's Brain (B2/S/C3) ou Star Wars (345/2/4).
+ * Une cellule vivante (état 1) qui ne survit pas ne meurt pas immédiatement : elle passe par les états mourants 2, 3, ... jusqu'au dernier,
+ * puis redevient morte (état 0). Seules les cellules vivantes comptent comme voisines.
+ * Chaque cellule est représentée par un octet contenant son état, rangé dans un tableau à une dimension entouré d'un halo comme pour l'automate classique.
+ * L'état suivant de chaque cellule est lu dans la table de transition étendue de la règle, indexée par 'etat * 9 + voisins' :
+ * la boucle de calcul n'alloue rien, ne contient aucun test sur la règle et se découpe en bandes calculées en parallèle.
+ * Une règle à deux états est également acceptée, l'automate se comporte alors comme l'automate classique.
+ * Les cellules sont dessinées d'une couleur allant de celle des cellules vivantes à celle des cellules mortes à mesure qu'elles vieillissent.
+ * @author Velki0
+ * @version 1.0
+ */
+public final class AutomateGenerations extends AutomateGrille {
+
+    /** Largeur d'une ligne en comptant le halo, soit 'colonnesTotales + 2'. */
+    private final int largeur;
+    /** Génération en cours, l'état de la cellule (x, y) se trouve à l'index '(x + 1) * largeur + (y + 1)'. */
+    private byte[] generationCourante;
+    /** Génération en préparation, échangée avec la génération en cours à chaque incrémentation. */
+    private byte[] generationSuivante;
+    /** Couleurs des cellules vivantes et mortes et nombre d'états ayant servi au calcul de la palette. */
+    private int couleurVivantePalette, couleurMortePalette, etatsPalette;
+    /** Couleur de chaque état, recalculée lorsque la règle ou les couleurs changent. */
+    private int[] palette;
+
+    /**
+     * Constructeur d'un automate permettant de fixer l'état initial de chaque cellule de façon uniforme.
+     * @param lignesTotales Nombre de lignes totales de l'automate.
+     * @param colonnesTotales Nombre de colonnes totales de l'automate.
+     * @param etatInitial État initial de toutes les cellules de l'automate, 'true' pour vivantes.
+     */
+    protected AutomateGenerations(int lignesTotales, int colonnesTotales, boolean etatInitial) {
+
+        super(lignesTotales, colonnesTotales);
+        largeur = colonnesTotales + 2;
+        generationCourante = new byte[(lignesTotales + 2) * largeur];
+        generationSuivante = new byte[(lignesTotales + 2) * largeur];
+        if (etatInitial) {
+            for (int x = 0; x < lignesTotales; x++) {
+                Arrays.fill(generationCourante, (x + 1) * largeur + 1, (x + 2) * largeur - 1, (byte) 1);
+            }
+            setCompteurs(empreinteGrille(), populationGrille());
+        }
+
+    }
+
+    /**
+     * Constructeur d'un automate via le chargement d'un modèle prédéfini, états mourants compris.
+     * @param modele Modèle de l'automate cellulaire.
+     */
+    protected AutomateGenerations(Modele modele) {
+
+        this(modele.getLignesTotales(), modele.getColonnesTotales(), false);
+        for (int x = 0; x < lignesTotales; x++) {
+            for (int y = 0; y < colonnesTotales; y++) {
+                generationCourante[(x + 1) * largeur + y + 1] = (byte) modele.getEtat(x, y);
+            }
+        }
+        setCompteurs(empreinteGrille(), populationGrille());
+
+    }
+
+    /**
+     * Méthode remplissant le halo de la génération en cours avant le calcul d'une génération.
+     * Pour une grille torique, chaque bord reçoit une copie du bord opposé, coins compris.
+     */
+    @Override
+    protected void preparerGeneration() {
+
+        if (getTopologie() != Topologie.TORIQUE) {
+            return;
+        }
+        for (int x = 1; x <= lignesTotales; x++) {
+            generationCourante[x * largeur] = generationCourante[x * largeur + colonnesTotales];
+            generationCourante[x * largeur + colonnesTotales + 1] = generationCourante[x * largeur + 1];
+        }
+        System.arraycopy(generationCourante, lignesTotales * largeur, generationCourante, 0, largeur);
+        System.arraycopy(generationCourante, largeur, generationCourante, (lignesTotales + 1) * largeur, largeur);
+
+    }
+
+    @Override
+    protected Bilan calculerLignes(int debut, int fin) {
+
+        byte[] courante = generationCourante;
+        byte[] suivante = generationSuivante;
+        byte[] transitions = getRegle().getTransitionsEtats();
+        Bilan bilan = new Bilan();
+        for (int x = debut + 1; x <= fin; x++) {
+            int ligne = x * largeur;
+            // Seules les cellules vivantes (état 1) comptent comme voisines, les cellules mourantes sont ignorées.
+            // Les vivantes de chaque colonne de trois cellules sont comptées une seule fois puis réutilisées par les deux cellules suivantes.
+            int colonnePrecedente = vivante(courante[ligne - largeur]) + vivante(courante[ligne]) + vivante(courante[ligne + largeur]);
+            int colonneCourante = vivante(courante[ligne - largeur + 1]) + vivante(courante[ligne + 1]) + vivante(courante[ligne + largeur + 1]);
+            for (int index = ligne + 1; index <= ligne + colonnesTotales; index++) {
+                int colonneSuivante = vivante(courante[index - largeur + 1]) + vivante(courante[index + 1]) + vivante(courante[index + largeur + 1]);
+                byte etat = courante[index];
+                int voisins = colonnePrecedente + colonneCourante + colonneSuivante - vivante(etat);
+                suivante[index] = transitions[(etat & 0xFF) * 9 + voisins];
+                colonnePrecedente = colonneCourante;
+                colonneCourante = colonneSuivante;
+            }
+            // Les cellules qui changent d'état sont retrouvées par une comparaison vectorisée des deux lignes.
+            int debutLigne = ligne + 1;
+            int finLigne = ligne + colonnesTotales + 1;
+            int decalage;
+            while ((decalage = Arrays.mismatch(courante, debutLigne, finLigne, suivante, debutLigne, finLigne)) >= 0) {
+                debutLigne += decalage;
+                int ancien = courante[debutLigne] & 0xFF;
+                int nouveau = suivante[debutLigne] & 0xFF;
+                if (nouveau == 1) {
+                    bilan.naissances++;
+                } else if (ancien == 1) {
+                    bilan.morts++;
+                }
+                bilan.empreinte ^= empreinteEtat(x - 1, debutLigne - ligne - 1, ancien) ^ empreinteEtat(x - 1, debutLigne - ligne - 1, nouveau);
+                debutLigne++;
+            }
+        }
+        return bilan;
+
+    }
+
+    /**
+     * Méthode indiquant si un état compte comme une voisine vivante.
+     * @param etat État de la cellule voisine.
+     * @return 1 si la cellule est vivante, 0 si elle est morte ou mourante.
+     */
+    private static int vivante(byte etat) { return ((etat & 0xFF) - 2) >>> 31 & etat; }
+
+    /**
+     * Méthode renvoyant la contribution d'une cellule à l'empreinte d'une génération suivant son état.
+     * Une cellule vivante contribue comme dans les autres moteurs, une cellule mourante d'une valeur dépendant aussi de son état.
+     * @param ligne Ligne de la cellule.
+     * @param colonne Colonne de la cellule.
+     * @param etat État de la cellule.
+     * @return L'empreinte de la cellule, 0 pour une cellule morte.
+     */
+    private static long empreinteEtat(int ligne, int colonne, int etat) {
+
+        if (etat <= 1) {
+            return etat == 0 ? 0 : empreinteCellule(ligne, colonne);
+        }
+        return melanger(empreinteCellule(ligne, colonne) + etat);
+
+    }
+
+    @Override
+    protected void permuterGenerations() {
+
+        byte[] echange = generationCourante;
+        generationCourante = generationSuivante;
+        generationSuivante = echange;
+
+    }
+
+    @Override
+    protected void setTopologie(Topologie topologie) {
+
+        super.setTopologie(topologie);
+        if (topologie == Topologie.BORNEE) {
+            viderHalo(generationCourante);
+            viderHalo(generationSuivante);
+        }
+
+    }
+
+    /**
+     * Méthode remettant à zéro le halo d'une génération.
+     * @param generation Génération dont le halo est vidé.
+     */
+    private void viderHalo(byte[] generation) {
+
+        Arrays.fill(generation, 0, largeur, (byte) 0);
+        Arrays.fill(generation, (lignesTotales + 1) * largeur, (lignesTotales + 2) * largeur, (byte) 0);
+        for (int x = 1; x <= lignesTotales; x++) {
+            generation[x * largeur] = 0;
+            generation[x * largeur + colonnesTotales + 1] = 0;
+        }
+
+    }
+
+    /**
+     * Setter pour changer la règle suivie par l'automate.
+     * Les cellules mourantes dont l'état n'existe plus dans la nouvelle règle deviennent mortes, la grille n'est pas parcourue si la règle est inchangée.
+     * @param regle Nouvelle règle de naissance et de survie.
+     */
+    @Override
+    protected void setRegle(Regle regle) {
+
+        if (regle.equals(getRegle())) {
+            return;
+        }
+        super.setRegle(regle);
+        int nombreEtats = regle.getNombreEtats();
+        for (int x = 0; x < lignesTotales; x++) {
+            for (int y = 0; y < colonnesTotales; y++) {
+                if (getEtat(x, y) >= nombreEtats) {
+                    setEtat(x, y, 0);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Méthode remplaçant toutes les cellules par des cellules tirées au hasard, vivantes (état 1) ou mortes, les lignes tirées étant dépliées directement dans la génération en cours, à raison d'un octet par cellule.
+     * @param remplissage Remplissage fixant la graine et la densité des cellules vivantes.
+     */
+    @Override
+    protected void remplir(Remplissage remplissage) {
+
+        remplissage.remplir(generationCourante, largeur + 1, largeur, lignesTotales, colonnesTotales, getNombreDeFils());
+        setCompteurs(empreinteGrille(), populationGrille());
+
+    }
+
+    @Override
+    protected void reinitialiserAutomate() {
+
+        Arrays.fill(generationCourante, (byte) 0);
+        setCompteurs(0, 0);
+
+    }
+
+    /**
+     * Méthode dessinant une région de la grille, chaque état ayant sa couleur.
+     * Lorsqu'un pixel représente plusieurs cellules, il prend la couleur de la cellule la plus jeune de son bloc.
+     */
+    @Override
+    protected void dessiner(int[] pixels, int ligneDebut, int colonneDebut, int lignes, int colonnes, int reduction, int couleurVivante, int couleurMorte) {
+
+        int[] couleurs = preparerPalette(couleurVivante, couleurMorte);
+        byte[] courante = generationCourante;
+        int largeurImage = (colonnes + reduction - 1) / reduction;
+        int hauteurImage = (lignes + reduction - 1) / reduction;
+        int colonneFin = colonneDebut + colonnes;
+        for (int px = 0; px < hauteurImage; px++) {
+            int xDebut = ligneDebut + px * reduction;
+            int xFin = Math.min(xDebut + reduction, ligneDebut + lignes);
+            int cible = px * largeurImage;
+            for (int yDebut = colonneDebut; yDebut < colonneFin; yDebut += reduction) {
+                int yFin = Math.min(yDebut + reduction, colonneFin);
+                // Les états sont décalés d'un cran afin que la cellule morte (0) devienne la plus grande valeur et ne l'emporte jamais.
+                int plusJeune = 0xFF;
+                for (int x = xDebut; x < xFin && plusJeune != 0; x++) {
+                    int source = (x + 1) * largeur + 1;
+                    for (int y = yDebut; y < yFin; y++) {
+                        plusJeune = Math.min(plusJeune, (courante[source + y] - 1) & 0xFF);
+                    }
+                }
+                pixels[cible++] = couleurs[(plusJeune + 1) & 0xFF];
+            }
+        }
+
+    }
+
+    /**
+     * Méthode renvoyant la couleur de chaque état, en la recalculant si la règle ou les couleurs ont changé.
+     * Les états mourants passent progressivement de la couleur des cellules vivantes à celle des cellules mortes.
+     * @param couleurVivante Couleur RGB des cellules vivantes.
+     * @param couleurMorte Couleur RGB des cellules mortes.
+     * @return La palette, de 256 couleurs afin que tout octet puisse l'indexer.
+     */
+    private int[] preparerPalette(int couleurVivante, int couleurMorte) {
+
+        int nombreEtats = getRegle().getNombreEtats();
+        if (nombreEtats == etatsPalette && couleurVivante == couleurVivantePalette && couleurMorte == couleurMortePalette) {
+            return palette;
+        }
+        int[] couleurs = new int[256];
+        Arrays.fill(couleurs, couleurMorte);
+        couleurs[1] = couleurVivante;
+        for (int etat = 2; etat < nombreEtats; etat++) {
+            double fraction = (etat - 1) / (double) (nombreEtats - 1);
+            couleurs[etat] = melangerCouleurs(couleurVivante, couleurMorte, fraction);
+        }
+        palette = couleurs;
+        couleurVivantePalette = couleurVivante;
+        couleurMortePalette = couleurMorte;
+        etatsPalette = nombreEtats;
+        return couleurs;
+
+    }
+
+    /**
+     * Méthode mélangeant deux couleurs RGB composante par composante.
+     * @param depart Couleur de départ.
+     * @param arrivee Couleur d'arrivée.
+     * @param fraction Part de la couleur d'arrivée, de 0 à 1.
+     * @return La couleur mélangée, opaque.
+     */
+    private static int melangerCouleurs(int depart, int arrivee, double fraction) {
+
+        int couleur = 0xFF000000;
+        for (int decalage = 0; decalage <= 16; decalage += 8) {
+            int composanteDepart = (depart >>> decalage) & 0xFF;
+            int composanteArrivee = (arrivee >>> decalage) & 0xFF;
+            couleur |= ((int) Math.round(composanteDepart + (composanteArrivee - composanteDepart) * fraction)) << decalage;
+        }
+        return couleur;
+
+    }
+
+    @Override
+    protected long calculerEmpreinte() { return empreinteGrille(); }
+
+    @Override
+    protected long compterPopulation() { return populationGrille(); }
+
+    /**
+     * Méthode calculant l'empreinte de la génération en cours en parcourant directement la grille, halo exclu.
+     * Privée, elle peut être appelée par les constructeurs sans dépendre d'une éventuelle redéfinition.
+     * @return L'empreinte de la génération en cours.
+     */
+    private long empreinteGrille() {
+
+        long empreinte = 0;
+        for (int x = 0; x < lignesTotales; x++) {
+            int debut = (x + 1) * largeur + 1;
+            for (int y = 0; y < colonnesTotales; y++) {
+                empreinte ^= empreinteEtat(x, y, generationCourante[debut + y] & 0xFF);
+            }
+        }
+        return empreinte;
+
+    }
+
+    /**
+     * Méthode comptant les cellules vivantes de la génération en cours, les cellules vieillissantes n'étant pas comptées.
+     * Privée, elle peut être appelée par les constructeurs sans dépendre d'une éventuelle redéfinition.
+     * @return Le nombre de cellules vivantes.
+     */
+    private long populationGrille() {
+
+        long population = 0;
+        for (int x = 1; x <= lignesTotales; x++) {
+            for (int index = x * largeur + 1; index <= x * largeur + colonnesTotales; index++) {
+                population += vivante(generationCourante[index]);
+            }
+        }
+        return population;
+
+    }
+
+    @Override
+    protected boolean getEnVie(int ligne, int colonne) { return generationCourante[(ligne + 1) * largeur + colonne + 1] == 1; }
+
+    @Override
+    protected void setEnVie(int ligne, int colonne, boolean enVie) { setEtat(ligne, colonne, enVie ? 1 : 0); }
+
+    @Override
+    protected int getEtat(int ligne, int colonne) { return generationCourante[(ligne + 1) * largeur + colonne + 1] & 0xFF; }
+
+    @Override
+    protected void setEtat(int ligne, int colonne, int etat) {
+
+        int index = (ligne + 1) * largeur + colonne + 1;
+        int ancien = generationCourante[index] & 0xFF;
+        if (ancien != etat) {
+            generationCourante[index] = (byte) etat;
+            modifierCompteurs(empreinteEtat(ligne, colonne, ancien) ^ empreinteEtat(ligne, colonne, etat), (etat == 1 ? 1 : 0) - (ancien == 1 ? 1 : 0));
+        }
+
+    }
+
+    @Override
+    protected void copierEtats(int ligne, byte[] etats) { System.arraycopy(generationCourante, (ligne + 1) * largeur + 1, etats, 0, colonnesTotales); }
+
+}
@@ -0,0 +1,217 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Un AutomateGrille est un automate dont les cellules sont rangées dans une grille de taille fixe et calculées ligne par ligne.
+ * La prochaine génération de chaque ligne ne dépend que de la génération en cours, le calcul peut donc être découpé en bandes horizontales.
+ * Ces bandes sont calculées sur un ForkJoinPool lorsque plusieurs fils d'exécution sont demandés, puis les générations sont échangées une fois toutes les bandes terminées.
+ * Le résultat est identique au bit près à celui du calcul séquentiel.
+ * Chaque bande renvoie le bilan des cellules qu'elle a changées (naissances, morts et variation de l'empreinte), les bilans des bandes étant ensuite additionnés :
+ * la population et l'empreinte sont ainsi tenues à jour pendant le calcul, sans jamais parcourir toute la grille une seconde fois.
+ * @author Velki0
+ * @version 1.0
+ */
+public abstract class AutomateGrille extends Automate {
+
+    /** Nombre minimal de lignes par bande en dessous duquel le découpage n'est plus rentable. */
+    private static final int LIGNES_MINIMALES_PAR_BANDE = 16;
+    /** Réservoirs de fils d'exécution partagés entre tous les automates, un par nombre de fils demandé. */
+    private static final Map<Integer, ForkJoinPool> RESERVOIRS = new ConcurrentHashMap<>();
+
+    /** Empreinte de la génération en cours. */
+    private long empreinte;
+    /** Nombre de cellules vivantes de la génération en cours. */
+    private long population;
+    /** Nombre de cellules nées lors de la dernière génération calculée. */
+    private long naissances;
+    /** Nombre de cellules mortes lors de la dernière génération calculée. */
+    private long morts;
+
+    /**
+     * Constructeur commun aux automates en grille.
+     * @param lignesTotales Nombre de lignes totales de l'automate.
+     * @param colonnesTotales Nombre de colonnes totales de l'automate.
+     */
+    protected AutomateGrille(int lignesTotales, int colonnesTotales) {
+
+        super(lignesTotales, colonnesTotales);
+
+    }
+
+    /**
+     * Méthode préparant la prochaine génération des lignes comprises dans l'intervalle [debut, fin[.
+     * Elle ne doit lire que la génération en cours et n'écrire que dans la génération en préparation des lignes demandées.
+     * @param debut Première ligne de la bande (incluse).
+     * @param fin Dernière ligne de la bande (exclue).
+     * @return Le bilan des cellules de la bande qui changent.
+     */
+    protected abstract Bilan calculerLignes(int debut, int fin);
+
+    /**
+     * Méthode rendant active la génération préparée par 'calculerLignes' une fois toutes les lignes calculées.
+     */
+    protected abstract void permuterGenerations();
+
+    /**
+     * Méthode appelée une fois avant le calcul de chaque génération, avant tout découpage en bandes.
+     * Elle permet par exemple de recopier les bords de la grille pour une topologie torique.
+     */
+    protected void preparerGeneration() {}
+
+    /**
+     * Getter indiquant le nombre de lignes dont les bandes doivent être multiples.
+     * Un moteur regroupant ses lignes par paquets (tuiles) peut ainsi garantir qu'un paquet n'est jamais partagé entre deux bandes.
+     * @return Le nombre de lignes dont chaque découpage doit être un multiple, 1 par défaut.
+     */
+    protected int getGranulariteLignes() { return 1; }
+
+    @Override
+    protected long getEmpreinte() { return empreinte; }
+
+    @Override
+    protected long getPopulation() { return population; }
+
+    @Override
+    protected long getNaissances() { return naissances; }
+
+    @Override
+    protected long getMorts() { return morts; }
+
+    /**
+     * Setter pour fixer l'empreinte et la population de la génération en cours, après un remplissage de la grille ne passant pas par 'setEnVie'.
+     * @param empreinte Nouvelle empreinte, en général celle calculée par 'calculerEmpreinte'.
+     * @param population Nouvelle population, en général celle calculée par 'compterPopulation'.
+     */
+    protected final void setCompteurs(long empreinte, long population) {
+
+        this.empreinte = empreinte;
+        this.population = population;
+
+    }
+
+    /**
+     * Méthode appliquant à l'empreinte et à la population de la génération en cours la modification de cellules hors du calcul d'une génération.
+     * @param variationEmpreinte OU exclusif des contributions des cellules ayant changé.
+     * @param variationPopulation Nombre de cellules nées moins le nombre de cellules mortes.
+     */
+    protected void modifierCompteurs(long variationEmpreinte, long variationPopulation) {
+
+        empreinte ^= variationEmpreinte;
+        population += variationPopulation;
+
+    }
+
+    /**
+     * Méthode d'incrémentation de l'automate vers sa prochaine génération.
+     * Les lignes sont calculées séquentiellement ou par bandes en parallèle suivant le nombre de fils d'exécution fixé.
+     */
+    @Override
+    protected void mettreAJourAutomate() {
+
+        preparerGeneration();
+        Bilan bilan;
+        int nombreDeFils = getNombreDeFils();
+        if (nombreDeFils > 1 && lignesTotales >= 2 * LIGNES_MINIMALES_PAR_BANDE) {
+            // Environ quatre bandes par fil afin d'équilibrer la charge entre les fils.
+            int granularite = getGranulariteLignes();
+            int lignesParBande = Math.max(LIGNES_MINIMALES_PAR_BANDE, lignesTotales / (4 * nombreDeFils));
+            lignesParBande = (lignesParBande + granularite - 1) / granularite * granularite;
+            bilan = getReservoir(nombreDeFils).invoke(new CalculBande(0, lignesTotales, lignesParBande));
+        } else {
+            bilan = calculerLignes(0, lignesTotales);
+        }
+        permuterGenerations();
+        empreinte ^= bilan.empreinte;
+        population += bilan.naissances - bilan.morts;
+        naissances = bilan.naissances;
+        morts = bilan.morts;
+
+    }
+
+    /**
+     * Méthode renvoyant le réservoir de fils d'exécution partagé correspondant à un nombre de fils, créé à sa première demande.
+     * @param nombreDeFils Nombre de fils d'exécution du réservoir.
+     * @return Le réservoir partagé.
+     */
+    protected static ForkJoinPool getReservoir(int nombreDeFils) { return RESERVOIRS.computeIfAbsent(nombreDeFils, ForkJoinPool::new); }
+
+    /**
+     * Tâche récursive découpant un intervalle de lignes en deux jusqu'à atteindre la taille de bande souhaitée.
+     * Elle renvoie le bilan de ses lignes, obtenu en additionnant ceux de ses deux moitiés.
+     */
+    @SuppressWarnings("serial")
+    private class CalculBande extends RecursiveTask<Bilan> {
+
+        /** Première ligne de la bande (incluse). */
+        private final int debut;
+        /** Dernière ligne de la bande (exclue). */
+        private final int fin;
+        /** Nombre de lignes en dessous duquel la bande est calculée directement. */
+        private final int lignesParBande;
+
+        /**
+         * Constructeur d'une tâche de calcul de bande.
+         * @param debut Première ligne de la bande (incluse).
+         * @param fin Dernière ligne de la bande (exclue).
+         * @param lignesParBande Nombre de lignes en dessous duquel la bande est calculée directement.
+         */
+        private CalculBande(int debut, int fin, int lignesParBande) {
+
+            this.debut = debut;
+            this.fin = fin;
+            this.lignesParBande = lignesParBande;
+
+        }
+
+        @Override
+        protected Bilan compute() {
+
+            if (fin - debut <= lignesParBande) {
+                return calculerLignes(debut, fin);
+            }
+            // La coupure est alignée sur un multiple de la taille de bande afin de respecter la granularité du moteur.
+            int milieu = debut + Math.max(1, (fin - debut) / (2 * lignesParBande)) * lignesParBande;
+            CalculBande haut = new CalculBande(debut, milieu, lignesParBande);
+            CalculBande bas = new CalculBande(milieu, fin, lignesParBande);
+            invokeAll(haut, bas);
+            return haut.join().ajouter(bas.join());
+
+        }
+
+    }
+
+    /**
+     * Un Bilan regroupe les changements d'une bande de lignes lors du calcul d'une génération.
+     * Il est rempli dans la même boucle que le calcul des cellules, les cellules inchangées n'y coûtant rien.
+     */
+    protected static final class Bilan {
+
+        /** Nombre de cellules nées dans la bande. */
+        protected long naissances;
+        /** Nombre de cellules mortes dans la bande. */
+        protected long morts;
+        /** Variation de l'empreinte, c'est-à-dire le OU exclusif des contributions des cellules ayant changé. */
+        protected long empreinte;
+
+        /**
+         * Méthode ajoutant à ce bilan celui d'une autre bande.
+         * Le OU exclusif et l'addition étant associatifs, le découpage en bandes ne change pas le résultat.
+         * @param autre Bilan de l'autre bande.
+         * @return Ce bilan, complété.
+         */
+        protected Bilan ajouter(Bilan autre) {
+
+            naissances += autre.naissances;
+            morts += autre.morts;
+            empreinte ^= autre.empreinte;
+            return this;
+
+        }
+
+    }
+
+}
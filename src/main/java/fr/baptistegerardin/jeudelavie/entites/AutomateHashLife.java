@@ -0,0 +1,678 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * L'AutomateHashLife est un automate cellulaire reposant sur l'algorithme HashLife de Bill Gosper.
+ * Le plan est représenté par un arbre quaternaire dont les nœuds identiques sont partagés (canonisés) grâce à une table de hachage.
+ * Chaque nœud mémorise le résultat de son évolution, ce qui permet de sauter un nombre de générations qui est une puissance de deux
+ * en un temps sans rapport avec le nombre de générations sautées pour les modèles périodiques ou réguliers.
+ * Contrairement aux autres automates, le plan est infini : la taille de l'automate ne définit que la fenêtre affichée,
+ * dont le coin supérieur gauche est l'origine du plan, et les cellules qui en sortent continuent d'évoluer.
+ * Les règles faisant naître des cellules sans voisin (B0) ne peuvent donc pas être suivies.
+ * L'empreinte d'une génération est la signature de la racine réduite au plus petit nœud centré contenant toutes les cellules vivantes.
+ * Chaque nœud calcule sa signature une seule fois à partir de celles de ses enfants, seuls les nœuds apparus depuis la génération précédente sont donc signés.
+ * @author Velki0
+ * @version 1.0
+ */
+public class AutomateHashLife extends Automate {
+
+    /** Niveau minimal de la racine, soit un carré de 8 x 8 cellules. */
+    private static final int NIVEAU_MINIMAL = 3;
+    /** Nombre de nœuds canonisés au-delà duquel la table est nettoyée des nœuds inaccessibles. */
+    private static final int NOEUDS_MAXIMUM = 4_000_000;
+
+    /** Table de canonisation, chaque nœud y est sa propre clé. */
+    private Map<Noeud, Noeud> noeuds;
+    /** Nœuds vides de chaque niveau. */
+    private final Noeud[] noeudsVides;
+    /** Feuille morte (niveau 0). */
+    private final Noeud mort;
+    /** Feuille vivante (niveau 0). */
+    private final Noeud vivant;
+    /** Racine de l'arbre, centrée sur l'origine du plan. */
+    private Noeud racine;
+    /** Fenêtre affichée extraite de l'arbre, une ligne de mots de 64 bits par ligne de la fenêtre, recalculée à la demande. */
+    private long[][] fenetre;
+
+    /**
+     * Constructeur d'un automate HashLife vide.
+     * @param lignesTotales Nombre de lignes de la fenêtre affichée.
+     * @param colonnesTotales Nombre de colonnes de la fenêtre affichée.
+     */
+    protected AutomateHashLife(int lignesTotales, int colonnesTotales) {
+
+        super(lignesTotales, colonnesTotales);
+        noeuds = new HashMap<>();
+        noeudsVides = new Noeud[64];
+        mort = new Noeud(false);
+        vivant = new Noeud(true);
+        racine = vide(NIVEAU_MINIMAL);
+
+    }
+
+    /**
+     * Constructeur d'un automate HashLife via le chargement d'un modèle prédéfini.
+     * @param modele Modèle de l'automate cellulaire.
+     */
+    protected AutomateHashLife(Modele modele) {
+
+        this(modele.getLignesTotales(), modele.getColonnesTotales());
+        racine = construire(modele::getEnVie);
+
+    }
+
+    /**
+     * Méthode renvoyant le nœud canonique possédant les quatre enfants renseignés.
+     * @param nordOuest Enfant nord-ouest.
+     * @param nordEst Enfant nord-est.
+     * @param sudOuest Enfant sud-ouest.
+     * @param sudEst Enfant sud-est.
+     * @return Le nœud canonique.
+     */
+    private Noeud noeud(Noeud nordOuest, Noeud nordEst, Noeud sudOuest, Noeud sudEst) {
+
+        Noeud candidat = new Noeud(nordOuest, nordEst, sudOuest, sudEst);
+        Noeud existant = noeuds.putIfAbsent(candidat, candidat);
+        return existant == null ? candidat : existant;
+
+    }
+
+    /**
+     * Méthode renvoyant le nœud vide d'un niveau donné.
+     * @param niveau Niveau du nœud.
+     * @return Le nœud vide canonique.
+     */
+    private Noeud vide(int niveau) {
+
+        if (niveau == 0) {
+            return mort;
+        }
+        if (noeudsVides[niveau] == null) {
+            Noeud enfant = vide(niveau - 1);
+            noeudsVides[niveau] = noeud(enfant, enfant, enfant, enfant);
+        }
+        return noeudsVides[niveau];
+
+    }
+
+    /**
+     * Méthode renvoyant le nœud central d'un nœud, de niveau inférieur d'un cran.
+     * @param noeud Nœud de niveau au moins 2.
+     * @return Le nœud central.
+     */
+    private Noeud centre(Noeud noeud) {
+
+        return noeud(noeud.nordOuest.sudEst, noeud.nordEst.sudOuest, noeud.sudOuest.nordEst, noeud.sudEst.nordOuest);
+
+    }
+
+    /**
+     * Méthode plongeant un nœud au centre d'un nœud vide de niveau supérieur.
+     * @param noeud Nœud à agrandir.
+     * @return Le nœud agrandi, de même centre.
+     */
+    private Noeud agrandir(Noeud noeud) {
+
+        Noeud bordure = vide(noeud.niveau - 1);
+        return noeud(
+                noeud(bordure, bordure, bordure, noeud.nordOuest),
+                noeud(bordure, bordure, noeud.nordEst, bordure),
+                noeud(bordure, noeud.sudOuest, bordure, bordure),
+                noeud(noeud.sudEst, bordure, bordure, bordure)
+        );
+
+    }
+
+    /**
+     * Méthode indiquant si toutes les cellules vivantes d'un nœud se trouvent dans son quart central.
+     * @param noeud Nœud de niveau au moins 2.
+     * @return 'true' si la bordure du nœud est vide.
+     */
+    private boolean bordureVide(Noeud noeud) {
+
+        return noeud.population == centre(noeud).population;
+
+    }
+
+    /**
+     * Méthode calculant le centre d'un nœud après 2^pas générations.
+     * Le résultat est mémorisé dans le nœud, un même nœud rencontré plus tard n'est donc jamais recalculé.
+     * @param noeud Nœud de niveau au moins 2.
+     * @param pas Logarithme en base 2 du nombre de générations, au plus égal au niveau du nœud moins 2.
+     * @return Le nœud central, de niveau inférieur d'un cran, après 2^pas générations.
+     */
+    private Noeud successeur(Noeud noeud, int pas) {
+
+        if (noeud.population == 0) {
+            return vide(noeud.niveau - 1);
+        }
+        if (noeud.resultats == null) {
+            noeud.resultats = new Noeud[noeud.niveau - 1];
+        }
+        if (noeud.resultats[pas] != null) {
+            return noeud.resultats[pas];
+        }
+
+        Noeud resultat;
+        if (noeud.niveau == 2) {
+            resultat = calculerCasDeBase(noeud);
+        } else {
+            // Les neuf sous-nœuds de niveau inférieur se chevauchant au centre du nœud.
+            Noeud n00 = noeud.nordOuest, n02 = noeud.nordEst, n20 = noeud.sudOuest, n22 = noeud.sudEst;
+            Noeud n01 = noeud(n00.nordEst, n02.nordOuest, n00.sudEst, n02.sudOuest);
+            Noeud n10 = noeud(n00.sudOuest, n00.sudEst, n20.nordOuest, n20.nordEst);
+            Noeud n11 = noeud(n00.sudEst, n02.sudOuest, n20.nordEst, n22.nordOuest);
+            Noeud n12 = noeud(n02.sudOuest, n02.sudEst, n22.nordOuest, n22.nordEst);
+            Noeud n21 = noeud(n20.nordEst, n22.nordOuest, n20.sudEst, n22.sudOuest);
+            Noeud[] neuf = {n00, n01, n02, n10, n11, n12, n20, n21, n22};
+            Noeud[] intermediaires = new Noeud[9];
+            boolean pleineVitesse = pas == noeud.niveau - 2;
+            for (int index = 0; index < 9; index++) {
+                // À pleine vitesse, une première moitié des générations est calculée ici, sinon les sous-nœuds sont simplement recentrés.
+                intermediaires[index] = pleineVitesse ? successeur(neuf[index], pas - 1) : centre(neuf[index]);
+            }
+            int pasRestant = pleineVitesse ? pas - 1 : pas;
+            resultat = noeud(
+                    successeur(noeud(intermediaires[0], intermediaires[1], intermediaires[3], intermediaires[4]), pasRestant),
+                    successeur(noeud(intermediaires[1], intermediaires[2], intermediaires[4], intermediaires[5]), pasRestant),
+                    successeur(noeud(intermediaires[3], intermediaires[4], intermediaires[6], intermediaires[7]), pasRestant),
+                    successeur(noeud(intermediaires[4], intermediaires[5], intermediaires[7], intermediaires[8]), pasRestant)
+            );
+        }
+        noeud.resultats[pas] = resultat;
+        return resultat;
+
+    }
+
+    /**
+     * Méthode calculant par force brute la génération suivante du carré central 2 x 2 d'un nœud de 4 x 4 cellules.
+     * @param noeud Nœud de niveau 2.
+     * @return Le nœud de niveau 1 correspondant au centre après une génération.
+     */
+    private Noeud calculerCasDeBase(Noeud noeud) {
+
+        Regle regle = getRegle();
+        boolean[][] cellules = new boolean[4][4];
+        for (int ligne = 0; ligne < 4; ligne++) {
+            for (int colonne = 0; colonne < 4; colonne++) {
+                cellules[ligne][colonne] = lireCellule(noeud, ligne, colonne);
+            }
+        }
+        Noeud[] centre = new Noeud[4];
+        for (int ligne = 1; ligne <= 2; ligne++) {
+            for (int colonne = 1; colonne <= 2; colonne++) {
+                int voisins = 0;
+                for (int x = ligne - 1; x <= ligne + 1; x++) {
+                    for (int y = colonne - 1; y <= colonne + 1; y++) {
+                        if ((x != ligne || y != colonne) && cellules[x][y]) {
+                            voisins++;
+                        }
+                    }
+                }
+                centre[(ligne - 1) * 2 + (colonne - 1)] = regle.prochainEtat(cellules[ligne][colonne], voisins) ? vivant : mort;
+            }
+        }
+        return noeud(centre[0], centre[1], centre[2], centre[3]);
+
+    }
+
+    /**
+     * Méthode lisant une cellule à l'intérieur d'un nœud, en coordonnées relatives à son coin supérieur gauche.
+     * @param noeud Nœud lu.
+     * @param ligne Ligne relative de la cellule.
+     * @param colonne Colonne relative de la cellule.
+     * @return L'état de la cellule.
+     */
+    private boolean lireCellule(Noeud noeud, long ligne, long colonne) {
+
+        while (noeud.niveau > 0) {
+            if (noeud.population == 0) {
+                return false;
+            }
+            long moitie = 1L << (noeud.niveau - 1);
+            boolean sud = ligne >= moitie;
+            boolean est = colonne >= moitie;
+            noeud = sud ? (est ? noeud.sudEst : noeud.sudOuest) : (est ? noeud.nordEst : noeud.nordOuest);
+            ligne -= sud ? moitie : 0;
+            colonne -= est ? moitie : 0;
+        }
+        return noeud == vivant;
+
+    }
+
+    /**
+     * Méthode renvoyant un nœud identique à celui renseigné à une cellule près.
+     * @param noeud Nœud modifié.
+     * @param ligne Ligne relative de la cellule.
+     * @param colonne Colonne relative de la cellule.
+     * @param enVie Nouvel état de la cellule.
+     * @return Le nœud canonique modifié.
+     */
+    private Noeud ecrireCellule(Noeud noeud, long ligne, long colonne, boolean enVie) {
+
+        if (noeud.niveau == 0) {
+            return enVie ? vivant : mort;
+        }
+        long moitie = 1L << (noeud.niveau - 1);
+        boolean sud = ligne >= moitie;
+        boolean est = colonne >= moitie;
+        long ligneEnfant = sud ? ligne - moitie : ligne;
+        long colonneEnfant = est ? colonne - moitie : colonne;
+        return noeud(
+                !sud && !est ? ecrireCellule(noeud.nordOuest, ligneEnfant, colonneEnfant, enVie) : noeud.nordOuest,
+                !sud && est ? ecrireCellule(noeud.nordEst, ligneEnfant, colonneEnfant, enVie) : noeud.nordEst,
+                sud && !est ? ecrireCellule(noeud.sudOuest, ligneEnfant, colonneEnfant, enVie) : noeud.sudOuest,
+                sud && est ? ecrireCellule(noeud.sudEst, ligneEnfant, colonneEnfant, enVie) : noeud.sudEst
+        );
+
+    }
+
+    /**
+     * Méthode construisant l'arbre contenant la fenêtre de l'automate à partir de l'état de chacune de ses cellules.
+     * @param source Fonction renvoyant l'état d'une cellule de la fenêtre.
+     * @return La nouvelle racine.
+     */
+    private Noeud construire(SourceCellules source) {
+
+        int niveau = NIVEAU_MINIMAL;
+        while ((1L << (niveau - 1)) < Math.max(lignesTotales, colonnesTotales)) {
+            niveau++;
+        }
+        // La fenêtre occupe le quart sud-est de la racine, son coin supérieur gauche étant l'origine du plan.
+        long decalage = 1L << (niveau - 1);
+        fenetre = null;
+        return construire(niveau, -decalage, -decalage, source);
+
+    }
+
+    /**
+     * Méthode récursive construisant un nœud couvrant le carré dont le coin supérieur gauche est renseigné.
+     * @param niveau Niveau du nœud à construire.
+     * @param ligne Ligne du coin supérieur gauche dans le plan.
+     * @param colonne Colonne du coin supérieur gauche dans le plan.
+     * @param source Fonction renvoyant l'état d'une cellule de la fenêtre.
+     * @return Le nœud canonique construit.
+     */
+    private Noeud construire(int niveau, long ligne, long colonne, SourceCellules source) {
+
+        long taille = 1L << niveau;
+        if (ligne >= lignesTotales || colonne >= colonnesTotales || ligne + taille <= 0 || colonne + taille <= 0) {
+            return vide(niveau);
+        }
+        if (niveau == 0) {
+            return source.getEnVie((int) ligne, (int) colonne) ? vivant : mort;
+        }
+        long moitie = taille >> 1;
+        return noeud(
+                construire(niveau - 1, ligne, colonne, source),
+                construire(niveau - 1, ligne, colonne + moitie, source),
+                construire(niveau - 1, ligne + moitie, colonne, source),
+                construire(niveau - 1, ligne + moitie, colonne + moitie, source)
+        );
+
+    }
+
+    /**
+     * Méthode faisant avancer l'automate d'un nombre quelconque de générations.
+     * Le nombre de générations est décomposé en puissances de deux, chacune étant franchie en un seul appel à 'successeur'.
+     * @param generations Nombre de générations à franchir.
+     */
+    @Override
+    protected void avancer(long generations) {
+
+        for (int pas = 0; pas < 63 && (generations >>> pas) != 0; pas++) {
+            if (((generations >>> pas) & 1) != 0) {
+                sauter(pas);
+            }
+        }
+        compacter();
+
+    }
+
+    /**
+     * Méthode faisant avancer l'automate par puissances de deux, de la plus petite à la plus grande, sans dépasser une durée donnée.
+     * La durée et l'interruption du fil sont vérifiées entre deux sauts : un saut commencé est toujours terminé.
+     * @param generations Nombre de générations à franchir.
+     * @param dureeMaximale Durée en nanosecondes au-delà de laquelle aucun nouveau saut n'est commencé.
+     * @return Le nombre de générations franchies, dont les puissances de deux restantes sont toutes plus grandes que celles franchies.
+     */
+    @Override
+    protected long avancer(long generations, long dureeMaximale) {
+
+        long fin = System.nanoTime() + dureeMaximale;
+        long franchies = 0;
+        for (int pas = 0; pas < 63 && (generations >>> pas) != 0; pas++) {
+            if (((generations >>> pas) & 1) == 0) {
+                continue;
+            }
+            sauter(pas);
+            franchies |= 1L << pas;
+            if (franchies != generations && (System.nanoTime() - fin >= 0 || Thread.currentThread().isInterrupted())) {
+                break;
+            }
+        }
+        compacter();
+        return franchies;
+
+    }
+
+    /**
+     * Méthode franchissant 2^pas générations en un seul appel à 'successeur'.
+     * La table de canonisation est vidée dès qu'elle dépasse sa taille maximale, sans attendre la fin d'un long saut décomposé en plusieurs puissances de deux.
+     * @param pas Logarithme en base deux du nombre de générations à franchir.
+     */
+    private void sauter(int pas) {
+
+        // La racine est agrandie jusqu'à ce que les cellules vivantes ne puissent pas sortir du résultat pendant 2^pas générations.
+        while (racine.niveau < pas + 2 || !bordureVide(racine)) {
+            racine = agrandir(racine);
+        }
+        racine = successeur(agrandir(racine), pas);
+        if (noeuds.size() > NOEUDS_MAXIMUM) {
+            nettoyerTable();
+        }
+
+    }
+
+    /**
+     * Méthode réduisant la racine tant que sa bordure est vide afin de garder un arbre compact, puis oubliant la fenêtre affichée.
+     */
+    private void compacter() {
+
+        while (racine.niveau > NIVEAU_MINIMAL && bordureVide(racine)) {
+            racine = centre(racine);
+        }
+        fenetre = null;
+
+    }
+
+    @Override
+    protected boolean isSautDeGenerations() { return true; }
+
+    /**
+     * Méthode d'incrémentation de l'automate vers sa prochaine génération.
+     */
+    @Override
+    protected void mettreAJourAutomate() {
+
+        avancer(1);
+
+    }
+
+    /**
+     * Méthode vidant la table de canonisation de tous les nœuds qui ne sont plus accessibles depuis la racine.
+     * Les résultats mémorisés sont oubliés, ils seront recalculés à la demande.
+     */
+    private void nettoyerTable() {
+
+        noeuds = new HashMap<>();
+        for (int niveau = 0; niveau < noeudsVides.length; niveau++) {
+            noeudsVides[niveau] = null;
+        }
+        reinserer(racine);
+
+    }
+
+    /**
+     * Méthode réinsérant récursivement un nœud et ses descendants dans la table de canonisation.
+     * Chaque nœud partagé n'est parcouru qu'une seule fois.
+     * @param noeud Nœud à réinsérer.
+     */
+    private void reinserer(Noeud noeud) {
+
+        if (noeud.niveau == 0 || noeuds.putIfAbsent(noeud, noeud) != null) {
+            return;
+        }
+        noeud.resultats = null;
+        reinserer(noeud.nordOuest);
+        reinserer(noeud.nordEst);
+        reinserer(noeud.sudOuest);
+        reinserer(noeud.sudEst);
+
+    }
+
+    /**
+     * Méthode extrayant la fenêtre affichée de l'arbre sous forme d'une grille plate de bits.
+     * Les nœuds vides sont ignorés, le coût est donc proportionnel à la partie peuplée de la fenêtre.
+     */
+    private void extraireFenetre() {
+
+        fenetre = new long[lignesTotales][(colonnesTotales + 63) >>> 6];
+        long decalage = 1L << (racine.niveau - 1);
+        extraire(racine, -decalage, -decalage);
+
+    }
+
+    /**
+     * Méthode récursive recopiant dans la fenêtre les cellules vivantes d'un nœud.
+     * @param noeud Nœud recopié.
+     * @param ligne Ligne du coin supérieur gauche du nœud dans le plan.
+     * @param colonne Colonne du coin supérieur gauche du nœud dans le plan.
+     */
+    private void extraire(Noeud noeud, long ligne, long colonne) {
+
+        long taille = 1L << noeud.niveau;
+        if (noeud.population == 0 || ligne >= lignesTotales || colonne >= colonnesTotales || ligne + taille <= 0 || colonne + taille <= 0) {
+            return;
+        }
+        if (noeud.niveau == 0) {
+            fenetre[(int) ligne][(int) colonne >>> 6] |= 1L << colonne;
+            return;
+        }
+        long moitie = taille >> 1;
+        extraire(noeud.nordOuest, ligne, colonne);
+        extraire(noeud.nordEst, ligne, colonne + moitie);
+        extraire(noeud.sudOuest, ligne + moitie, colonne);
+        extraire(noeud.sudEst, ligne + moitie, colonne + moitie);
+
+    }
+
+    /**
+     * Setter pour fixer la règle de naissance et de survie suivie par l'automate.
+     * Les résultats mémorisés dans les nœuds ayant été calculés avec l'ancienne règle, ils sont tous oubliés.
+     * @param regle Nouvelle règle, qui ne doit pas contenir B0.
+     */
+    @Override
+    protected void setRegle(Regle regle) {
+
+        if (regle.isNaissanceSansVoisin()) {
+            throw new IllegalArgumentException("La règle " + regle + " ne peut pas être suivie sur un plan infini");
+        }
+        if (!regle.equals(getRegle())) {
+            super.setRegle(regle);
+            nettoyerTable();
+        }
+
+    }
+
+    @Override
+    protected void dessiner(int[] pixels, int ligneDebut, int colonneDebut, int lignes, int colonnes, int reduction, int couleurVivante, int couleurMorte) {
+
+        if (fenetre == null) {
+            extraireFenetre();
+        }
+        dessinerBits(fenetre, pixels, ligneDebut, colonneDebut, lignes, colonnes, reduction, couleurVivante, couleurMorte);
+
+    }
+
+    @Override
+    protected long getPopulation() { return racine.population; }
+
+    /**
+     * Méthode renvoyant l'empreinte de la génération en cours, cellules hors de la fenêtre affichée comprises.
+     * La racine est d'abord réduite tant que sa bordure est vide : deux générations identiques ont ainsi la même racine réduite,
+     * quelle que soit la taille de l'arbre au moment où elles ont été atteintes.
+     * @return L'empreinte de la génération en cours.
+     */
+    @Override
+    protected long getEmpreinte() {
+
+        Noeud reduite = racine;
+        while (reduite.niveau > NIVEAU_MINIMAL && bordureVide(reduite)) {
+            reduite = centre(reduite);
+        }
+        return signature(reduite);
+
+    }
+
+    /**
+     * Méthode renvoyant la signature d'un nœud, calculée à partir de celles de ses enfants lors du premier appel puis mémorisée.
+     * Contrairement au code de hachage de la table, elle ne dépend que du contenu du nœud et tient sur 64 bits.
+     * @param noeud Nœud à signer.
+     * @return La signature du nœud, jamais nulle.
+     */
+    private long signature(Noeud noeud) {
+
+        if (noeud.signature == 0) {
+            long signature = melanger(noeud.niveau + signature(noeud.nordOuest));
+            signature = melanger(signature ^ signature(noeud.nordEst));
+            signature = melanger(signature ^ signature(noeud.sudOuest));
+            signature = melanger(signature ^ signature(noeud.sudEst));
+            // La valeur nulle est réservée aux nœuds pas encore signés.
+            noeud.signature = signature == 0 ? 1 : signature;
+        }
+        return noeud.signature;
+
+    }
+
+    @Override
+    protected boolean getEnVie(int ligne, int colonne) {
+
+        if (fenetre == null) {
+            extraireFenetre();
+        }
+        return (fenetre[ligne][colonne >>> 6] & (1L << colonne)) != 0;
+
+    }
+
+    @Override
+    protected void setEnVie(int ligne, int colonne, boolean enVie) {
+
+        long decalage = 1L << (racine.niveau - 1);
+        while (ligne >= decalage || colonne >= decalage) {
+            racine = agrandir(racine);
+            decalage = 1L << (racine.niveau - 1);
+        }
+        racine = ecrireCellule(racine, ligne + decalage, colonne + decalage, enVie);
+        fenetre = null;
+
+    }
+
+    @Override
+    protected void copierDepuis(Automate source) {
+
+        racine = construire((ligne, colonne) -> ligne < source.lignesTotales && colonne < source.colonnesTotales && source.getEnVie(ligne, colonne));
+
+    }
+
+    /**
+     * Méthode permettant à l'automate d'effacer entièrement son contenu, y compris hors de la fenêtre affichée.
+     */
+    @Override
+    protected void reinitialiserAutomate() {
+
+        noeuds = new HashMap<>();
+        for (int niveau = 0; niveau < noeudsVides.length; niveau++) {
+            noeudsVides[niveau] = null;
+        }
+        racine = vide(NIVEAU_MINIMAL);
+        fenetre = null;
+
+    }
+
+    /**
+     * Interface fonctionnelle donnant l'état d'une cellule de la fenêtre lors de la construction de l'arbre.
+     */
+    @FunctionalInterface
+    private interface SourceCellules {
+
+        /**
+         * Méthode renvoyant l'état d'une cellule.
+         * @param ligne Ligne de la cellule.
+         * @param colonne Colonne de la cellule.
+         * @return L'état de la cellule.
+         */
+        boolean getEnVie(int ligne, int colonne);
+
+    }
+
+    /**
+     * Un nœud de l'arbre quaternaire, carré de 2^niveau cellules de côté.
+     * Les nœuds sont immuables (hormis leurs résultats mémorisés) et comparés suivant l'identité de leurs enfants.
+     */
+    private static final class Noeud {
+
+        /** Niveau du nœud, 0 pour une cellule seule. */
+        private final int niveau;
+        /** Enfant nord-ouest. */
+        private final Noeud nordOuest;
+        /** Enfant nord-est. */
+        private final Noeud nordEst;
+        /** Enfant sud-ouest. */
+        private final Noeud sudOuest;
+        /** Enfant sud-est. */
+        private final Noeud sudEst;
+        /** Nombre de cellules vivantes du nœud. */
+        private final long population;
+        /** Empreinte du nœud, calculée une seule fois à partir de celles de ses enfants. */
+        private final int empreinte;
+        /** Signature du contenu du nœud sur 64 bits, 0 tant qu'elle n'a pas été demandée. */
+        private long signature;
+        /** Centre du nœud après 2^pas générations, rangé à l'index 'pas'. */
+        private Noeud[] resultats;
+
+        /**
+         * Constructeur d'une feuille.
+         * @param enVie État de la cellule.
+         */
+        private Noeud(boolean enVie) {
+
+            niveau = 0;
+            nordOuest = nordEst = sudOuest = sudEst = null;
+            population = enVie ? 1 : 0;
+            empreinte = enVie ? 1 : 0;
+            signature = enVie ? 0x9e3779b97f4a7c15L : 0x632be59bd9b4e019L;
+
+        }
+
+        /**
+         * Constructeur d'un nœud interne.
+         * @param nordOuest Enfant nord-ouest.
+         * @param nordEst Enfant nord-est.
+         * @param sudOuest Enfant sud-ouest.
+         * @param sudEst Enfant sud-est.
+         */
+        private Noeud(Noeud nordOuest, Noeud nordEst, Noeud sudOuest, Noeud sudEst) {
+
+            this.niveau = nordOuest.niveau + 1;
+            this.nordOuest = nordOuest;
+            this.nordEst = nordEst;
+            this.sudOuest = sudOuest;
+            this.sudEst = sudEst;
+            this.population = nordOuest.population + nordEst.population + sudOuest.population + sudEst.population;
+            int hachage = niveau;
+            hachage = 31 * hachage + System.identityHashCode(nordOuest);
+            hachage = 31 * hachage + System.identityHashCode(nordEst);
+            hachage = 31 * hachage + System.identityHashCode(sudOuest);
+            hachage = 31 * hachage + System.identityHashCode(sudEst);
+            this.empreinte = hachage;
+
+        }
+
+        @Override
+        public boolean equals(Object objet) {
+
+            return objet instanceof Noeud autre && niveau == autre.niveau
+                    && nordOuest == autre.nordOuest && nordEst == autre.nordEst
+                    && sudOuest == autre.sudOuest && sudEst == autre.sudEst;
+
+        }
+
+        @Override
+        public int hashCode() { return empreinte; }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+/**
+ * L'AutomateVectoriel range ses cellules comme l'automate classique, un octet par cellule entouré d'un halo,
+ * mais calcule chaque ligne par vecteurs entiers grâce à l'API Vector de Java (module 'jdk.incubator.vector') :
+ * une seule instruction additionne les voisins, puis applique la règle, de 16 à 64 cellules selon le processeur.
+ * Le module étant encore en incubation, il doit être ajouté au lancement de l'application : 'java --add-modules jdk.incubator.vector -jar ...'.
+ * En son absence, ou si le processeur ne gère pas de vecteurs assez larges, l'automate calcule une cellule à la fois comme l'automate classique,
+ * avec exactement le même résultat.
+ * @author Velki0
+ * @version 1.0
+ */
+public final class AutomateVectoriel extends AutomateClassique {
+
+    /** Indique si le calcul vectoriel est disponible, la classe du noyau vectoriel n'étant chargée que si le module est présent. */
+    private static final boolean VECTEURS_DISPONIBLES = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && NoyauVectoriel.estUtilisable();
+
+    static {
+        if (!VECTEURS_DISPONIBLES) {
+            System.err.println("Le module jdk.incubator.vector est absent ou inutilisable, le moteur vectoriel calcule une cellule à la fois"
+                    + " (lancez l'application avec --add-modules jdk.incubator.vector)");
+        }
+    }
+
+    /** Table de transition à partir de laquelle les tables vectorielles ont été rangées. */
+    private byte[] transitionsCompilees;
+    /** Tables de transition rangées pour le calcul vectoriel. */
+    private byte[] tablesVectorielles;
+
+    /**
+     * Constructeur d'un automate permettant de fixer l'état initial de chaque cellule de façon uniforme.
+     * @param lignesTotales Nombre de lignes totales de l'automate.
+     * @param colonnesTotales Nombre de colonnes totales de l'automate.
+     * @param etatInitial État initial de toutes les cellules de l'automate.
+     */
+    protected AutomateVectoriel(int lignesTotales, int colonnesTotales, boolean etatInitial) { super(lignesTotales, colonnesTotales, etatInitial); }
+
+    /**
+     * Constructeur d'un automate via le chargement d'un modèle prédéfini.
+     * @param modele Modèle de l'automate cellulaire.
+     */
+    protected AutomateVectoriel(Modele modele) { super(modele); }
+
+    /**
+     * Getter indiquant si les générations sont calculées par vecteurs ou, faute de module, une cellule à la fois.
+     * @return 'true' si le calcul vectoriel est disponible.
+     */
+    protected static boolean isVectorise() { return VECTEURS_DISPONIBLES; }
+
+    /**
+     * Méthode rangeant les tables vectorielles de la règle, une seule fois par règle, avant que les bandes ne soient calculées en parallèle.
+     */
+    @Override
+    protected void preparerGeneration() {
+
+        super.preparerGeneration();
+        byte[] transitions = getRegle().getTransitions();
+        if (VECTEURS_DISPONIBLES && transitions != transitionsCompilees) {
+            tablesVectorielles = NoyauVectoriel.compiler(transitions);
+            transitionsCompilees = transitions;
+        }
+
+    }
+
+    @Override
+    protected void calculerCellules(byte[] courante, byte[] suivante, int debut, int fin, int largeur, byte[] transitions) {
+
+        int reste = debut;
+        if (VECTEURS_DISPONIBLES) {
+            reste = NoyauVectoriel.calculerCellules(courante, suivante, debut, fin, largeur, tablesVectorielles);
+        }
+        // Les dernières cellules, moins nombreuses qu'un vecteur, sont calculées une à une.
+        super.calculerCellules(courante, suivante, reste, fin, largeur, transitions);
+
+    }
+
+}
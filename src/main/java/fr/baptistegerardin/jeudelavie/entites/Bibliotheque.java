@@ -0,0 +1,169 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import fr.baptistegerardin.jeudelavie.exceptions.ModeleRenseigneNonConforme;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * La Bibliotheque rassemble les modèles .rle et .txt d'un dossier et de ses sous-dossiers, par exemple /src/main/resources/modeles/.
+ * Son index décrit chaque modèle par une fiche : nom, dimensions, règle, population initiale et commentaires du fichier.
+ * Chaque modèle est décodé une fois lors de l'indexation, puis conservé par le cache de modèles tant que son budget mémoire le permet :
+ * ouvrir ensuite un modèle de l'index à travers ce même cache ne relit alors aucun fichier.
+ * Les fichiers illisibles ou non conformes sont écartés de l'index, leur défaut étant signalé sur la sortie d'erreur.
+ * @author Velki0
+ * @version 1.0
+ */
+public final class Bibliotheque {
+
+    /** Dossier parcouru. */
+    private final Path dossier;
+    /** Fiches des modèles du dossier, triées par nom. */
+    private final List<Fiche> fiches;
+
+    /**
+     * Constructeur d'une bibliothèque, qui indexe immédiatement tous les modèles du dossier.
+     * L'indexation s'interrompt dès que le fil qui l'exécute est interrompu.
+     * @param dossier Dossier à parcourir.
+     * @param cache Cache conservant les modèles décodés, qui peut être partagé avec d'autres lectures.
+     * @throws IOException Exception jetée si le dossier lui-même ne peut pas être parcouru, ou 'InterruptedIOException' si le fil d'indexation est interrompu.
+     */
+    protected Bibliotheque(Path dossier, CacheDeModeles cache) throws IOException {
+
+        this.dossier = dossier;
+        List<Path> chemins;
+        try (Stream<Path> parcours = Files.walk(dossier)) {
+            chemins = parcours.filter(Files::isRegularFile).filter(Bibliotheque::estModele).sorted().toList();
+        }
+        List<Fiche> fichesLues = new ArrayList<>(chemins.size());
+        for (Path chemin : chemins) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("L'indexation de la bibliothèque a été interrompue");
+            }
+            try {
+                fichesLues.add(new Fiche(chemin, cache.charger(chemin, Modele.SANS_PROGRESSION)));
+            } catch (InterruptedIOException exception) {
+                throw exception;
+            } catch (IOException | ModeleRenseigneNonConforme exception) {
+                // Un fichier illisible, par exemple mal encodé, est écarté comme un fichier non conforme sans empêcher l'indexation des autres.
+                System.err.println("Le modèle " + chemin + " est écarté de la bibliothèque : " + exception.getMessage());
+            }
+        }
+        fichesLues.sort(Comparator.comparing(fiche -> fiche.getNom().toLowerCase(Locale.ROOT)));
+        fiches = Collections.unmodifiableList(fichesLues);
+
+    }
+
+    /**
+     * Méthode indiquant si un fichier est un modèle, d'après son extension.
+     * @param chemin Le chemin d'accès du fichier.
+     * @return 'true' si le fichier porte l'extension .rle ou .txt.
+     */
+    private static boolean estModele(Path chemin) {
+
+        String nom = chemin.getFileName().toString().toLowerCase(Locale.ROOT);
+        return nom.endsWith(".rle") || nom.endsWith(".txt");
+
+    }
+
+    /**
+     * Getter afin de récupérer le dossier parcouru.
+     * @return Le dossier de la bibliothèque.
+     */
+    protected Path getDossier() { return dossier; }
+
+    /**
+     * Getter afin de récupérer l'index de la bibliothèque.
+     * @return Les fiches des modèles, triées par nom, à ne pas modifier.
+     */
+    protected List<Fiche> getFiches() { return fiches; }
+
+    /**
+     * Une Fiche décrit un modèle de la bibliothèque sans retenir ses cellules, qui restent à la charge du cache.
+     */
+    protected static final class Fiche {
+
+        /** Chemin d'accès du fichier. */
+        private final Path chemin;
+        /** Nom du modèle, celui de sa ligne '#N' ou à défaut celui de son fichier. */
+        private final String nom;
+        /** Dimensions du modèle. */
+        private final int lignesTotales, colonnesTotales;
+        /** Règle du modèle. */
+        private final Regle regle;
+        /** Nombre de cellules en vie au départ. */
+        private final long population;
+        /** Commentaires du fichier, sans leur '#'. */
+        private final List<String> commentaires;
+
+        /**
+         * Constructeur de la fiche d'un modèle décodé.
+         * @param chemin Chemin d'accès du fichier.
+         * @param modele Modèle décodé.
+         */
+        private Fiche(Path chemin, Modele modele) {
+
+            String nomFichier = chemin.getFileName().toString();
+            this.chemin = chemin;
+            this.nom = modele.getNom() != null ? modele.getNom() : nomFichier.substring(0, nomFichier.lastIndexOf('.'));
+            this.lignesTotales = modele.getLignesTotales();
+            this.colonnesTotales = modele.getColonnesTotales();
+            this.regle = modele.getRegle();
+            this.population = modele.compterPopulation();
+            this.commentaires = modele.getCommentaires();
+
+        }
+
+        /**
+         * Getter afin de récupérer le chemin d'accès du fichier.
+         * @return Le chemin du modèle.
+         */
+        protected Path getChemin() { return chemin; }
+
+        /**
+         * Getter afin de récupérer le nom du modèle.
+         * @return Le nom de la ligne '#N', ou le nom du fichier sans son extension.
+         */
+        protected String getNom() { return nom; }
+
+        /**
+         * Getter afin de récupérer le nombre de lignes du modèle.
+         * @return Le nombre total de lignes.
+         */
+        protected int getLignesTotales() { return lignesTotales; }
+
+        /**
+         * Getter afin de récupérer le nombre de colonnes du modèle.
+         * @return Le nombre total de colonnes.
+         */
+        protected int getColonnesTotales() { return colonnesTotales; }
+
+        /**
+         * Getter afin de récupérer la règle du modèle.
+         * @return La règle du modèle.
+         */
+        protected Regle getRegle() { return regle; }
+
+        /**
+         * Getter afin de récupérer la population initiale du modèle.
+         * @return Le nombre de cellules en vie au départ.
+         */
+        protected long getPopulation() { return population; }
+
+        /**
+         * Getter afin de récupérer les commentaires du fichier.
+         * @return Les lignes de commentaires, sans leur '#'.
+         */
+        protected List<String> getCommentaires() { return commentaires; }
+
+    }
+
+}
@@ -0,0 +1,145 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import fr.baptistegerardin.jeudelavie.exceptions.ModeleRenseigneNonConforme;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Le CacheDeModeles conserve en mémoire les modèles déjà décodés, afin que revenir à un modèle récemment ouvert soit immédiat.
+ * Les modèles sont rangés du moins au plus récemment utilisé : lorsque la mémoire qu'ils occupent dépasse le budget fixé,
+ * les moins récemment utilisés sont oubliés. Un modèle plus grand que le budget n'est jamais conservé.
+ * Un modèle dont le fichier a été modifié depuis son décodage est relu.
+ * Les modèles étant immuables, un même modèle peut être partagé par plusieurs automates et plusieurs fils d'exécution.
+ * @author Velki0
+ * @version 1.0
+ */
+public final class CacheDeModeles {
+
+    /** Mémoire maximale occupée par les modèles conservés, en octets. */
+    private final long budgetMemoire;
+    /** Modèles conservés, indexés par leur chemin absolu, du moins au plus récemment utilisé. */
+    private final LinkedHashMap<Path, Entree> entrees = new LinkedHashMap<>(16, 0.75f, true);
+    /** Mémoire occupée par les modèles conservés, en octets. */
+    private long memoireUtilisee;
+    /** Nombre de modèles trouvés dans le cache et de modèles décodés. */
+    private long succes, echecs;
+
+    /**
+     * Constructeur d'un cache vide.
+     * @param budgetMemoire Mémoire maximale occupée par les modèles conservés, en octets.
+     */
+    protected CacheDeModeles(long budgetMemoire) { this.budgetMemoire = budgetMemoire; }
+
+    /**
+     * Méthode renvoyant le modèle d'un fichier .rle ou .txt, depuis le cache s'il y est encore et que le fichier n'a pas été modifié.
+     * Sinon le fichier est lu, hors de tout verrou, puis le modèle est conservé.
+     * @param chemin Le chemin d'accès du fichier.
+     * @param progression L'observateur de la lecture, qui n'est pas appelé si le modèle est trouvé dans le cache.
+     * @return Le modèle du fichier.
+     * @throws IOException Exception jetée si le fichier est introuvable ou illisible, ou 'InterruptedIOException' si le fil de lecture est interrompu.
+     * @throws ModeleRenseigneNonConforme Exception jetée si le fichier n'est pas conforme.
+     */
+    protected Modele charger(Path chemin, Modele.Progression progression) throws IOException, ModeleRenseigneNonConforme {
+
+        Path cle = chemin.toAbsolutePath().normalize();
+        FileTime dateModification = Files.getLastModifiedTime(cle);
+        synchronized (this) {
+            Entree entree = entrees.get(cle);
+            if (entree != null && entree.dateModification.equals(dateModification)) {
+                succes++;
+                return entree.modele;
+            }
+            echecs++;
+        }
+        Modele modele = new Modele(cle, progression);
+        conserver(cle, new Entree(modele, dateModification));
+        return modele;
+
+    }
+
+    /**
+     * Méthode conservant un modèle puis oubliant les modèles les moins récemment utilisés jusqu'à revenir sous le budget.
+     * @param cle Le chemin absolu du fichier.
+     * @param entree Le modèle et la date de modification du fichier.
+     */
+    private synchronized void conserver(Path cle, Entree entree) {
+
+        Entree ancienne = entrees.remove(cle);
+        if (ancienne != null) {
+            memoireUtilisee -= ancienne.modele.getTailleMemoire();
+        }
+        long taille = entree.modele.getTailleMemoire();
+        if (taille > budgetMemoire) {
+            return;
+        }
+        entrees.put(cle, entree);
+        memoireUtilisee += taille;
+        Iterator<Map.Entry<Path, Entree>> iterateur = entrees.entrySet().iterator();
+        while (memoireUtilisee > budgetMemoire) {
+            memoireUtilisee -= iterateur.next().getValue().modele.getTailleMemoire();
+            iterateur.remove();
+        }
+
+    }
+
+    /**
+     * Getter afin de récupérer la mémoire maximale occupée par les modèles conservés.
+     * @return Le budget en octets.
+     */
+    protected long getBudgetMemoire() { return budgetMemoire; }
+
+    /**
+     * Getter afin de récupérer la mémoire occupée par les modèles conservés.
+     * @return La mémoire estimée en octets.
+     */
+    protected synchronized long getMemoireUtilisee() { return memoireUtilisee; }
+
+    /**
+     * Getter afin de récupérer le nombre de modèles conservés.
+     * @return Le nombre de modèles.
+     */
+    protected synchronized int getNombreDeModeles() { return entrees.size(); }
+
+    /**
+     * Getter afin de récupérer le nombre de modèles trouvés dans le cache.
+     * @return Le nombre de lectures évitées.
+     */
+    protected synchronized long getSucces() { return succes; }
+
+    /**
+     * Getter afin de récupérer le nombre de modèles qui ont dû être lus.
+     * @return Le nombre de lectures de fichier.
+     */
+    protected synchronized long getEchecs() { return echecs; }
+
+    /**
+     * Une Entree associe un modèle décodé à la date de modification de son fichier au moment de la lecture.
+     */
+    private static final class Entree {
+
+        /** Le modèle décodé. */
+        private final Modele modele;
+        /** La date de modification du fichier lu. */
+        private final FileTime dateModification;
+
+        /**
+         * Constructeur d'une entrée du cache.
+         * @param modele Le modèle décodé.
+         * @param dateModification La date de modification du fichier lu.
+         */
+        private Entree(Modele modele, FileTime dateModification) {
+
+            this.modele = modele;
+            this.dateModification = dateModification;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,97 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+/**
+ * Le DetecteurDeCycles reconnaît les structures stables et périodiques à partir des empreintes des générations successives d'un automate.
+ * Il conserve les empreintes des dernières générations dans un historique circulaire de taille bornée,
+ * doublé d'une table de comptage permettant de savoir en temps constant si une empreinte y figure déjà.
+ * Une génération dont l'empreinte a déjà été rencontrée P générations plus tôt indique un cycle de période P,
+ * une période de 1 correspondant à une structure stable. Les cycles plus longs que l'historique ne sont pas détectés.
+ * @author Velki0
+ * @version 1.0
+ */
+public class DetecteurDeCycles {
+
+    /** Empreintes des dernières générations, rangées de façon circulaire. */
+    private final long[] empreintes;
+    /** Numéro de la génération associée à chaque empreinte de l'historique. */
+    private final long[] generations;
+    /** Nombre d'occurrences dans l'historique de chaque empreinte. */
+    private final TableHachageLong occurrences;
+    /** Nombre d'empreintes présentes dans l'historique. */
+    private int nombre;
+    /** Case de l'historique où sera rangée la prochaine empreinte, qui contient la plus ancienne une fois l'historique plein. */
+    private int prochaine;
+    /** Période détectée lors du dernier enregistrement, 0 si la génération n'avait pas encore été rencontrée. */
+    private long periode;
+
+    /**
+     * Constructeur d'un détecteur à l'historique vide.
+     * @param capacite Nombre de générations conservées, c'est-à-dire la plus longue période détectable.
+     */
+    protected DetecteurDeCycles(int capacite) {
+
+        empreintes = new long[capacite];
+        generations = new long[capacite];
+        occurrences = new TableHachageLong(capacite);
+
+    }
+
+    /**
+     * Méthode enregistrant l'empreinte d'une nouvelle génération et recherchant cette empreinte parmi les générations précédentes.
+     * La recherche dans l'historique n'a lieu que si la table de comptage indique que l'empreinte y figure,
+     * le coût d'un enregistrement est donc constant tant qu'aucun cycle n'est atteint.
+     * @param generation Numéro de la génération, supérieur à celui de la génération enregistrée précédemment.
+     * @param empreinte Empreinte de la génération.
+     * @return La période du cycle atteint, 1 pour une structure stable, 0 si la génération n'avait pas encore été rencontrée.
+     */
+    protected long enregistrer(long generation, long empreinte) {
+
+        periode = 0;
+        if (occurrences.contient(empreinte)) {
+            // L'occurrence la plus récente donne la plus petite période.
+            for (int recul = 1; recul <= nombre; recul++) {
+                int index = Math.floorMod(prochaine - recul, empreintes.length);
+                if (empreintes[index] == empreinte) {
+                    periode = generation - generations[index];
+                    break;
+                }
+            }
+        }
+        if (nombre == empreintes.length) {
+            // L'historique est plein, la plus ancienne empreinte est oubliée.
+            long ancienne = empreintes[prochaine];
+            if (occurrences.lire(ancienne) > 1) {
+                occurrences.ajouter(ancienne, -1);
+            } else {
+                occurrences.retirer(ancienne);
+            }
+        } else {
+            nombre++;
+        }
+        empreintes[prochaine] = empreinte;
+        generations[prochaine] = generation;
+        occurrences.ajouter(empreinte, 1);
+        prochaine = (prochaine + 1) % empreintes.length;
+        return periode;
+
+    }
+
+    /**
+     * Méthode vidant l'historique, à appeler dès que l'automate est modifié autrement qu'en calculant sa génération suivante.
+     */
+    protected void oublier() {
+
+        occurrences.vider();
+        nombre = 0;
+        prochaine = 0;
+        periode = 0;
+
+    }
+
+    /**
+     * Getter afin de récupérer la période détectée lors du dernier enregistrement.
+     * @return La période du cycle atteint, 1 pour une structure stable, 0 si aucun cycle n'a été détecté.
+     */
+    protected long getPeriode() { return periode; }
+
+}
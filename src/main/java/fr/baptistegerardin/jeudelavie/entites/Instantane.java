@@ -0,0 +1,112 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+/**
+ * Un Instantane est une photographie immuable de l'état d'une simulation : numéro de génération, cycle éventuellement atteint, population,
+ * taille de la grille et paramètres de calcul.
+ * Le fil de simulation en publie un nouveau après chaque génération, l'interface graphique peut ainsi le lire à tout moment sans verrou
+ * et sans jamais observer un état à moitié modifié.
+ * @author Velki0
+ * @version 1.0
+ */
+public final class Instantane {
+
+    /** Numéro de la génération. */
+    private final long generation;
+    /** Période du cycle atteint, 1 pour une structure stable, 0 si aucun cycle n'a été détecté. */
+    private final long periode;
+    /** Nombre de cellules vivantes. */
+    private final long population;
+    /** Nombre de lignes totales de la grille. */
+    private final int lignesTotales;
+    /** Nombre de colonnes totales de la grille. */
+    private final int colonnesTotales;
+    /** Moteur de calcul utilisé. */
+    private final TypeAutomate typeAutomate;
+    /** Règle de naissance et de survie suivie. */
+    private final Regle regle;
+    /** Nombre de fils d'exécution utilisés pour calculer une génération. */
+    private final int nombreDeFils;
+    /** Comportement de l'automate aux bords de la grille. */
+    private final Topologie topologie;
+
+    /**
+     * Constructeur d'un instantané.
+     * @param generation Numéro de la génération.
+     * @param periode Période du cycle atteint, 1 pour une structure stable, 0 si aucun cycle n'a été détecté.
+     * @param population Nombre de cellules vivantes.
+     * @param lignesTotales Nombre de lignes totales de la grille.
+     * @param colonnesTotales Nombre de colonnes totales de la grille.
+     * @param typeAutomate Moteur de calcul utilisé.
+     * @param regle Règle de naissance et de survie suivie.
+     * @param nombreDeFils Nombre de fils d'exécution utilisés pour calculer une génération.
+     * @param topologie Comportement de l'automate aux bords de la grille.
+     */
+    protected Instantane(long generation, long periode, long population, int lignesTotales, int colonnesTotales, TypeAutomate typeAutomate, Regle regle, int nombreDeFils, Topologie topologie) {
+
+        this.generation = generation;
+        this.periode = periode;
+        this.population = population;
+        this.lignesTotales = lignesTotales;
+        this.colonnesTotales = colonnesTotales;
+        this.typeAutomate = typeAutomate;
+        this.regle = regle;
+        this.nombreDeFils = nombreDeFils;
+        this.topologie = topologie;
+
+    }
+
+    /**
+     * Getter afin de récupérer le numéro de la génération.
+     * @return Le numéro de la génération.
+     */
+    protected long getGeneration() { return generation; }
+
+    /**
+     * Getter afin de récupérer la période du cycle atteint par la génération.
+     * @return La période du cycle, 1 pour une structure stable, 0 si aucun cycle n'a été détecté.
+     */
+    protected long getPeriode() { return periode; }
+
+    /**
+     * Getter afin de récupérer le nombre de cellules vivantes.
+     * @return La population.
+     */
+    protected long getPopulation() { return population; }
+
+    /**
+     * Getter afin de récupérer le nombre de lignes totales de la grille.
+     * @return Le nombre de lignes.
+     */
+    protected int getLignesTotales() { return lignesTotales; }
+
+    /**
+     * Getter afin de récupérer le nombre de colonnes totales de la grille.
+     * @return Le nombre de colonnes.
+     */
+    protected int getColonnesTotales() { return colonnesTotales; }
+
+    /**
+     * Getter afin de récupérer le moteur de calcul utilisé.
+     * @return Le type d'automate.
+     */
+    protected TypeAutomate getTypeAutomate() { return typeAutomate; }
+
+    /**
+     * Getter afin de récupérer la règle de naissance et de survie suivie.
+     * @return La règle de la simulation.
+     */
+    protected Regle getRegle() { return regle; }
+
+    /**
+     * Getter afin de récupérer le nombre de fils d'exécution utilisés pour calculer une génération.
+     * @return Le nombre de fils d'exécution.
+     */
+    protected int getNombreDeFils() { return nombreDeFils; }
+
+    /**
+     * Getter afin de récupérer le comportement de l'automate aux bords de la grille.
+     * @return La topologie de la simulation.
+     */
+    protected Topologie getTopologie() { return topologie; }
+
+}
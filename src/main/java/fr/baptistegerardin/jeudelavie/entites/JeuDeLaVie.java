@@ -1,11 +1,15 @@
 package fr.baptistegerardin.jeudelavie.entites;
 
 import fr.baptistegerardin.jeudelavie.exceptions.ModeleRenseigneNonConforme;
+import fr.baptistegerardin.jeudelavie.exceptions.RegleNonConforme;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JCheckBoxMenuItem;
+import javax.swing.JComboBox;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -14,24 +18,49 @@ import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
 import javax.swing.JSlider;
 import javax.swing.JSpinner;
+import javax.swing.JTable;
+import javax.swing.JTextArea;
+import javax.swing.JTextField;
+import javax.swing.KeyStroke;
+import javax.swing.ListSelectionModel;
+import javax.swing.ProgressMonitor;
 import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.DefaultTableModel;
+import java.awt.BorderLayout;
 import java.awt.Component;
+import java.awt.Cursor;
 import java.awt.Desktop;
 import java.awt.Dimension;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
-import java.awt.Toolkit;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.IOException;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Représentation du Jeu de la Vie de Conway
@@ -39,32 +68,47 @@ import java.nio.file.Paths;
  * <a href="https://fr.wikipedia.org/wiki/Jeu_de_la_vie">Jeu de la Vie - Wikipédia</a>.
  * La classe JeuDeLaVie est une interface graphique proposant l'affichage du jeu et plusieurs options pour l'utilisateur.
  * Parmi ces options, nous pouvons retrouver :
- * - La création d'une table aux dimensions précisées par l'utilisateur (suivant la taille son écran).
- * - Le chargement d'un modèle prédéfini grâce à l'ouverture d'un fichier .rle ou .txt.
- * - Le changement des paramètres de taille des cellules et de la vitesse d'actualisation du jeu.
+ * - La création d'une table aux dimensions précisées par l'utilisateur, parcourue par défilement si elle dépasse l'écran.
+ * - Le chargement d'un modèle prédéfini grâce à l'ouverture d'un fichier .rle ou .txt, lu en arrière-plan avec une fenêtre de progression permettant de l'annuler.
+ * - La consultation d'une bibliothèque de modèles (nom, taille, règle, population, commentaires), les modèles récemment ouverts restant décodés en mémoire.
+ * - L'enregistrement et la restauration de l'état complet de la simulation dans un fichier binaire .jdlv, et l'export au format .rle.
+ * - Le changement des paramètres de taille des cellules, de la vitesse d'actualisation et du moteur de calcul du jeu.
  * - Rendre le tableau de jeu actuel aléatoire.
- * - Mettre en marche et mettre pause au défilement des générations.
+ * - Mettre en marche et mettre pause au défilement des générations, ou avancer génération par génération.
+ * - Signaler les structures stables et périodiques, et mettre le jeu en pause dès qu'elles sont atteintes.
+ * - Journaliser les mesures de chaque génération (population, naissances, morts, durées) dans un fichier .csv.
+ * - Atteindre directement une génération ultérieure.
+ * - Agrandir ou réduire le zoom, jusqu'à représenter plusieurs cellules par pixel.
  * @author Velki0
  * @version 1.0
  */
 public class JeuDeLaVie extends JFrame implements ActionListener {
 
+    /** Nombre maximal de lignes et de colonnes d'une nouvelle grille, quel que soit le moteur. */
+    private static final int TAILLE_GRILLE_MAXIMALE = 50000;
+    /** Part de la mémoire maximale de la machine virtuelle que peuvent occuper les modèles décodés conservés en cache. */
+    private static final int PART_MEMOIRE_CACHE = 8;
+
     /** Barre de menu du jeu. */
     private final JMenuBar barreDeMenu;
     /** Onglet du menu du jeu. */
-    private final JMenu menuFichier, menuJeu, menuAide;
+    private final JMenu menuFichier, menuJeu, menuAffichage, menuAide;
     /** Option contenue dans l'onglet 'Fichier'. */
-    private final JMenuItem menuFichierNouvelleGrille, menuFichierOuvrir, menuFichierOptions, menuFichierQuitter;
+    private final JMenuItem menuFichierNouvelleGrille, menuFichierOuvrir, menuFichierBibliotheque, menuFichierEnregistrer, menuFichierExporter, menuFichierOptions, menuFichierQuitter;
+    /** Option de l'onglet 'Fichier' activant ou désactivant le journal des mesures. */
+    private final JCheckBoxMenuItem menuFichierJournal;
     /** Option contenue dans l'onglet 'Jeu'. */
-    private final JMenuItem menuJeuAutoRemplissage, menuJeuStart, menuJeuStop, menuJeuReset;
+    private final JMenuItem menuJeuAutoRemplissage, menuJeuStart, menuJeuStop, menuJeuPasAPas, menuJeuAllerA, menuJeuReset;
+    /** Option contenue dans l'onglet 'Affichage'. */
+    private final JMenuItem menuAffichageZoomAvant, menuAffichageZoomArriere;
     /** Option contenue dans l'onglet 'Aide'. */
     private final JMenuItem menuAideSource, menuAideAPropos;
     /** Affichage graphique permettant d'informer l'utilisateur sur le numéro de la génération en cours. */
     private static final JLabel generationLabel = new JLabel("Génération : ");
     /** Le plateau de jeu. */
     private final PlateauDeJeu plateauDeJeu;
-    /** Paramètre de mise en marche. */
-    private Thread jeu;
+    /** Modèles récemment ouverts ou indexés, conservés décodés. */
+    private final CacheDeModeles cacheDeModeles = new CacheDeModeles(Runtime.getRuntime().maxMemory() / PART_MEMOIRE_CACHE);
 
     /**
      * Constructeur de l'affichage graphique de l'application.
@@ -77,39 +121,67 @@ public class JeuDeLaVie extends JFrame implements ActionListener {
         barreDeMenu = new JMenuBar();
         menuFichier = new JMenu("Fichier");
         menuJeu = new JMenu("Jeu");
+        menuAffichage = new JMenu("Affichage");
         menuAide = new JMenu("Aide");
         menuFichierNouvelleGrille = new JMenuItem("Nouvelle Grille");
         menuFichierOuvrir = new JMenuItem("Ouvrir ...");
+        menuFichierBibliotheque = new JMenuItem("Bibliothèque de modèles ...");
+        menuFichierEnregistrer = new JMenuItem("Enregistrer l'état (.jdlv) ...");
+        menuFichierExporter = new JMenuItem("Exporter au format .rle ...");
         menuFichierOptions = new JMenuItem("Options");
+        menuFichierJournal = new JCheckBoxMenuItem("Journal des mesures (.csv) ...");
         menuFichierQuitter = new JMenuItem("Quitter");
         menuJeuAutoRemplissage = new JMenuItem("Auto remplissage");
         menuJeuStart = new JMenuItem("Start");
         menuJeuStop = new JMenuItem("Stop");
+        menuJeuPasAPas = new JMenuItem("Génération suivante");
+        menuJeuAllerA = new JMenuItem("Aller à la génération ...");
         menuJeuReset = new JMenuItem("Reset");
+        menuAffichageZoomAvant = new JMenuItem("Zoom avant");
+        menuAffichageZoomAvant.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_ADD, InputEvent.CTRL_DOWN_MASK));
+        menuAffichageZoomArriere = new JMenuItem("Zoom arrière");
+        menuAffichageZoomArriere.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_SUBTRACT, InputEvent.CTRL_DOWN_MASK));
         menuAideSource = new JMenuItem("Source");
         menuAideAPropos = new JMenuItem("A Propos");
         setJMenuBar(barreDeMenu);
         barreDeMenu.add(menuFichier);
         barreDeMenu.add(menuJeu);
+        barreDeMenu.add(menuAffichage);
         barreDeMenu.add(menuAide);
         menuFichier.add(menuFichierNouvelleGrille);
         menuFichier.add(menuFichierOuvrir);
+        menuFichier.add(menuFichierBibliotheque);
+        menuFichier.add(menuFichierEnregistrer);
+        menuFichier.add(menuFichierExporter);
         menuFichier.add(menuFichierOptions);
+        menuFichier.add(menuFichierJournal);
         menuFichier.add(menuFichierQuitter);
         menuJeu.add(menuJeuAutoRemplissage);
         menuJeu.add(menuJeuStart);
         menuJeu.add(menuJeuStop);
+        menuJeu.add(menuJeuPasAPas);
+        menuJeu.add(menuJeuAllerA);
         menuJeu.add(menuJeuReset);
+        menuAffichage.add(menuAffichageZoomAvant);
+        menuAffichage.add(menuAffichageZoomArriere);
         menuAide.add(menuAideSource);
         menuAide.add(menuAideAPropos);
         menuFichierNouvelleGrille.addActionListener(this);
         menuFichierOuvrir.addActionListener(this);
+        menuFichierBibliotheque.addActionListener(this);
+        menuFichierEnregistrer.addActionListener(this);
+        menuFichierExporter.addActionListener(this);
         menuFichierOptions.addActionListener(this);
+        menuFichierJournal.addActionListener(this);
         menuFichierQuitter.addActionListener(this);
         menuJeuAutoRemplissage.addActionListener(this);
         menuJeuStart.addActionListener(this);
         menuJeuStop.addActionListener(this);
+        menuJeuPasAPas.addActionListener(this);
+        menuJeuAllerA.addActionListener(this);
         menuJeuReset.addActionListener(this);
+        menuAffichageZoomAvant.addActionListener(this);
+        menuAffichageZoomArriere.addActionListener(this);
         menuAideSource.addActionListener(this);
         menuAideAPropos.addActionListener(this);
         menuJeuStop.setEnabled(false);
@@ -125,16 +197,25 @@ public class JeuDeLaVie extends JFrame implements ActionListener {
         contraintes.gridy = 0;
         panneauCentral.add(generationLabel, contraintes);
 
-        // Ajout du plateau de cellules.
+        // Ajout du plateau de cellules dans une zone de défilement, pour les grilles plus grandes que l'écran.
         plateauDeJeu = new PlateauDeJeu();
         contraintes.gridy = 1;
-        panneauCentral.add(plateauDeJeu, contraintes);
+        panneauCentral.add(new JScrollPane(plateauDeJeu), contraintes);
+        // Le plateau se met de lui-même en pause lorsqu'il atteint un cycle, les menus suivent alors son état.
+        plateauDeJeu.addPropertyChangeListener("enMarche", evenement -> mettreLeJeuEnMarche(false));
         panneauCentral.setAlignmentX(Component.CENTER_ALIGNMENT);
         add(panneauCentral);
 
+        // Le journal des mesures est fermé à la fermeture de la fenêtre afin que ses dernières lignes soient écrites, l'application s'arrêtant ensuite.
+        addWindowListener(new WindowAdapter() {
+
+            @Override
+            public void windowClosing(WindowEvent evenement) { quitter(); }
+
+        });
+
         // Fin de l'initialisation.
         pack();
-        jeu = new Thread(plateauDeJeu);
 
     }
 
@@ -147,13 +228,52 @@ public class JeuDeLaVie extends JFrame implements ActionListener {
         if (marche) {
             menuJeuStart.setEnabled(false);
             menuJeuStop.setEnabled(true);
-            jeu = new Thread(plateauDeJeu);
-            jeu.start();
+            menuJeuPasAPas.setEnabled(false);
         } else {
             menuJeuStart.setEnabled(true);
             menuJeuStop.setEnabled(false);
-            jeu.interrupt();
+            menuJeuPasAPas.setEnabled(true);
         }
+        plateauDeJeu.setEnMarche(marche);
+
+    }
+
+    /**
+     * Méthode arrêtant l'application une fois le journal des mesures fermé par la tâche de simulation.
+     */
+    private void quitter() { plateauDeJeu.fermerJournal().whenComplete((resultat, erreur) -> System.exit(0)); }
+
+    /**
+     * Méthode renvoyant le libellé de la vitesse d'actualisation affiché dans les options.
+     * @param vitesse Vitesse d'actualisation en millisecondes (ms).
+     * @return Le libellé de la vitesse.
+     */
+    private static String libelleVitesse(int vitesse) { return vitesse == 0 ? "Vitesse : pleine vitesse" : "Vitesse : " + vitesse + " ms"; }
+
+    /**
+     * Méthode décrivant à l'utilisateur l'échec d'une commande du plateau de jeu.
+     * @param erreur Erreur reçue par une étape enchaînée au résultat de la commande.
+     * @return Le message de l'exception jetée par la commande, ou à défaut son nom.
+     */
+    private static String decrireEchec(Throwable erreur) {
+
+        Throwable cause = PlateauDeJeu.cause(erreur);
+        return cause.getMessage() != null ? cause.getMessage() : cause.toString();
+
+    }
+
+    /**
+     * Méthode ouvrant la fenêtre du jeu.
+     * Le lanceur de l'application passe par cette méthode afin de ne charger aucune classe graphique en mode sans interface.
+     */
+    public static void lancer() {
+
+        JFrame jeuDeLaVie = new JeuDeLaVie();
+        jeuDeLaVie.setTitle("Jeu de la Vie de Conway");
+        jeuDeLaVie.setLocationByPlatform(true);
+        jeuDeLaVie.setResizable(false);
+        jeuDeLaVie.setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
+        jeuDeLaVie.setVisible(true);
 
     }
 
@@ -166,14 +286,10 @@ public class JeuDeLaVie extends JFrame implements ActionListener {
     @Override
     public void actionPerformed(ActionEvent evenement) {
 
-        // Mise en place d'une hauteur et une largeur maximales pour l'affichage en fonction de l'écran de l'utilisateur.
-        int hauteurMax = (Math.round((float) Toolkit.getDefaultToolkit().getScreenSize().height / 100) * 100) - 200;
-        int largeurMax = (Math.round((float) Toolkit.getDefaultToolkit().getScreenSize().width / 100) * 100) - 100;
-
         if (evenement.getSource() == menuFichierNouvelleGrille) {
 
             // Création d'une nouvelle grille vierge de taille renseignée par l'utilisateur.
-            if (jeu.isAlive()) {
+            if (plateauDeJeu.isEnMarche()) {
                 mettreLeJeuEnMarche(false);
             }
             final JFrame fenetreNouvelleGrille = new JFrame();
@@ -182,17 +298,19 @@ public class JeuDeLaVie extends JFrame implements ActionListener {
             JPanel panneauNouvelleGrille = new JPanel();
             panneauNouvelleGrille.setLayout(new BoxLayout(panneauNouvelleGrille, BoxLayout.Y_AXIS));
             fenetreNouvelleGrille.add(panneauNouvelleGrille);
-            final JLabel labelOptions = new JLabel("<html><body style='text-align:center;'>Option de la nouvelle Grille<br>La taille maximale dépend de votre taille d'écran et de la taille des cellules.</body></html>");
+            final JLabel labelOptions = new JLabel("<html><body style='text-align:center;'>Option de la nouvelle Grille<br>Une grille plus grande que l'écran se parcourt par défilement et par zoom.</body></html>");
             labelOptions.setAlignmentX(Component.CENTER_ALIGNMENT);
-            final JLabel labelLignes = new JLabel("Nombre le lignes (" + (hauteurMax / plateauDeJeu.getTailleCellules()) + " max) : ");
+            // La taille proposée est bornée par le moteur en cours, les moteurs à un octet par cellule ne pouvant pas dépasser la taille d'un tableau.
+            final int tailleMaximale = Math.min(TAILLE_GRILLE_MAXIMALE, plateauDeJeu.getTypeAutomate().getCoteMaximal());
+            final JLabel labelLignes = new JLabel("Nombre le lignes (" + tailleMaximale + " max) : ");
             labelLignes.setAlignmentX(Component.CENTER_ALIGNMENT);
-            final JLabel labelColonnes = new JLabel("Nombre de colonnes (" + (largeurMax / plateauDeJeu.getTailleCellules()) + " max) : ");
+            final JLabel labelColonnes = new JLabel("Nombre de colonnes (" + tailleMaximale + " max) : ");
             labelColonnes.setAlignmentX(Component.CENTER_ALIGNMENT);
             Dimension dimensionSpinners = new Dimension(50, 20);
-            final JSpinner spinnerNouvelleGrilleHauteur = new JSpinner(new SpinnerNumberModel(100, 20, hauteurMax, 1));
+            final JSpinner spinnerNouvelleGrilleHauteur = new JSpinner(new SpinnerNumberModel(100, 20, tailleMaximale, 1));
             spinnerNouvelleGrilleHauteur.setAlignmentX(Component.CENTER_ALIGNMENT);
             spinnerNouvelleGrilleHauteur.setMaximumSize(dimensionSpinners);
-            final JSpinner spinnerNouvelleGrilleLargeur = new JSpinner(new SpinnerNumberModel(100, 20, largeurMax, 1));
+            final JSpinner spinnerNouvelleGrilleLargeur = new JSpinner(new SpinnerNumberModel(100, 20, tailleMaximale, 1));
             spinnerNouvelleGrilleLargeur.setAlignmentX(Component.CENTER_ALIGNMENT);
             spinnerNouvelleGrilleLargeur.setMaximumSize(dimensionSpinners);
             final JButton creerNouvelleGrille = new JButton("Créer la nouvelle Grille");
@@ -210,42 +328,22 @@ public class JeuDeLaVie extends JFrame implements ActionListener {
             panneauNouvelleGrille.add(creerNouvelleGrille);
             panneauNouvelleGrille.setBorder(BorderFactory.createLineBorder(panneauNouvelleGrille.getBackground(), 10));
 
-            spinnerNouvelleGrilleHauteur.addChangeListener(new ChangeListener() {
-
-                @Override
-                public void stateChanged(ChangeEvent e) {
-
-                    // Protection pour que l'utilisateur ne renseigne pas une hauteur trop grande qui rendrait l'application plus grande que l'écran.
-                    if ((int) spinnerNouvelleGrilleHauteur.getValue() * plateauDeJeu.getTailleCellules() > hauteurMax) {
-                        spinnerNouvelleGrilleHauteur.setValue(hauteurMax / plateauDeJeu.getTailleCellules());
-                    }
-
-                }
-
-            });
-
-            spinnerNouvelleGrilleLargeur.addChangeListener(new ChangeListener() {
-
-                @Override
-                public void stateChanged(ChangeEvent e) {
-
-                    // Protection pour que l'utilisateur ne renseigne pas une largeur trop grande qui rendrait l'application plus grande que l'écran.
-                    if ((int) spinnerNouvelleGrilleLargeur.getValue() * plateauDeJeu.getTailleCellules() > largeurMax) {
-                        spinnerNouvelleGrilleLargeur.setValue(largeurMax / plateauDeJeu.getTailleCellules());
-                    }
-
-                }
-
-            });
-
             creerNouvelleGrille.addActionListener(new ActionListener() {
 
                 @Override
                 public void actionPerformed(ActionEvent evenement) {
 
-                    plateauDeJeu.rearrangerGrille((int) spinnerNouvelleGrilleHauteur.getValue(), (int) spinnerNouvelleGrilleLargeur.getValue());
-                    pack();
-                    fenetreNouvelleGrille.dispose();
+                    // La fenêtre reste ouverte tant que la grille n'est pas créée, afin de pouvoir choisir une autre taille en cas d'échec.
+                    creerNouvelleGrille.setEnabled(false);
+                    plateauDeJeu.rearrangerGrille((int) spinnerNouvelleGrilleHauteur.getValue(), (int) spinnerNouvelleGrilleLargeur.getValue()).whenComplete((resultat, erreur) -> {
+                        if (erreur != null) {
+                            JOptionPane.showMessageDialog(fenetreNouvelleGrille, "La grille ne peut pas être créée\n" + decrireEchec(erreur));
+                            creerNouvelleGrille.setEnabled(true);
+                            return;
+                        }
+                        pack();
+                        fenetreNouvelleGrille.dispose();
+                    });
 
                 }
 
@@ -257,31 +355,66 @@ public class JeuDeLaVie extends JFrame implements ActionListener {
 
         } else if (evenement.getSource().equals(menuFichierOuvrir)) {
 
-            // Permettre l'ouverture d'un modèle prédéfini sous le format .rle ou .txt.
-            if (jeu.isAlive()) {
+            // Permettre l'ouverture d'un modèle prédéfini sous le format .rle ou .txt, ou d'une sauvegarde .jdlv.
+            if (plateauDeJeu.isEnMarche()) {
                 mettreLeJeuEnMarche(false);
             }
             JFileChooser chooser = new JFileChooser(System.getProperty("user.home") + "/Desktop");
-            FileNameExtensionFilter filtre = new FileNameExtensionFilter("Fichiers .RLE et .TXT", "rle", "txt");
+            FileNameExtensionFilter filtre = new FileNameExtensionFilter("Fichiers .RLE, .TXT et .JDLV", "rle", "txt", Sauvegarde.EXTENSION);
             chooser.setDialogTitle("Choisissez un modèle : ");
             chooser.setFileFilter(filtre);
             int valeurRetourne = chooser.showOpenDialog(null);
             if (valeurRetourne == JFileChooser.APPROVE_OPTION) {
+                // Le fichier est lu en arrière-plan, l'option est désactivée jusqu'à la fin de la lecture.
                 try {
-                    plateauDeJeu.chargerModele(Paths.get(chooser.getSelectedFile().getPath()));
-                    pack();
+                    new Chargement(Paths.get(chooser.getSelectedFile().getPath())).execute();
+                    menuFichierOuvrir.setEnabled(false);
                 } catch (IOException e) {
                     JOptionPane.showMessageDialog(null, "Le fichier renseigné est introuvable");
-                } catch (ModeleRenseigneNonConforme e) {
-                    System.err.println(e.getMessage());
-                    JOptionPane.showMessageDialog(null, "Le modèle renseigné est non-conforme, veuillez choisir un fichier .rle ou .txt avec le bon formatage de données\n" + e.getMessage());
                 }
             }
 
+        } else if (evenement.getSource().equals(menuFichierBibliotheque)) {
+
+            // Indexer en arrière-plan les modèles d'un dossier, puis les présenter dans une fenêtre d'où les ouvrir.
+            if (plateauDeJeu.isEnMarche()) {
+                mettreLeJeuEnMarche(false);
+            }
+            JFileChooser chooser = new JFileChooser(System.getProperty("user.home") + "/Desktop");
+            chooser.setDialogTitle("Choisissez le dossier de la bibliothèque : ");
+            chooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+            if (chooser.showOpenDialog(null) == JFileChooser.APPROVE_OPTION) {
+                new Indexation(Paths.get(chooser.getSelectedFile().getPath())).execute();
+                menuFichierBibliotheque.setEnabled(false);
+            }
+
+        } else if (evenement.getSource().equals(menuFichierEnregistrer) || evenement.getSource().equals(menuFichierExporter)) {
+
+            // Permettre l'enregistrement de l'état complet au format .jdlv, ou l'export de la génération en cours au format .rle.
+            boolean sauvegarde = evenement.getSource().equals(menuFichierEnregistrer);
+            String extension = sauvegarde ? Sauvegarde.EXTENSION : "rle";
+            if (plateauDeJeu.isEnMarche()) {
+                mettreLeJeuEnMarche(false);
+            }
+            JFileChooser chooser = new JFileChooser(System.getProperty("user.home") + "/Desktop");
+            chooser.setDialogTitle("Choisissez le fichier à enregistrer : ");
+            chooser.setFileFilter(new FileNameExtensionFilter("Fichiers ." + extension.toUpperCase(Locale.ROOT), extension));
+            if (chooser.showSaveDialog(null) == JFileChooser.APPROVE_OPTION) {
+                String nom = chooser.getSelectedFile().getPath();
+                Path chemin = Paths.get(nom.toLowerCase(Locale.ROOT).endsWith("." + extension) ? nom : nom + "." + extension);
+                // Seule la génération en cours est photographiée par la simulation, le fichier est écrit en arrière-plan
+                // et les deux options sont désactivées jusqu'à la fin de l'écriture.
+                plateauDeJeu.photographier().thenAccept(photographie -> {
+                    new Enregistrement(chemin, photographie, !sauvegarde).execute();
+                    menuFichierEnregistrer.setEnabled(false);
+                    menuFichierExporter.setEnabled(false);
+                });
+            }
+
         } else if (evenement.getSource().equals(menuFichierOptions)) {
 
             // Permettre le changement de la taille des pixels et la vitesse d'actualisation.
-            if (jeu.isAlive()) {
+            if (plateauDeJeu.isEnMarche()) {
                 mettreLeJeuEnMarche(false);
             }
             final JFrame fenetreOptions = new JFrame();
@@ -306,8 +439,30 @@ public class JeuDeLaVie extends JFrame implements ActionListener {
             sliderVitesse.setMajorTickSpacing(100);
             sliderVitesse.setMinorTickSpacing(50);
             sliderVitesse.setAlignmentX(Component.CENTER_ALIGNMENT);
-            final JLabel sliderVitesseLabel = new JLabel("Vitesse : " + sliderVitesse.getValue() + " ms");
+            final JLabel sliderVitesseLabel = new JLabel(libelleVitesse(sliderVitesse.getValue()));
             sliderVitesseLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+            final JLabel comboMoteurLabel = new JLabel("Moteur de calcul : ");
+            comboMoteurLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+            final JComboBox<TypeAutomate> comboMoteur = new JComboBox<>(TypeAutomate.values());
+            comboMoteur.setSelectedItem(plateauDeJeu.getTypeAutomate());
+            comboMoteur.setAlignmentX(Component.CENTER_ALIGNMENT);
+            final JLabel champRegleLabel = new JLabel("Règle (naissance / survie) : ");
+            champRegleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+            final JTextField champRegle = new JTextField(plateauDeJeu.getRegle().toString(), 12);
+            champRegle.setAlignmentX(Component.CENTER_ALIGNMENT);
+            champRegle.setMaximumSize(new Dimension(150, 20));
+            final JLabel comboTopologieLabel = new JLabel("Bords de la grille : ");
+            comboTopologieLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+            final JComboBox<Topologie> comboTopologie = new JComboBox<>(Topologie.values());
+            comboTopologie.setSelectedItem(plateauDeJeu.getTopologie());
+            comboTopologie.setAlignmentX(Component.CENTER_ALIGNMENT);
+            final JLabel spinnerFilsLabel = new JLabel("Fils de calcul : ");
+            spinnerFilsLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+            final JSpinner spinnerFils = new JSpinner(new SpinnerNumberModel(plateauDeJeu.getNombreDeFils(), 1, Runtime.getRuntime().availableProcessors(), 1));
+            spinnerFils.setAlignmentX(Component.CENTER_ALIGNMENT);
+            spinnerFils.setMaximumSize(new Dimension(50, 20));
+            final JCheckBox casePauseSurCycle = new JCheckBox("Pause sur une structure stable ou périodique", plateauDeJeu.isPauseSurCycle());
+            casePauseSurCycle.setAlignmentX(Component.CENTER_ALIGNMENT);
             final JButton changerOptions = new JButton("Sauvegarder");
             changerOptions.setAlignmentX(Component.CENTER_ALIGNMENT);
             panneauOptions.add(sliderTailleCellulesLabel);
@@ -318,6 +473,24 @@ public class JeuDeLaVie extends JFrame implements ActionListener {
             panneauOptions.add(Box.createRigidArea(new Dimension(0, 3)));
             panneauOptions.add(sliderVitesse);
             panneauOptions.add(Box.createRigidArea(new Dimension(0, 10)));
+            panneauOptions.add(comboMoteurLabel);
+            panneauOptions.add(Box.createRigidArea(new Dimension(0, 3)));
+            panneauOptions.add(comboMoteur);
+            panneauOptions.add(Box.createRigidArea(new Dimension(0, 10)));
+            panneauOptions.add(champRegleLabel);
+            panneauOptions.add(Box.createRigidArea(new Dimension(0, 3)));
+            panneauOptions.add(champRegle);
+            panneauOptions.add(Box.createRigidArea(new Dimension(0, 10)));
+            panneauOptions.add(comboTopologieLabel);
+            panneauOptions.add(Box.createRigidArea(new Dimension(0, 3)));
+            panneauOptions.add(comboTopologie);
+            panneauOptions.add(Box.createRigidArea(new Dimension(0, 10)));
+            panneauOptions.add(spinnerFilsLabel);
+            panneauOptions.add(Box.createRigidArea(new Dimension(0, 3)));
+            panneauOptions.add(spinnerFils);
+            panneauOptions.add(Box.createRigidArea(new Dimension(0, 10)));
+            panneauOptions.add(casePauseSurCycle);
+            panneauOptions.add(Box.createRigidArea(new Dimension(0, 10)));
             panneauOptions.add(changerOptions);
             panneauOptions.setBorder(BorderFactory.createLineBorder(panneauOptions.getBackground(), 10));
 
@@ -326,16 +499,10 @@ public class JeuDeLaVie extends JFrame implements ActionListener {
                 @Override
                 public void stateChanged(ChangeEvent e) {
 
-                    // Quelques protections pour que l'utilisateur ne renseigne pas une taille de cellule trop grande qui rendrait l'application plus grande que l'écran.
+                    // Protection pour que l'utilisateur ne renseigne pas une taille de cellule nulle, un plateau plus grand que l'écran défilant simplement.
                     if (sliderTailleCellules.getValue() < 1) {
                         sliderTailleCellules.setValue(1);
                     }
-                    if (sliderTailleCellules.getValue() > hauteurMax / plateauDeJeu.getHauteurPlateau()) {
-                        sliderTailleCellules.setValue(Math.round((float) hauteurMax / plateauDeJeu.getHauteurPlateau()) - 1);
-                    }
-                    if (sliderTailleCellules.getValue() > largeurMax / plateauDeJeu.getLargeurPlateau()) {
-                        sliderTailleCellules.setValue(Math.round((float) largeurMax / plateauDeJeu.getLargeurPlateau()) - 1);
-                    }
                     sliderTailleCellulesLabel.setText("Taille des cellules : " + sliderTailleCellules.getValue());
 
                 }
@@ -347,11 +514,8 @@ public class JeuDeLaVie extends JFrame implements ActionListener {
                 @Override
                 public void stateChanged(ChangeEvent e) {
 
-                    // Protection pour que l'utilisateur ne renseigne pas une vitesse d'actualisation trop petite.
-                    if (sliderVitesse.getValue() < 5) {
-                        sliderVitesse.setValue(5);
-                    }
-                    sliderVitesseLabel.setText("Vitesse : " + sliderVitesse.getValue() + " ms");
+                    // Une vitesse nulle calcule les générations à pleine vitesse, l'affichage restant limité à 60 images par seconde.
+                    sliderVitesseLabel.setText(libelleVitesse(sliderVitesse.getValue()));
 
                 }
 
@@ -362,10 +526,31 @@ public class JeuDeLaVie extends JFrame implements ActionListener {
                 @Override
                 public void actionPerformed(ActionEvent evenement) {
 
-                    plateauDeJeu.setTailleCellules(sliderTailleCellules.getValue());
-                    plateauDeJeu.setVitesseActualisation(sliderVitesse.getValue());
-                    pack();
-                    fenetreOptions.dispose();
+                    // La règle est vérifiée en premier afin de laisser la fenêtre ouverte si elle doit être corrigée.
+                    Regle regle;
+                    try {
+                        regle = Regle.analyser(champRegle.getText());
+                    } catch (RegleNonConforme e) {
+                        JOptionPane.showMessageDialog(fenetreOptions, "La règle renseignée est non-conforme\n" + e.getMessage());
+                        return;
+                    }
+                    changerOptions.setEnabled(false);
+                    plateauDeJeu.setMoteur((TypeAutomate) comboMoteur.getSelectedItem(), regle).whenComplete((resultat, erreur) -> {
+                        // Aucune autre option n'est appliquée si le moteur ou la règle est refusé, la fenêtre restant ouverte pour les corriger.
+                        if (erreur != null) {
+                            JOptionPane.showMessageDialog(fenetreOptions, PlateauDeJeu.cause(erreur) instanceof RegleNonConforme e
+                                    ? "La règle renseignée est non-conforme\n" + e.getMessage() : "Le moteur ne peut pas être changé\n" + decrireEchec(erreur));
+                            changerOptions.setEnabled(true);
+                            return;
+                        }
+                        plateauDeJeu.setTailleCellules(sliderTailleCellules.getValue());
+                        plateauDeJeu.setVitesseActualisation(sliderVitesse.getValue());
+                        plateauDeJeu.setNombreDeFils((int) spinnerFils.getValue());
+                        plateauDeJeu.setTopologie((Topologie) comboTopologie.getSelectedItem());
+                        plateauDeJeu.setPauseSurCycle(casePauseSurCycle.isSelected());
+                        pack();
+                        fenetreOptions.dispose();
+                    });
 
                 }
 
@@ -378,15 +563,52 @@ public class JeuDeLaVie extends JFrame implements ActionListener {
         } else if (evenement.getSource().equals(menuFichierQuitter)) {
 
             // Bouton Quitter.
-            System.exit(0);
+            quitter();
+
+        } else if (evenement.getSource().equals(menuFichierJournal)) {
+
+            // Journaliser les mesures de chaque génération dans un fichier .csv, ou arrêter la journalisation.
+            if (menuFichierJournal.isSelected()) {
+                JFileChooser chooser = new JFileChooser(System.getProperty("user.home") + "/Desktop");
+                chooser.setDialogTitle("Choisissez le fichier du journal : ");
+                chooser.setFileFilter(new FileNameExtensionFilter("Fichiers .CSV", "csv"));
+                if (chooser.showSaveDialog(null) == JFileChooser.APPROVE_OPTION) {
+                    plateauDeJeu.ouvrirJournal(Paths.get(chooser.getSelectedFile().getPath())).whenComplete((resultat, erreur) -> {
+                        if (PlateauDeJeu.cause(erreur) instanceof IOException e) {
+                            JOptionPane.showMessageDialog(null, "Le journal des mesures ne peut pas être créé\n" + e.getMessage());
+                            menuFichierJournal.setSelected(false);
+                        }
+                    });
+                } else {
+                    menuFichierJournal.setSelected(false);
+                }
+            } else {
+                plateauDeJeu.fermerJournal();
+            }
 
         } else if (evenement.getSource().equals(menuJeuAutoRemplissage)) {
 
-            // Remplissage Auto.
-            if (jeu.isAlive()) {
+            // Remplissage Auto, avec une densité et une graine permettant de retrouver une même grille.
+            if (plateauDeJeu.isEnMarche()) {
                 mettreLeJeuEnMarche(false);
             }
-            plateauDeJeu.autoRemplissage();
+            final JPanel panneauRemplissage = new JPanel(new GridBagLayout());
+            final JSpinner spinnerDensite = new JSpinner(new SpinnerNumberModel(50, 0, 100, 1));
+            final JTextField champGraine = new JTextField(Long.toString(ThreadLocalRandom.current().nextLong()), 20);
+            GridBagConstraints contraintesRemplissage = new GridBagConstraints();
+            contraintesRemplissage.anchor = GridBagConstraints.WEST;
+            panneauRemplissage.add(new JLabel("Cellules vivantes (%) : "), contraintesRemplissage);
+            panneauRemplissage.add(spinnerDensite, contraintesRemplissage);
+            contraintesRemplissage.gridy = 1;
+            panneauRemplissage.add(new JLabel("Graine : "), contraintesRemplissage);
+            panneauRemplissage.add(champGraine, contraintesRemplissage);
+            if (JOptionPane.showConfirmDialog(this, panneauRemplissage, "Auto remplissage", JOptionPane.OK_CANCEL_OPTION) == JOptionPane.OK_OPTION) {
+                try {
+                    plateauDeJeu.autoRemplissage(Long.parseLong(champGraine.getText().trim()), (int) spinnerDensite.getValue() / 100.0);
+                } catch (NumberFormatException e) {
+                    JOptionPane.showMessageDialog(null, "La graine renseignée n'est pas un nombre entier valide");
+                }
+            }
 
         } else if (evenement.getSource().equals(menuJeuStart)) {
 
@@ -398,15 +620,46 @@ public class JeuDeLaVie extends JFrame implements ActionListener {
             // Mettre le jeu en pause.
             mettreLeJeuEnMarche(false);
 
+        } else if (evenement.getSource().equals(menuJeuPasAPas)) {
+
+            // Calculer une seule génération, le jeu étant en pause.
+            plateauDeJeu.avancerUnPas();
+
+        } else if (evenement.getSource().equals(menuJeuAllerA)) {
+
+            // Atteindre directement une génération ultérieure, idéalement avec le moteur HashLife pour les très grands nombres.
+            if (plateauDeJeu.isEnMarche()) {
+                mettreLeJeuEnMarche(false);
+            }
+            String saisie = JOptionPane.showInputDialog(this, "Numéro de la génération à atteindre :", plateauDeJeu.getGeneration());
+            if (saisie != null) {
+                // Les générations sont calculées en arrière-plan, l'option est désactivée jusqu'à ce que la génération soit atteinte ou le calcul annulé.
+                try {
+                    long generationCible = Long.parseLong(saisie.trim());
+                    if (generationCible > plateauDeJeu.getGeneration()) {
+                        new Saut(generationCible).execute();
+                        menuJeuAllerA.setEnabled(false);
+                    }
+                } catch (NumberFormatException e) {
+                    JOptionPane.showMessageDialog(null, "Le numéro de génération renseigné n'est pas un nombre entier valide");
+                }
+            }
+
         } else if (evenement.getSource().equals(menuJeuReset)) {
 
             // Réinitialiser la grille au format actuel avec uniquement des cases vides.
-            if (jeu.isAlive()) {
+            if (plateauDeJeu.isEnMarche()) {
                 mettreLeJeuEnMarche(false);
             }
             plateauDeJeu.reinitialiserGrille();
             plateauDeJeu.repaint();
 
+        } else if (evenement.getSource().equals(menuAffichageZoomAvant) || evenement.getSource().equals(menuAffichageZoomArriere)) {
+
+            // Agrandir ou réduire le zoom d'un cran, la fenêtre suivant la nouvelle taille du plateau tant qu'il tient dans l'écran.
+            plateauDeJeu.zoomer(evenement.getSource().equals(menuAffichageZoomAvant));
+            pack();
+
         } else if (evenement.getSource().equals(menuAideSource)) {
 
             // Source du projet.
@@ -434,4 +687,423 @@ public class JeuDeLaVie extends JFrame implements ActionListener {
 
     }
 
+    /**
+     * Un TravailSuivi est un travail d'arrière-plan dont l'avancement est affiché dans une fenêtre de progression, dont le bouton 'Annuler' interrompt le travail.
+     * La fenêtre est mise à jour par une minuterie Swing à partir de l'avancement publié par le travail, qui n'a ainsi jamais à passer par le fil de Swing.
+     * @param <T> Type du résultat du travail.
+     */
+    private abstract class TravailSuivi<T> extends SwingWorker<T, Void> {
+
+        /** Intervalle en millisecondes entre deux mises à jour de la fenêtre de progression. */
+        private static final int INTERVALLE_PROGRESSION = 100;
+
+        /** Fenêtre affichant l'avancement du travail. */
+        private final ProgressMonitor fenetreProgression;
+        /** Minuterie mettant à jour la fenêtre de progression et détectant l'annulation. */
+        private final Timer minuterie;
+
+        /**
+         * Constructeur d'un travail suivi, qui commence à l'appel de 'execute'.
+         * @param titre Titre de la fenêtre de progression.
+         */
+        private TravailSuivi(String titre) {
+
+            this.fenetreProgression = new ProgressMonitor(JeuDeLaVie.this, titre, "", 0, 100);
+            this.minuterie = new Timer(INTERVALLE_PROGRESSION, evenement -> {
+                if (fenetreProgression.isCanceled()) {
+                    cancel(true);
+                } else {
+                    fenetreProgression.setProgress(Math.min(99, calculerAvancement()));
+                    fenetreProgression.setNote(decrireAvancement());
+                }
+            });
+            minuterie.start();
+
+        }
+
+        /**
+         * Méthode calculant l'avancement du travail, appelée sur le fil de Swing.
+         * @return L'avancement du travail en pourcentage.
+         */
+        protected abstract int calculerAvancement();
+
+        /**
+         * Méthode décrivant l'avancement du travail, appelée sur le fil de Swing.
+         * @return Le texte affiché sous la barre de progression.
+         */
+        protected abstract String decrireAvancement();
+
+        /**
+         * Méthode appelée sur le fil de Swing une fois le travail terminé, échoué ou annulé, la fenêtre de progression étant déjà fermée.
+         */
+        protected abstract void terminer();
+
+        @Override
+        protected final void done() {
+
+            minuterie.stop();
+            fenetreProgression.close();
+            terminer();
+
+        }
+
+    }
+
+    /**
+     * Un Chargement lit un modèle .rle ou .txt, ou une sauvegarde .jdlv, sur un fil d'arrière-plan afin que l'interface reste utilisable.
+     * L'avancement de la lecture est affiché dans une fenêtre de progression, dont le bouton 'Annuler' interrompt la lecture.
+     * L'automate du modèle lu est construit sur le même fil, puis remplace celui du plateau d'un seul coup ;
+     * un chargement annulé ou échoué laisse le plateau intact.
+     * Un modèle encore présent dans le cache de modèles n'est pas relu.
+     */
+    private final class Chargement extends TravailSuivi<Simulation.Preparation> {
+
+        /** Chemin d'accès au fichier lu. */
+        private final Path chemin;
+        /** Taille du fichier en octets. */
+        private final long taille;
+        /** Moteur de calcul du plateau au lancement du chargement, utilisé pour un modèle .rle ou .txt. */
+        private final TypeAutomate typeAutomate;
+        /** Indique que la lecture est terminée et que l'automate est en construction. */
+        private volatile boolean construction;
+        /** Nombre d'octets lus, écrit par le fil de lecture. */
+        private volatile long octetsLus;
+        /** Nombre de lignes décodées, écrit par le fil de lecture. */
+        private volatile int lignesDecodees;
+
+        /**
+         * Constructeur d'un chargement, dont la lecture commence à l'appel de 'execute'.
+         * @param chemin Chemin d'accès au fichier à lire.
+         * @throws IOException Exception jetée si le fichier est introuvable.
+         */
+        private Chargement(Path chemin) throws IOException {
+
+            super("Lecture de " + chemin.getFileName());
+            this.chemin = chemin;
+            this.taille = Math.max(1, Files.size(chemin));
+            this.typeAutomate = plateauDeJeu.getTypeAutomate();
+
+        }
+
+        @Override
+        protected int calculerAvancement() { return (int) (100 * octetsLus / taille); }
+
+        @Override
+        protected String decrireAvancement() {
+
+            if (construction) {
+                return "Construction de l'automate ...";
+            }
+            return String.format(Locale.ROOT, "%d Mo sur %d Mo lus, %d lignes décodées", octetsLus >> 20, taille >> 20, lignesDecodees);
+
+        }
+
+        @Override
+        protected Simulation.Preparation doInBackground() throws IOException, ModeleRenseigneNonConforme {
+
+            Modele.Progression progression = (octets, lignes) -> {
+                octetsLus = octets;
+                lignesDecodees = lignes;
+            };
+            if (Sauvegarde.estSauvegarde(chemin)) {
+                Sauvegarde sauvegarde = new Sauvegarde(chemin, progression);
+                construction = true;
+                return Simulation.preparer(sauvegarde);
+            }
+            Modele modele = cacheDeModeles.charger(chemin, progression);
+            construction = true;
+            return Simulation.preparer(typeAutomate, modele);
+
+        }
+
+        @Override
+        protected void terminer() {
+
+            menuFichierOuvrir.setEnabled(true);
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                plateauDeJeu.installer(get()).thenRun(() -> pack());
+            } catch (ExecutionException exception) {
+                if (exception.getCause() instanceof ModeleRenseigneNonConforme cause) {
+                    signalerModeleNonConforme(cause);
+                } else {
+                    JOptionPane.showMessageDialog(null, "Le fichier renseigné est illisible\n" + exception.getCause().getMessage());
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+
+        }
+
+        /**
+         * Méthode informant l'utilisateur que le fichier lu n'est pas conforme.
+         * @param exception Exception décrivant le défaut du fichier.
+         */
+        private void signalerModeleNonConforme(ModeleRenseigneNonConforme exception) {
+
+            System.err.println(exception.getMessage());
+            JOptionPane.showMessageDialog(null, "Le modèle renseigné est non-conforme, veuillez choisir un fichier .rle, .txt ou .jdlv avec le bon formatage de données\n" + exception.getMessage());
+
+        }
+
+    }
+
+    /**
+     * Un Enregistrement écrit une photographie de la simulation dans un fichier .jdlv, ou l'exporte au format RLE, sur un fil d'arrière-plan.
+     * L'avancement de l'écriture est affiché dans une fenêtre de progression, dont le bouton 'Annuler' interrompt l'écriture.
+     * Un fichier dont l'écriture a échoué ou a été annulée est supprimé afin de ne jamais laisser de fichier incomplet.
+     */
+    private final class Enregistrement extends TravailSuivi<Void> {
+
+        /** Chemin d'accès au fichier écrit. */
+        private final Path chemin;
+        /** Photographie de la simulation à écrire. */
+        private final Sauvegarde photographie;
+        /** Indique que seule la génération en cours est exportée au format RLE, plutôt que l'état complet au format .jdlv. */
+        private final boolean export;
+        /** Nombre de lignes écrites, écrit par le fil d'écriture. */
+        private volatile int lignesEcrites;
+
+        /**
+         * Constructeur d'un enregistrement, dont l'écriture commence à l'appel de 'execute'.
+         * @param chemin Chemin d'accès au fichier à écrire, remplacé s'il existe.
+         * @param photographie Photographie de la simulation à écrire.
+         * @param export 'true' pour exporter la génération en cours au format RLE, 'false' pour enregistrer l'état complet au format .jdlv.
+         */
+        private Enregistrement(Path chemin, Sauvegarde photographie, boolean export) {
+
+            super("Écriture de " + chemin.getFileName());
+            this.chemin = chemin;
+            this.photographie = photographie;
+            this.export = export;
+
+        }
+
+        @Override
+        protected int calculerAvancement() { return (int) (100L * lignesEcrites / photographie.getModele().getLignesTotales()); }
+
+        @Override
+        protected String decrireAvancement() {
+
+            return String.format(Locale.ROOT, "%d lignes écrites sur %d", lignesEcrites, photographie.getModele().getLignesTotales());
+
+        }
+
+        @Override
+        protected Void doInBackground() throws IOException {
+
+            Modele.Progression progression = (octets, lignes) -> lignesEcrites = lignes;
+            try {
+                if (export) {
+                    try (Writer ecrivain = Files.newBufferedWriter(chemin, StandardCharsets.UTF_8)) {
+                        photographie.getModele().ecrire(ecrivain, progression);
+                    }
+                } else {
+                    photographie.ecrire(chemin, progression);
+                }
+            } catch (IOException exception) {
+                Files.deleteIfExists(chemin);
+                throw exception;
+            }
+            return null;
+
+        }
+
+        @Override
+        protected void terminer() {
+
+            menuFichierEnregistrer.setEnabled(true);
+            menuFichierExporter.setEnabled(true);
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                get();
+            } catch (ExecutionException exception) {
+                JOptionPane.showMessageDialog(null, "Le fichier ne peut pas être enregistré\n" + exception.getCause().getMessage());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+
+        }
+
+    }
+
+    /**
+     * Un Saut calcule les générations jusqu'à une génération ultérieure, par tranches confiées une à une à la tâche de simulation.
+     * Le fil de Swing n'attend jamais ces tranches, l'avancement est affiché dans une fenêtre de progression dont le bouton 'Annuler'
+     * arrête le calcul entre deux tranches, la simulation restant alors sur la dernière génération atteinte.
+     * Avec le moteur HashLife, chaque tranche franchit une ou plusieurs puissances de deux, de plus en plus grandes.
+     */
+    private final class Saut extends TravailSuivi<Void> {
+
+        /** Numéro de la génération au début du saut. */
+        private final long generationDepart;
+        /** Numéro de la génération à atteindre. */
+        private final long generationCible;
+
+        /**
+         * Constructeur d'un saut, dont le calcul commence à l'appel de 'execute'.
+         * @param generationCible Numéro de la génération à atteindre, supérieur à la génération en cours.
+         */
+        private Saut(long generationCible) {
+
+            super("Calcul jusqu'à la génération " + generationCible);
+            this.generationDepart = plateauDeJeu.getGeneration();
+            this.generationCible = generationCible;
+
+        }
+
+        @Override
+        protected Void doInBackground() throws ExecutionException, InterruptedException {
+
+            long generation = generationDepart;
+            while (generation < generationCible && !isCancelled()) {
+                generation = plateauDeJeu.avancerVers(generationCible).get();
+            }
+            return null;
+
+        }
+
+        @Override
+        protected int calculerAvancement() { return (int) (100.0 * (plateauDeJeu.getGeneration() - generationDepart) / (generationCible - generationDepart)); }
+
+        @Override
+        protected String decrireAvancement() { return String.format(Locale.ROOT, "Génération %d sur %d", plateauDeJeu.getGeneration(), generationCible); }
+
+        @Override
+        protected void terminer() { menuJeuAllerA.setEnabled(true); }
+
+    }
+
+    /**
+     * Une Indexation parcourt le dossier d'une bibliothèque sur un fil d'arrière-plan, puis affiche la fenêtre de la bibliothèque.
+     */
+    private final class Indexation extends SwingWorker<Bibliotheque, Void> {
+
+        /** Dossier à indexer. */
+        private final Path dossier;
+
+        /**
+         * Constructeur d'une indexation, qui commence à l'appel de 'execute'.
+         * @param dossier Dossier à indexer.
+         */
+        private Indexation(Path dossier) {
+
+            this.dossier = dossier;
+            setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        }
+
+        @Override
+        protected Bibliotheque doInBackground() throws IOException { return new Bibliotheque(dossier, cacheDeModeles); }
+
+        @Override
+        protected void done() {
+
+            setCursor(Cursor.getDefaultCursor());
+            menuFichierBibliotheque.setEnabled(true);
+            try {
+                afficherBibliotheque(get());
+            } catch (ExecutionException exception) {
+                JOptionPane.showMessageDialog(null, "Le dossier renseigné ne peut pas être parcouru\n" + exception.getCause().getMessage());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+
+        }
+
+    }
+
+    /**
+     * Méthode affichant l'index d'une bibliothèque : un tableau des modèles, les commentaires du modèle sélectionné et l'occupation du cache.
+     * Un double-clic ou le bouton 'Ouvrir' charge le modèle sélectionné, la fenêtre restant ouverte pour passer rapidement d'un modèle à l'autre.
+     * @param bibliotheque Bibliothèque à afficher.
+     */
+    private void afficherBibliotheque(Bibliotheque bibliotheque) {
+
+        final List<Bibliotheque.Fiche> fiches = bibliotheque.getFiches();
+        final JFrame fenetreBibliotheque = new JFrame();
+        fenetreBibliotheque.setTitle("Bibliothèque : " + bibliotheque.getDossier() + " (" + fiches.size() + " modèles)");
+        JPanel panneauBibliotheque = new JPanel(new BorderLayout(0, 5));
+        panneauBibliotheque.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        fenetreBibliotheque.add(panneauBibliotheque);
+
+        DefaultTableModel contenu = new DefaultTableModel(new Object[] {"Nom", "Taille", "Règle", "Population"}, 0) {
+
+            @Override
+            public boolean isCellEditable(int ligne, int colonne) { return false; }
+
+        };
+        for (Bibliotheque.Fiche fiche : fiches) {
+            contenu.addRow(new Object[] {fiche.getNom(), fiche.getColonnesTotales() + " x " + fiche.getLignesTotales(), fiche.getRegle(), fiche.getPopulation()});
+        }
+        final JTable tableau = new JTable(contenu);
+        tableau.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        final JTextArea commentaires = new JTextArea(6, 50);
+        commentaires.setEditable(false);
+        commentaires.setLineWrap(true);
+        commentaires.setWrapStyleWord(true);
+        final JLabel etatCache = new JLabel();
+        final JButton ouvrir = new JButton("Ouvrir");
+        ouvrir.setEnabled(false);
+
+        JPanel panneauBas = new JPanel(new BorderLayout(0, 5));
+        panneauBas.add(new JScrollPane(commentaires), BorderLayout.CENTER);
+        JPanel panneauBoutons = new JPanel(new BorderLayout(10, 0));
+        panneauBoutons.add(etatCache, BorderLayout.CENTER);
+        panneauBoutons.add(ouvrir, BorderLayout.EAST);
+        panneauBas.add(panneauBoutons, BorderLayout.SOUTH);
+        panneauBibliotheque.add(new JScrollPane(tableau), BorderLayout.CENTER);
+        panneauBibliotheque.add(panneauBas, BorderLayout.SOUTH);
+
+        // L'occupation du cache est rafraîchie à chaque sélection, les modèles ouverts entre-temps y étant comptés.
+        final Runnable afficherEtatCache = () -> etatCache.setText(String.format(Locale.ROOT, "Cache : %d modèles, %d Mo sur %d Mo, %d ouvertures sans lecture, %d lectures",
+                cacheDeModeles.getNombreDeModeles(), cacheDeModeles.getMemoireUtilisee() >> 20, cacheDeModeles.getBudgetMemoire() >> 20, cacheDeModeles.getSucces(), cacheDeModeles.getEchecs()));
+        afficherEtatCache.run();
+        tableau.getSelectionModel().addListSelectionListener(evenement -> {
+            int ligne = tableau.getSelectedRow();
+            ouvrir.setEnabled(ligne >= 0);
+            commentaires.setText(ligne >= 0 ? String.join("\n", fiches.get(tableau.convertRowIndexToModel(ligne)).getCommentaires()) : "");
+            commentaires.setCaretPosition(0);
+            afficherEtatCache.run();
+        });
+
+        final Runnable ouvrirSelection = () -> {
+            int ligne = tableau.getSelectedRow();
+            if (ligne < 0 || !menuFichierOuvrir.isEnabled()) {
+                return;
+            }
+            if (plateauDeJeu.isEnMarche()) {
+                mettreLeJeuEnMarche(false);
+            }
+            try {
+                new Chargement(fiches.get(tableau.convertRowIndexToModel(ligne)).getChemin()).execute();
+                menuFichierOuvrir.setEnabled(false);
+            } catch (IOException e) {
+                JOptionPane.showMessageDialog(null, "Le fichier renseigné est introuvable");
+            }
+        };
+        ouvrir.addActionListener(evenement -> ouvrirSelection.run());
+        tableau.addMouseListener(new MouseAdapter() {
+
+            @Override
+            public void mouseClicked(MouseEvent evenement) {
+
+                if (evenement.getClickCount() == 2) {
+                    ouvrirSelection.run();
+                }
+
+            }
+
+        });
+
+        fenetreBibliotheque.pack();
+        fenetreBibliotheque.setLocationRelativeTo(null);
+        fenetreBibliotheque.setVisible(true);
+
+    }
+
 }
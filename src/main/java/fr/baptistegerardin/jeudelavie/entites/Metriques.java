@@ -0,0 +1,254 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Les Metriques rassemblent les mesures d'une simulation : population, naissances, morts, durée de calcul de chaque génération et durée de dessin.
+ * Les naissances et les morts sont comptées par les moteurs pendant le calcul de la génération, aucune mesure ne demande donc de parcourir la grille.
+ * Les mesures sont écrites par la tâche de simulation et peuvent être lues à tout moment depuis un autre fil, notamment par JMX.
+ * Elles peuvent aussi être journalisées au format CSV, à raison d'une ligne par génération calculée.
+ * @author Velki0
+ * @version 1.0
+ */
+public class Metriques implements MetriquesMXBean {
+
+    /** Domaine JMX sous lequel les mesures des simulations sont publiées. */
+    private static final String DOMAINE_JMX = "fr.baptistegerardin.jeudelavie";
+    /** Première ligne du journal CSV. */
+    private static final String ENTETE_JOURNAL = "generation,population,naissances,morts,cellules_modifiees,duree_generation_ns,duree_rendu_ns";
+
+    /** Numéro de la dernière génération mesurée. */
+    private long generation;
+    /** Population de la dernière génération mesurée. */
+    private long population;
+    /** Naissances lors de la dernière génération calculée, -1 si le moteur ne les compte pas. */
+    private long naissances;
+    /** Morts lors de la dernière génération calculée, -1 si le moteur ne les compte pas. */
+    private long morts;
+    /** Cumul des naissances comptées. */
+    private long naissancesTotales;
+    /** Cumul des morts comptées. */
+    private long mortsTotales;
+    /** Durée de calcul de la dernière génération, en nanosecondes. */
+    private long dureeGeneration;
+    /** Cumul des durées de calcul des générations, en nanosecondes. */
+    private long dureeTotaleGenerations;
+    /** Nombre de générations calculées. */
+    private long generationsMesurees;
+    /** Durée du dernier dessin, en nanosecondes. */
+    private long dureeRendu;
+    /** Cumul des durées de dessin, en nanosecondes. */
+    private long dureeTotaleRendus;
+    /** Nombre de dessins mesurés. */
+    private long rendusMesures;
+    /** Journal CSV ouvert, 'null' si les mesures ne sont pas journalisées. */
+    private BufferedWriter journal;
+    /** Nom sous lequel les mesures sont publiées par JMX, 'null' si elles ne le sont pas. */
+    private ObjectName nomJmx;
+
+    /**
+     * Méthode enregistrant les mesures d'une génération qui vient d'être calculée, puis les ajoutant au journal s'il est ouvert.
+     * La ligne du journal est formée sous le verrou des mesures mais écrite hors de lui : une écriture lente ne bloque jamais leurs lecteurs, notamment JMX.
+     * @param generation Numéro de la génération.
+     * @param population Population de la génération.
+     * @param naissances Naissances lors de la génération, -1 si le moteur ne les compte pas.
+     * @param morts Morts lors de la génération, -1 si le moteur ne les compte pas.
+     * @param dureeGeneration Durée de calcul de la génération, en nanosecondes.
+     */
+    protected void enregistrerGeneration(long generation, long population, long naissances, long morts, long dureeGeneration) {
+
+        BufferedWriter journalOuvert;
+        String ligne;
+        synchronized (this) {
+            this.generation = generation;
+            this.population = population;
+            this.naissances = naissances;
+            this.morts = morts;
+            this.dureeGeneration = dureeGeneration;
+            if (naissances >= 0) {
+                naissancesTotales += naissances;
+                mortsTotales += morts;
+            }
+            dureeTotaleGenerations += dureeGeneration;
+            generationsMesurees++;
+            journalOuvert = journal;
+            ligne = journalOuvert != null ? formerLigneJournal() : null;
+        }
+        if (journalOuvert != null) {
+            journaliser(journalOuvert, ligne);
+        }
+
+    }
+
+    /**
+     * Méthode enregistrant l'état de la simulation après une modification qui n'est pas le calcul d'une génération (chargement, réinitialisation, ...).
+     * Aucune ligne n'est ajoutée au journal.
+     * @param generation Numéro de la génération en cours.
+     * @param population Population de la génération en cours.
+     */
+    protected synchronized void enregistrerEtat(long generation, long population) {
+
+        this.generation = generation;
+        this.population = population;
+        this.naissances = 0;
+        this.morts = 0;
+
+    }
+
+    /**
+     * Méthode enregistrant la durée d'un dessin de la génération en cours.
+     * @param dureeRendu Durée du dessin, en nanosecondes.
+     */
+    protected synchronized void enregistrerRendu(long dureeRendu) {
+
+        this.dureeRendu = dureeRendu;
+        dureeTotaleRendus += dureeRendu;
+        rendusMesures++;
+
+    }
+
+    /**
+     * Méthode ouvrant un journal CSV, remplaçant le fichier s'il existe et fermant le journal précédemment ouvert.
+     * @param chemin Chemin du fichier CSV.
+     * @throws IOException Exception jetée si le fichier ne peut pas être créé.
+     */
+    protected synchronized void ouvrirJournal(Path chemin) throws IOException {
+
+        fermerJournal();
+        BufferedWriter nouveauJournal = Files.newBufferedWriter(chemin, StandardCharsets.UTF_8);
+        nouveauJournal.write(ENTETE_JOURNAL);
+        nouveauJournal.newLine();
+        journal = nouveauJournal;
+
+    }
+
+    /**
+     * Méthode fermant le journal CSV s'il est ouvert, les lignes en attente étant écrites dans le fichier.
+     */
+    protected synchronized void fermerJournal() {
+
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException exception) {
+                System.err.println("Le journal des mesures ne peut pas être fermé : " + exception.getMessage());
+            }
+            journal = null;
+        }
+
+    }
+
+    /**
+     * Méthode formant la ligne du journal de la dernière génération, sans formatage coûteux.
+     * Elle est appelée sous le verrou des mesures.
+     * @return La ligne du journal, fin de ligne comprise.
+     */
+    private String formerLigneJournal() {
+
+        return new StringBuilder(96)
+                .append(generation).append(',')
+                .append(population).append(',')
+                .append(naissances).append(',')
+                .append(morts).append(',')
+                .append(naissances < 0 ? -1 : naissances + morts).append(',')
+                .append(dureeGeneration).append(',')
+                .append(dureeRendu).append(System.lineSeparator())
+                .toString();
+
+    }
+
+    /**
+     * Méthode ajoutant une ligne au journal, hors du verrou des mesures.
+     * Une erreur d'écriture ferme le journal sans interrompre la simulation, sauf s'il a entre-temps été fermé ou remplacé.
+     * @param journalOuvert Journal ouvert lorsque la ligne a été formée.
+     * @param ligne Ligne à ajouter.
+     */
+    private void journaliser(BufferedWriter journalOuvert, String ligne) {
+
+        try {
+            journalOuvert.write(ligne);
+        } catch (IOException exception) {
+            synchronized (this) {
+                if (journal == journalOuvert) {
+                    System.err.println("Le journal des mesures ne peut plus être écrit : " + exception.getMessage());
+                    fermerJournal();
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Méthode publiant les mesures auprès du serveur JMX de la plateforme.
+     * Un échec de la publication est signalé sans empêcher la simulation de tourner.
+     * @param nom Nom distinguant cette simulation des autres simulations publiées.
+     */
+    protected synchronized void publierJmx(String nom) {
+
+        try {
+            ObjectName nomPublie = new ObjectName(DOMAINE_JMX + ":type=Simulation,name=" + ObjectName.quote(nom));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, nomPublie);
+            nomJmx = nomPublie;
+        } catch (JMException exception) {
+            System.err.println("Les mesures ne peuvent pas être publiées par JMX : " + exception.getMessage());
+        }
+
+    }
+
+    /**
+     * Méthode retirant les mesures du serveur JMX de la plateforme si elles y ont été publiées.
+     */
+    protected synchronized void retirerJmx() {
+
+        if (nomJmx != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(nomJmx);
+            } catch (JMException exception) {
+                System.err.println("Les mesures ne peuvent pas être retirées de JMX : " + exception.getMessage());
+            }
+            nomJmx = null;
+        }
+
+    }
+
+    @Override
+    public synchronized long getGeneration() { return generation; }
+
+    @Override
+    public synchronized long getPopulation() { return population; }
+
+    @Override
+    public synchronized long getNaissances() { return naissances; }
+
+    @Override
+    public synchronized long getMorts() { return morts; }
+
+    @Override
+    public synchronized long getCellulesModifiees() { return naissances < 0 ? -1 : naissances + morts; }
+
+    @Override
+    public synchronized long getNaissancesTotales() { return naissancesTotales; }
+
+    @Override
+    public synchronized long getMortsTotales() { return mortsTotales; }
+
+    @Override
+    public synchronized long getDureeGenerationNanos() { return dureeGeneration; }
+
+    @Override
+    public synchronized long getDureeMoyenneGenerationNanos() { return generationsMesurees == 0 ? 0 : dureeTotaleGenerations / generationsMesurees; }
+
+    @Override
+    public synchronized long getDureeRenduNanos() { return dureeRendu; }
+
+    @Override
+    public synchronized long getDureeMoyenneRenduNanos() { return rendusMesures == 0 ? 0 : dureeTotaleRendus / rendusMesures; }
+
+}
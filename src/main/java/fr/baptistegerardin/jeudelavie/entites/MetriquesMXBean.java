@@ -0,0 +1,77 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+/**
+ * Interface de supervision JMX des mesures d'une simulation, consultable par exemple avec JConsole ou VisualVM.
+ * Chaque attribut est lu indépendamment des autres : deux attributs lus l'un après l'autre peuvent concerner deux générations successives.
+ * @author Velki0
+ * @version 1.0
+ */
+public interface MetriquesMXBean {
+
+    /**
+     * Getter afin de récupérer le numéro de la dernière génération mesurée.
+     * @return Le numéro de la génération.
+     */
+    long getGeneration();
+
+    /**
+     * Getter afin de récupérer le nombre de cellules vivantes de la dernière génération mesurée.
+     * @return La population.
+     */
+    long getPopulation();
+
+    /**
+     * Getter afin de récupérer le nombre de cellules nées lors de la dernière génération calculée.
+     * @return Le nombre de naissances, -1 si le moteur ne les compte pas.
+     */
+    long getNaissances();
+
+    /**
+     * Getter afin de récupérer le nombre de cellules mortes lors de la dernière génération calculée.
+     * @return Le nombre de morts, -1 si le moteur ne les compte pas.
+     */
+    long getMorts();
+
+    /**
+     * Getter afin de récupérer le nombre de cellules ayant changé d'état lors de la dernière génération calculée.
+     * @return Le nombre de naissances et de morts, -1 si le moteur ne les compte pas.
+     */
+    long getCellulesModifiees();
+
+    /**
+     * Getter afin de récupérer le nombre total de cellules nées depuis le début de la simulation.
+     * @return Le cumul des naissances comptées.
+     */
+    long getNaissancesTotales();
+
+    /**
+     * Getter afin de récupérer le nombre total de cellules mortes depuis le début de la simulation.
+     * @return Le cumul des morts comptées.
+     */
+    long getMortsTotales();
+
+    /**
+     * Getter afin de récupérer la durée de calcul de la dernière génération.
+     * @return La durée en nanosecondes.
+     */
+    long getDureeGenerationNanos();
+
+    /**
+     * Getter afin de récupérer la durée moyenne de calcul d'une génération depuis le début de la simulation.
+     * @return La durée moyenne en nanosecondes, 0 si aucune génération n'a été calculée.
+     */
+    long getDureeMoyenneGenerationNanos();
+
+    /**
+     * Getter afin de récupérer la durée du dernier dessin de la génération en cours.
+     * @return La durée en nanosecondes, 0 si la simulation n'est pas affichée.
+     */
+    long getDureeRenduNanos();
+
+    /**
+     * Getter afin de récupérer la durée moyenne d'un dessin depuis le début de la simulation.
+     * @return La durée moyenne en nanosecondes, 0 si la simulation n'est pas affichée.
+     */
+    long getDureeMoyenneRenduNanos();
+
+}
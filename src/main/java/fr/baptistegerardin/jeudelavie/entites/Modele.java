@@ -1,164 +1,466 @@
 package fr.baptistegerardin.jeudelavie.entites;
 
 import fr.baptistegerardin.jeudelavie.exceptions.ModeleRenseigneNonConforme;
+import fr.baptistegerardin.jeudelavie.exceptions.RegleNonConforme;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * La classe Modele est un modèle d'automate cellulaire qui peut être chargé grâce à une ressource extérieure.
- * Il est constitué de trois paramètres, son nombre de lignes, son nombre de colonnes et un tableau de booléens stipulant l'état zéro de l'automate.
+ * Il est constitué de quatre paramètres, son nombre de lignes, son nombre de colonnes, sa règle et une grille de bits stipulant l'état zéro de l'automate.
  * Les sites communautaires comme : <a href="https://conwaylife.com/wiki/">Le wiki de conwaylife.com</a>
  * ou <a href="https://conwaylife.appspot.com/library/">conwaylife.appspot</a> proposent un grand nombre de modèles disponibles généralement au format .rle.
  * Ces modèles téléchargés peuvent être ouverts grâce à cette application.
  * Ils doivent cependant respecter un certain formatage comme ci-dessous :
- * Plusieurs commentaires optionnels repérés par un '#' en début de ligne.
+ * Plusieurs commentaires optionnels repérés par un '#' en début de ligne, conservés avec le modèle ('#N' donnant son nom, '#C' une description...).
  * Puis une ligne qui stipule le nombre de colonnes et de lignes, exemple : "x = 45, y = 30, rule = B3/S23".
+ * La règle est optionnelle, la règle B3/S23 du Jeu de la Vie de Conway est suivie en son absence.
  * Et enfin une suite de nombres, de 'b', de 'o', de '$' et enfin d'un '!'.
  * Chaque instance de nombre fait référence à l'occurrence du prochain caractère.
  * Un 'b' est une cellule morte, un 'o' est une cellule en vie, le '$' signifie un changement de ligne et le '!' signifie la fin du modèle.
+ * Pour une règle à plusieurs états (Generations), les cellules suivent la notation étendue : '.' pour l'état 0, 'A' à 'X' pour les états 1 à 24,
+ * précédés d'une lettre 'p' à 'y' pour les états suivants ('pA' pour l'état 25, 'yO' pour l'état 255). Le 'b' et le 'o' restent acceptés.
+ * Le corps du fichier est lu en une seule passe, caractère par caractère, par un automate à états qui écrit directement les cellules
+ * dans une grille de bits : le temps de lecture est proportionnel à la taille du fichier et aucune chaîne intermédiaire n'est construite.
+ * La lecture peut être suivie par un observateur de progression et s'interrompt dès que le fil qui l'exécute est interrompu,
+ * ce qui permet de lire un gros modèle en arrière-plan et d'annuler sa lecture.
+ * Inversement, un modèle peut photographier la génération en cours d'un automate, puis l'écrire dans ce même format sur un autre fil.
  * Pour exemples, des modèles sont présents dans ce projet à cet emplacement : /src/main/resources/modeles/.
  * @author Velki0
  * @version 1.0
  */
 public class Modele {
 
+    /** Observateur ignorant la progression de la lecture ou de l'écriture. */
+    protected static final Progression SANS_PROGRESSION = (octetsTraites, lignesTraitees) -> { };
+    /** Mémoire maximale occupée par les cellules d'un modèle lu, en octets : un en-tête annonçant une grille plus grande est refusé avant toute allocation. */
+    private static final long TAILLE_MEMOIRE_MAXIMALE = 1L << 32;
+
     /** Le nombre total de lignes du modèle. */
     private final int lignesTotales;
     /** Le nombre total de colonnes du modèle. */
     private final int colonnesTotales;
-    /** Un tableau de booléens contenant l'information du point de départ du modèle normalisé et lisible par le programme. */
-    private final List<List<Boolean>> modeleNormalise;
+    /** La règle de naissance et de survie du modèle. */
+    private final Regle regle;
+    /** Les cellules du modèle, une ligne de mots de 64 bits par ligne où le bit 'n' du mot 'm' correspond à la colonne '64 * m + n'. */
+    private final long[][] cellules;
+    /** L'état de chaque cellule, un octet par cellule, uniquement pour une règle à plusieurs états, 'null' sinon. */
+    private final byte[][] etats;
+    /** Les lignes de commentaires précédant l'en-tête, sans leur '#'. */
+    private final List<String> commentaires;
 
     /**
      * Constructeur de la méthode Modele pour l'instanciation d'un nouveau modèle d'automate.
      * Il nécessite d'un chemin d'accès pour le fichier .rle ou .txt à lire.
      * @param chemin Le chemin d'accès du fichier au format .rle ou .txt.
      * @throws IOException Exception jetée si le chemin renvoie sur un fichier introuvable ou non-existant.
-     * @throws ModeleRenseigneNonConforme Exception jetée si le fichier renseigné ne possède pas des attributs conformes de lignes et colonnes 'y = ' et 'x = '.
+     * @throws ModeleRenseigneNonConforme Exception jetée si le fichier renseigné ne possède pas des attributs conformes de lignes et colonnes 'y = ' et 'x = ', ou une règle 'rule = ' illisible.
      */
     protected Modele(Path chemin) throws IOException, ModeleRenseigneNonConforme {
 
-        // Le modèle brut est lu puis les éventuels commentaires sont supprimés.
-        List<String> modeleEncode = Files.readAllLines(chemin, StandardCharsets.UTF_8);
-        modeleEncode.removeIf(ligne -> ligne.charAt(0) == '#');
+        this(chemin, SANS_PROGRESSION);
 
-        // Quelques tests sont réalisés pour s'assurer que le fichier renseigné contient bien des informations sur la taille du modèle.
-        // Les attributs lignesTotales et colonnesTotales sont initialisés.
-        if (!(modeleEncode.getFirst().matches(".*(x = ).*") && modeleEncode.getFirst().matches(".*(, y = ).*"))) {
-            throw new ModeleRenseigneNonConforme("Le fichier ne renseigne pas ou renseigne mal son nombre de lignes et de colonnes");
-        }
-        lignesTotales = Integer.parseInt(modeleEncode.getFirst().substring(
-                modeleEncode.getFirst().indexOf("y = ") + 4,
-                modeleEncode.getFirst().indexOf(",", (modeleEncode.getFirst().indexOf(",") + 1)))
-        );
-        colonnesTotales = Integer.parseInt(modeleEncode.getFirst().substring(
-                modeleEncode.getFirst().indexOf("x = ") + 4,
-                modeleEncode.getFirst().indexOf(","))
-        );
-        if (lignesTotales < 1 || colonnesTotales < 1) {
-            throw new ModeleRenseigneNonConforme("Le fichier ne possède pas un nombre de lignes et de colonnes correct : 'x = " + colonnesTotales + "' et 'y = '" + lignesTotales + "'");
-        }
+    }
 
-        // Enfin le modèle est normalisé via l'utilisation de la méthode 'normaliserModele'.
-        modeleNormalise = normaliserModele(modeleEncode);
+    /**
+     * Constructeur d'un modèle lu depuis un fichier .rle ou .txt dont la lecture est suivie par un observateur.
+     * @param chemin Le chemin d'accès du fichier au format .rle ou .txt.
+     * @param progression L'observateur informé régulièrement du nombre d'octets lus et de lignes décodées.
+     * @throws IOException Exception jetée si le fichier est introuvable ou illisible, ou 'InterruptedIOException' si le fil de lecture est interrompu.
+     * @throws ModeleRenseigneNonConforme Exception jetée si le fichier renseigné ne possède pas des attributs conformes de lignes et colonnes 'y = ' et 'x = ', ou une règle 'rule = ' illisible.
+     */
+    protected Modele(Path chemin, Progression progression) throws IOException, ModeleRenseigneNonConforme {
+
+        this(Files.newBufferedReader(chemin, StandardCharsets.UTF_8), true, progression);
 
     }
 
     /**
-     * La méthode 'normaliserModele' permet à partir d'un modèle encodé brut de générer un tableau de booléens où chaque ligne et colonne contiennent uniquement des 'b' et des 'o'.
-     * Le nombre de lignes contiendra exactement le nombre de caracteres prévu par le modèle (lignesTotales).
-     * Et chaque ligne contiendra précisément le nombre de caractères (colonnesTotales).
-     * @param modeleEncode La liste de donnée brute du modèle.
-     * @return Un tableau de booléens constituant le point de départ du modèle.
+     * Constructeur d'un modèle lu depuis un flux de caractères au format RLE, qui n'est pas fermé à la fin de la lecture.
+     * @param lecteur Le flux à lire.
+     * @throws IOException Exception jetée si le flux ne peut pas être lu.
+     * @throws ModeleRenseigneNonConforme Exception jetée si le flux ne possède pas des attributs conformes de lignes et colonnes 'y = ' et 'x = ', ou une règle 'rule = ' illisible.
      */
-    private List<List<Boolean>> normaliserModele(List<String> modeleEncode) {
+    protected Modele(Reader lecteur) throws IOException, ModeleRenseigneNonConforme {
 
-        // Le modèle est tout d'abord mis sur une seule et même ligne, la première ligne du modèle brut contenant les données 'x = ' et 'y = ' est omise.
-        StringBuilder modeleSurUneSeuleLigne = new StringBuilder();
-        for (int index = 1; index < modeleEncode.size(); index++) {
-            modeleSurUneSeuleLigne.append(modeleEncode.get(index));
-        }
+        this(lecteur, false, SANS_PROGRESSION);
+
+    }
+
+    /**
+     * Constructeur d'un modèle dont les cellules sont déjà rangées en mots de 64 bits, par exemple lues dans une sauvegarde.
+     * @param lignesTotales Le nombre total de lignes du modèle.
+     * @param colonnesTotales Le nombre total de colonnes du modèle.
+     * @param regle La règle de naissance et de survie du modèle.
+     * @param cellules Les cellules du modèle, une ligne de mots par ligne, qui ne sont pas recopiées.
+     * @param etats L'état de chaque cellule pour une règle à plusieurs états, qui n'est pas recopié, ou 'null' pour une règle à deux états.
+     */
+    protected Modele(int lignesTotales, int colonnesTotales, Regle regle, long[][] cellules, byte[][] etats) {
+
+        this.lignesTotales = lignesTotales;
+        this.colonnesTotales = colonnesTotales;
+        this.regle = regle;
+        this.cellules = cellules;
+        this.etats = etats;
+        this.commentaires = List.of();
+
+    }
 
-        // Le modèle est traité pour en faire une liste de String avec laquelle chaque '$' défini une nouvelle ligne.
-        List<String> lignesModeleEncode = new ArrayList<>();
-        int compteurLigne = 0;
-        lignesModeleEncode.add("");
-        for (char caractere : modeleSurUneSeuleLigne.toString().toCharArray()) {
-            if (caractere == '$') {
-                lignesModeleEncode.set(compteurLigne, lignesModeleEncode.get(compteurLigne) + caractere);
-                compteurLigne++;
-                lignesModeleEncode.add("");
-            } else {
-                lignesModeleEncode.set(compteurLigne, lignesModeleEncode.get(compteurLigne) + caractere);
+    /**
+     * Constructeur d'un modèle photographiant la génération en cours d'un automate, règle comprise.
+     * Les lignes sont recopiées d'un bloc : le modèle ne dépend plus ensuite de l'automate, qui peut continuer d'évoluer pendant son écriture.
+     * Pour les moteurs sur plan infini, seule la fenêtre affichée est photographiée.
+     * @param automate L'automate à photographier, qui ne doit pas être modifié pendant la copie.
+     */
+    protected Modele(Automate automate) {
+
+        this.lignesTotales = automate.getLignesTotales();
+        this.colonnesTotales = automate.getColonnesTotales();
+        this.regle = automate.getRegle();
+        this.cellules = new long[lignesTotales][(colonnesTotales + 63) >>> 6];
+        this.etats = regle.isGenerations() ? new byte[lignesTotales][colonnesTotales] : null;
+        this.commentaires = List.of();
+        for (int x = 0; x < lignesTotales; x++) {
+            automate.copierLigne(x, cellules[x]);
+            if (etats != null) {
+                automate.copierEtats(x, etats[x]);
             }
         }
 
-        // Ajout d'un '1' au début des lignes qui commence par une lettre et entre deux caractères non digitaux.
-        // Une vérification est nécessaire si le modèle fourni ne possède aucune itération de 'b' ou de 'o'.
-        if (modeleSurUneSeuleLigne.toString().matches(".*[b|o].*")) {
-            for (int index = 0; index < lignesModeleEncode.size(); index++) {
-                if (lignesModeleEncode.get(index).charAt(0) == 'b' || lignesModeleEncode.get(index).charAt(0) == 'o') {
-                    lignesModeleEncode.set(index, '1' + lignesModeleEncode.get(index));
+    }
+
+    /**
+     * Constructeur commun lisant l'en-tête puis le corps d'un modèle.
+     * @param lecteur Le flux à lire.
+     * @param fermer Indique si le flux doit être fermé à la fin de la lecture.
+     * @param progression L'observateur de la progression de la lecture.
+     * @throws IOException Exception jetée si le flux ne peut pas être lu.
+     * @throws ModeleRenseigneNonConforme Exception jetée si l'en-tête ou le corps du modèle n'est pas conforme.
+     */
+    private Modele(Reader lecteur, boolean fermer, Progression progression) throws IOException, ModeleRenseigneNonConforme {
+
+        try {
+            BufferedReader tampon = lecteur instanceof BufferedReader lecteurTamponne ? lecteurTamponne : new BufferedReader(lecteur);
+
+            // Les lignes de commentaires précédant l'en-tête sont conservées, les lignes vides sont ignorées.
+            List<String> commentairesLus = new ArrayList<>();
+            String entete = tampon.readLine();
+            while (entete != null && (entete.isBlank() || entete.charAt(0) == '#')) {
+                if (!entete.isBlank()) {
+                    commentairesLus.add(entete.substring(1).strip());
                 }
-                while (lignesModeleEncode.get(index).matches(".*[a-z][a-z|$].*")) {
-                    lignesModeleEncode.replaceAll(chaine -> chaine.replaceAll("([a-z])([a-z|$])", "$11$2"));
+                entete = tampon.readLine();
+            }
+            if (entete == null) {
+                throw new ModeleRenseigneNonConforme("Le fichier ne renseigne pas ou renseigne mal son nombre de lignes et de colonnes");
+            }
+
+            // L'en-tête est découpé en couples 'clé = valeur' séparés par des virgules.
+            // Les attributs lignesTotales, colonnesTotales et regle sont initialisés.
+            int lignesLues = 0;
+            int colonnesLues = 0;
+            Regle regleLue = Regle.CONWAY;
+            boolean lignesRenseignees = false;
+            boolean colonnesRenseignees = false;
+            for (String couple : entete.split(",")) {
+                int egal = couple.indexOf('=');
+                if (egal < 0) {
+                    continue;
+                }
+                String cle = couple.substring(0, egal).trim();
+                String valeur = couple.substring(egal + 1).trim();
+                try {
+                    switch (cle) {
+                        case "x" -> {
+                            colonnesLues = Integer.parseInt(valeur);
+                            colonnesRenseignees = true;
+                        }
+                        case "y" -> {
+                            lignesLues = Integer.parseInt(valeur);
+                            lignesRenseignees = true;
+                        }
+                        case "rule" -> regleLue = Regle.analyser(valeur);
+                        default -> { }
+                    }
+                } catch (NumberFormatException exception) {
+                    throw new ModeleRenseigneNonConforme("La valeur '" + valeur + "' de l'attribut '" + cle + "' n'est pas un nombre entier");
+                } catch (RegleNonConforme exception) {
+                    throw new ModeleRenseigneNonConforme(exception.getMessage());
                 }
             }
+            if (!lignesRenseignees || !colonnesRenseignees) {
+                throw new ModeleRenseigneNonConforme("Le fichier ne renseigne pas ou renseigne mal son nombre de lignes et de colonnes");
+            }
+            if (lignesLues < 1 || colonnesLues < 1) {
+                throw new ModeleRenseigneNonConforme("Le fichier ne possède pas un nombre de lignes et de colonnes correct : 'x = " + colonnesLues + "' et 'y = " + lignesLues + "'");
+            }
+            if (estimerTailleMemoire(lignesLues, colonnesLues, regleLue.isGenerations()) > TAILLE_MEMOIRE_MAXIMALE) {
+                throw new ModeleRenseigneNonConforme("Le fichier annonce une grille trop grande pour être lue : 'x = " + colonnesLues + "' et 'y = " + lignesLues + "', soit plus de "
+                        + (TAILLE_MEMOIRE_MAXIMALE >> 20) + " Mo de cellules");
+            }
+            lignesTotales = lignesLues;
+            colonnesTotales = colonnesLues;
+            regle = regleLue;
+            commentaires = List.copyOf(commentairesLus);
+
+            // Enfin le corps du modèle est décodé directement dans la grille de bits.
+            cellules = new long[lignesTotales][(colonnesTotales + 63) >>> 6];
+            etats = regle.isGenerations() ? new byte[lignesTotales][colonnesTotales] : null;
+            decoder(tampon, progression);
+        } finally {
+            if (fermer) {
+                lecteur.close();
+            }
         }
 
-        // Le RLE est décodé à cette étape.
-        List<String> lignesModeleDecode = new ArrayList<>();
-        StringBuilder chaineDecode;
-        for (String ligne : lignesModeleEncode) {
-            int compteur = 0;
-            chaineDecode = new StringBuilder();
-            for (char caractere : ligne.toCharArray()) {
-                if (Character.isDigit(caractere)) {
-                    compteur = 10 * compteur + Character.getNumericValue(caractere);
-                } else if (caractere == '$' | caractere == '!') {
-                    lignesModeleDecode.add(chaineDecode.toString());
-                    while (compteur > 1) {
-                        lignesModeleDecode.add(String.join("", Collections.nCopies(colonnesTotales, "b")));
-                        compteur--;
+    }
+
+    /**
+     * La méthode 'decoder' lit le corps RLE du modèle en une seule passe et place chaque suite de cellules vivantes dans la grille de bits.
+     * Le compteur de répétition, la ligne et la colonne courantes forment tout l'état de la lecture, les cellules mortes n'étant jamais écrites.
+     * Pour une règle à plusieurs états, la lettre de préfixe 'p' à 'y' en attente complète cet état.
+     * Les cellules situées au-delà des dimensions annoncées par l'en-tête sont ignorées.
+     * Après chaque morceau lu, la progression est signalée et l'interruption du fil de lecture est vérifiée.
+     * @param lecteur Le flux positionné juste après l'en-tête.
+     * @param progression L'observateur de la progression de la lecture.
+     * @throws IOException Exception jetée si le flux ne peut pas être lu, ou 'InterruptedIOException' si le fil de lecture est interrompu.
+     * @throws ModeleRenseigneNonConforme Exception jetée si le corps contient un caractère inattendu ou un état que la règle ne possède pas.
+     */
+    private void decoder(Reader lecteur, Progression progression) throws IOException, ModeleRenseigneNonConforme {
+
+        char[] morceau = new char[1 << 16];
+        int compteur = 0;
+        int ligne = 0;
+        int colonne = 0;
+        int prefixe = 0;
+        boolean debutDeLigne = true;
+        boolean dansUnCommentaire = false;
+        long caracteresLus = 0;
+        int lus;
+        while ((lus = lecteur.read(morceau)) > 0) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("La lecture du modèle a été interrompue");
+            }
+            caracteresLus += lus;
+            progression.signaler(caracteresLus, ligne);
+            for (int index = 0; index < lus; index++) {
+                char caractere = morceau[index];
+                if (caractere == '\n' || caractere == '\r') {
+                    debutDeLigne = true;
+                    dansUnCommentaire = false;
+                    continue;
+                }
+                if (dansUnCommentaire) {
+                    continue;
+                }
+                if (caractere == '#' && debutDeLigne) {
+                    dansUnCommentaire = true;
+                    continue;
+                }
+                debutDeLigne = false;
+                if (caractere >= '0' && caractere <= '9') {
+                    // Le compteur est plafonné, une répétition plus longue que la grille n'a de toute façon aucun effet.
+                    compteur = Math.min(10 * compteur + (caractere - '0'), 1 << 30);
+                } else if (caractere == 'b' || caractere == '.') {
+                    colonne += Math.max(1, compteur);
+                    compteur = 0;
+                } else if (caractere == '$') {
+                    ligne = Math.min(ligne + Math.max(1, compteur), lignesTotales);
+                    colonne = 0;
+                    compteur = 0;
+                } else if (caractere == '!') {
+                    return;
+                } else if (etats != null && caractere >= 'p' && caractere <= 'y' && prefixe == 0) {
+                    prefixe = caractere - 'p' + 1;
+                    continue;
+                } else if (etats != null && (caractere == 'o' || (caractere >= 'A' && caractere <= 'X'))) {
+                    // Un état non nul est rangé dans la grille des états, l'état 1 l'est aussi dans la grille de bits.
+                    int etat = caractere == 'o' ? 1 : prefixe * 24 + caractere - 'A' + 1;
+                    if (etat >= regle.getNombreEtats()) {
+                        throw new ModeleRenseigneNonConforme("Le modèle contient l'état " + etat + ", la règle " + regle + " n'en comporte que " + regle.getNombreEtats());
                     }
-                } else {
-                    chaineDecode.append(String.join("", Collections.nCopies(compteur, String.valueOf(caractere))));
+                    int longueur = Math.max(1, compteur);
+                    remplirEtats(ligne, colonne, longueur, etat);
+                    if (etat == 1) {
+                        remplir(ligne, colonne, longueur);
+                    }
+                    colonne += longueur;
+                    compteur = 0;
+                } else if (etats == null && ((caractere >= 'a' && caractere <= 'z') || (caractere >= 'A' && caractere <= 'Z'))) {
+                    // Un 'o', ou toute autre lettre pour un modèle binaire, est une suite de cellules vivantes.
+                    int longueur = Math.max(1, compteur);
+                    remplir(ligne, colonne, longueur);
+                    colonne += longueur;
                     compteur = 0;
+                } else if (!Character.isWhitespace(caractere)) {
+                    throw new ModeleRenseigneNonConforme("Le modèle contient un caractère inattendu : '" + caractere + "'");
                 }
+                // Une colonne démesurée est ramenée juste après la grille afin d'éviter tout dépassement d'entier.
+                colonne = Math.min(colonne, colonnesTotales);
+                prefixe = 0;
             }
         }
 
-        // Des cases mortes sont ajoutées pour chaque colonne et ligne non complètes ou précisées dans le fichier source.
-        for (int index = 0; index < lignesModeleDecode.size(); index++) {
-            if (lignesModeleDecode.get(index).length() < colonnesTotales) {
-                lignesModeleDecode.set(index, (lignesModeleDecode.get(index) + String.join("", Collections.nCopies((colonnesTotales - lignesModeleDecode.get(index).length()), "b"))));
-            }
+    }
+
+    /**
+     * Méthode rendant vivantes des cellules consécutives d'une ligne, mot par mot.
+     * @param ligne Ligne des cellules.
+     * @param debut Colonne de la première cellule.
+     * @param longueur Nombre de cellules.
+     */
+    private void remplir(int ligne, int debut, int longueur) {
+
+        int fin = Math.min(colonnesTotales, debut + longueur);
+        if (ligne >= lignesTotales || debut >= fin) {
+            return;
         }
-        for (int index = lignesModeleDecode.toArray().length; index < lignesTotales; index++) {
-            lignesModeleDecode.add(String.join("", Collections.nCopies(colonnesTotales, "b")));
+        long[] mots = cellules[ligne];
+        int premierMot = debut >>> 6;
+        int dernierMot = (fin - 1) >>> 6;
+        long masqueDebut = -1L << debut;
+        long masqueFin = -1L >>> (63 - ((fin - 1) & 63));
+        if (premierMot == dernierMot) {
+            mots[premierMot] |= masqueDebut & masqueFin;
+            return;
+        }
+        mots[premierMot] |= masqueDebut;
+        for (int mot = premierMot + 1; mot < dernierMot; mot++) {
+            mots[mot] = -1L;
+        }
+        mots[dernierMot] |= masqueFin;
+
+    }
+
+    /**
+     * Méthode fixant l'état de cellules consécutives d'une ligne dans la grille des états.
+     * @param ligne Ligne des cellules.
+     * @param debut Colonne de la première cellule.
+     * @param longueur Nombre de cellules.
+     * @param etat État des cellules.
+     */
+    private void remplirEtats(int ligne, int debut, int longueur, int etat) {
+
+        int fin = Math.min(colonnesTotales, debut + longueur);
+        if (ligne < lignesTotales && debut < fin) {
+            Arrays.fill(etats[ligne], debut, fin, (byte) etat);
         }
 
-        // La liste de lignes décodées est enfin placé dans un tableau de booléens contenant exactement le bon nombre de lignes et de colonnes.
-        List<List<Boolean>> modeleNormalise = new ArrayList<>();
-        List<Boolean> ligneCaractere;
-        for (String ligne : lignesModeleDecode) {
-            ligneCaractere = new ArrayList<>();
-            for (int y = 0; y < ligne.length(); y++) {
-                if (ligne.charAt(y) == 'o') {
-                    ligneCaractere.add(true);
-                } else {
-                    ligneCaractere.add(false);
+    }
+
+    /**
+     * Méthode écrivant le modèle au format RLE, règle comprise.
+     * Les cellules mortes en fin de ligne sont omises et les lignes vides consécutives sont regroupées en un seul '$' précédé de leur nombre.
+     * Pour une règle à plusieurs états, les cellules sont écrites dans la notation étendue ('.', 'A', 'B'...).
+     * L'écriture s'interrompt dès que le fil qui l'exécute est interrompu.
+     * @param ecrivain Le flux recevant le modèle, qui n'est pas fermé.
+     * @param progression L'observateur informé après chaque ligne du nombre de caractères et de lignes écrits.
+     * @throws IOException Exception jetée si le flux ne peut pas être écrit, ou 'InterruptedIOException' si le fil d'écriture est interrompu.
+     */
+    protected void ecrire(Writer ecrivain, Progression progression) throws IOException {
+
+        String entete = "x = " + colonnesTotales + ", y = " + lignesTotales + ", rule = " + regle + "\n";
+        ecrivain.write(entete);
+        long caracteresEcrits = entete.length();
+        StringBuilder ligneFichier = new StringBuilder();
+        boolean plusieursEtats = regle.isGenerations();
+        int changementsDeLigne = 0;
+        for (int x = 0; x < lignesTotales; x++) {
+            int y = 0;
+            while (y < colonnesTotales) {
+                int etat = getEtat(x, y);
+                int repetitions = 1;
+                while (y + repetitions < colonnesTotales && getEtat(x, y + repetitions) == etat) {
+                    repetitions++;
+                }
+                y += repetitions;
+                if (etat != 0 || y < colonnesTotales) {
+                    if (changementsDeLigne > 0) {
+                        caracteresEcrits += ajouterJeton(ecrivain, ligneFichier, changementsDeLigne, "$");
+                        changementsDeLigne = 0;
+                    }
+                    caracteresEcrits += ajouterJeton(ecrivain, ligneFichier, repetitions, symbole(etat, plusieursEtats));
                 }
             }
-            modeleNormalise.add(ligneCaractere);
+            changementsDeLigne++;
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("L'écriture du modèle a été interrompue");
+            }
+            progression.signaler(caracteresEcrits, x + 1);
         }
-        return modeleNormalise;
+        ajouterJeton(ecrivain, ligneFichier, 1, "!");
+        ecrivain.write(ligneFichier.toString());
+        ecrivain.write('\n');
+
+    }
+
+    /**
+     * Méthode renvoyant le symbole RLE d'un état de cellule.
+     * @param etat État de la cellule.
+     * @param plusieursEtats Indique si la notation étendue des règles à plusieurs états doit être utilisée.
+     * @return Le symbole de l'état : 'b' ou 'o' pour deux états, '.', 'A' à 'X' ou un préfixe 'p' à 'y' suivi d'une lettre sinon.
+     */
+    private static String symbole(int etat, boolean plusieursEtats) {
+
+        if (!plusieursEtats) {
+            return etat == 1 ? "o" : "b";
+        }
+        if (etat == 0) {
+            return ".";
+        }
+        char lettre = (char) ('A' + (etat - 1) % 24);
+        return etat <= 24 ? String.valueOf(lettre) : (char) ('p' + (etat - 1) / 24 - 1) + String.valueOf(lettre);
+
+    }
+
+    /**
+     * Méthode ajoutant un jeton RLE (un nombre de répétitions suivi d'un symbole) à la ligne en cours d'écriture.
+     * La ligne est écrite dans le flux avant qu'elle ne dépasse 70 caractères, un jeton n'étant jamais coupé.
+     * @param ecrivain Le flux recevant le modèle.
+     * @param ligneFichier La ligne en cours d'écriture.
+     * @param repetitions Le nombre de répétitions, omis s'il vaut 1.
+     * @param symbole Le symbole répété.
+     * @return Le nombre de caractères écrits dans le flux, 0 si la ligne n'a pas été écrite.
+     * @throws IOException Exception jetée si le flux ne peut pas être écrit.
+     */
+    private static int ajouterJeton(Writer ecrivain, StringBuilder ligneFichier, int repetitions, String symbole) throws IOException {
+
+        String jeton = repetitions > 1 ? repetitions + symbole : symbole;
+        int caracteresEcrits = 0;
+        if (ligneFichier.length() + jeton.length() > 70) {
+            ecrivain.write(ligneFichier.toString());
+            ecrivain.write('\n');
+            caracteresEcrits = ligneFichier.length() + 1;
+            ligneFichier.setLength(0);
+        }
+        ligneFichier.append(jeton);
+        return caracteresEcrits;
+
+    }
+
+    /**
+     * Une Progression est informée régulièrement de l'avancement de la lecture ou de l'écriture d'un modèle ou d'une sauvegarde.
+     * Elle est appelée par le fil qui lit ou écrit le fichier.
+     */
+    @FunctionalInterface
+    protected interface Progression {
+
+        /**
+         * Méthode signalant l'avancement de la lecture ou de l'écriture.
+         * @param octetsTraites Nombre d'octets lus ou écrits, ou de caractères pour un modèle texte (autant d'octets pour un fichier ASCII).
+         * @param lignesTraitees Nombre de lignes de cellules entièrement décodées ou écrites.
+         */
+        void signaler(long octetsTraites, int lignesTraitees);
 
     }
 
@@ -175,9 +477,100 @@ public class Modele {
     protected int getColonnesTotales() { return colonnesTotales; }
 
     /**
-     * Getter permettant de récupérer le modèle lisible par l'application.
-     * @return Le modèle de l'automate cellulaire sous la forme d'un tableau de booléens.
+     * Getter permettant de récupérer la règle du modèle renseignée par le fichier source.
+     * @return La règle du modèle, B3/S23 si le fichier n'en précise aucune.
+     */
+    protected Regle getRegle() { return regle; }
+
+    /**
+     * Getter permettant de récupérer les commentaires du fichier source.
+     * @return Les lignes de commentaires, sans leur '#' (par exemple 'N Glider' ou 'C Un planeur'), dans l'ordre du fichier.
+     */
+    protected List<String> getCommentaires() { return commentaires; }
+
+    /**
+     * Getter permettant de récupérer le nom du modèle indiqué par une ligne de commentaire '#N'.
+     * @return Le nom du modèle, ou 'null' si le fichier n'en précise aucun.
+     */
+    protected String getNom() {
+
+        for (String commentaire : commentaires) {
+            if (commentaire.length() > 1 && commentaire.charAt(0) == 'N' && Character.isWhitespace(commentaire.charAt(1))) {
+                return commentaire.substring(2).strip();
+            }
+        }
+        return null;
+
+    }
+
+    /**
+     * Méthode comptant les cellules en vie au départ, mot par mot.
+     * @return La population initiale du modèle.
+     */
+    protected long compterPopulation() {
+
+        long population = 0;
+        for (long[] ligne : cellules) {
+            for (long mot : ligne) {
+                population += Long.bitCount(mot);
+            }
+        }
+        return population;
+
+    }
+
+    /**
+     * Méthode estimant la mémoire occupée par les cellules du modèle, en-têtes des tableaux compris.
+     * @return La taille estimée en octets.
+     */
+    protected long getTailleMemoire() { return estimerTailleMemoire(lignesTotales, colonnesTotales, etats != null); }
+
+    /**
+     * Méthode estimant la mémoire occupée par les cellules d'un modèle de dimensions données, en-têtes des tableaux compris.
+     * @param lignesTotales Le nombre total de lignes du modèle.
+     * @param colonnesTotales Le nombre total de colonnes du modèle.
+     * @param avecEtats 'true' si l'état de chaque cellule est également conservé, pour une règle à plusieurs états.
+     * @return La taille estimée en octets.
+     */
+    private static long estimerTailleMemoire(int lignesTotales, int colonnesTotales, boolean avecEtats) {
+
+        // Chaque tableau Java coûte environ 16 octets d'en-tête en plus de son contenu.
+        long taille = (long) lignesTotales * (16 + 8L * ((colonnesTotales + 63) >>> 6));
+        if (avecEtats) {
+            taille += (long) lignesTotales * (16 + colonnesTotales);
+        }
+        return taille;
+
+    }
+
+    /**
+     * Getter permettant de récupérer l'état initial d'une cellule du modèle.
+     * @param ligne Numéro de ligne de la cellule.
+     * @param colonne Numéro de colonne de la cellule.
+     * @return 'true' si la cellule est en vie au départ.
+     */
+    protected boolean getEnVie(int ligne, int colonne) { return (cellules[ligne][colonne >>> 6] & (1L << colonne)) != 0; }
+
+    /**
+     * Getter permettant de récupérer l'état initial d'une cellule du modèle, états mourants compris pour une règle à plusieurs états.
+     * @param ligne Numéro de ligne de la cellule.
+     * @param colonne Numéro de colonne de la cellule.
+     * @return L'état de la cellule, 0 pour une cellule morte et 1 pour une cellule en vie.
+     */
+    protected int getEtat(int ligne, int colonne) { return etats != null ? etats[ligne][colonne] & 0xFF : getEnVie(ligne, colonne) ? 1 : 0; }
+
+    /**
+     * Getter permettant de récupérer une ligne du modèle sous forme de mots de 64 bits, à ne pas modifier.
+     * @param ligne Numéro de la ligne.
+     * @return Les mots de la ligne, le bit 'n' du mot 'm' correspondant à la colonne '64 * m + n'.
+     */
+    protected long[] getLigne(int ligne) { return cellules[ligne]; }
+
+    /**
+     * Getter permettant de récupérer l'état de chaque cellule d'une ligne, pour une règle à plusieurs états, à ne pas modifier.
+     * @param ligne Numéro de la ligne.
+     * @return Les états de la ligne, l'octet 'y' correspondant à la colonne 'y', ou 'null' pour une règle à deux états.
      */
-    protected List<List<Boolean>> getModeleNormaliser() { return modeleNormalise; }
+    protected byte[] getEtats(int ligne) { return etats != null ? etats[ligne] : null; }
 
 }
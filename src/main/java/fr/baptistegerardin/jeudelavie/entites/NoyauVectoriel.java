@@ -0,0 +1,88 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Le NoyauVectoriel calcule l'état suivant des cellules d'une ligne par blocs entiers, une instruction SIMD traitant autant de cellules
+ * que le processeur range d'octets dans un registre vectoriel (16 en SSE, 32 en AVX2, 64 en AVX-512).
+ * Il s'appuie sur l'API Vector du module 'jdk.incubator.vector' : cette classe n'est chargée que si le module est présent,
+ * l'automate vectoriel se repliant sinon sur le calcul cellule par cellule de l'automate classique.
+ * Les huit voisins sont additionnés par huit lectures décalées de la génération en cours, puis la règle est appliquée sans aucun branchement
+ * grâce à deux tables rangées dans des registres : 'état * 8 + voisins' indexe la première pour 0 à 7 voisins, l'état seul indexe la seconde pour 8 voisins.
+ * @author Velki0
+ * @version 1.0
+ */
+public final class NoyauVectoriel {
+
+    /** Forme des vecteurs utilisés, la plus large gérée nativement par le processeur. */
+    private static final VectorSpecies<Byte> ESPECE = ByteVector.SPECIES_PREFERRED;
+    /** Nombre de cases d'une table de transition en registre, soit les deux états pour 0 à 7 voisins. */
+    private static final int CASES_TABLE = 16;
+
+    /**
+     * Constructeur privé, la classe ne contient que des méthodes statiques.
+     */
+    private NoyauVectoriel() { }
+
+    /**
+     * Méthode indiquant si les vecteurs du processeur sont assez larges pour contenir une table de transition.
+     * @return 'true' si un vecteur contient au moins 16 octets.
+     */
+    protected static boolean estUtilisable() { return ESPECE.length() >= CASES_TABLE; }
+
+    /**
+     * Méthode rangeant une table de transition sous la forme des deux tables lues par le calcul vectoriel, répétées sur toute la largeur d'un vecteur.
+     * @param transitions Table de transition de la règle, indexée par 'etat * 9 + voisins'.
+     * @return Les deux tables mises bout à bout, chacune de la longueur d'un vecteur.
+     */
+    protected static byte[] compiler(byte[] transitions) {
+
+        int longueur = ESPECE.length();
+        byte[] tables = new byte[2 * longueur];
+        for (int voie = 0; voie < longueur; voie++) {
+            tables[voie] = transitions[((voie >>> 3) & 1) * 9 + (voie & 7)];
+            tables[longueur + voie] = transitions[(voie & 1) * 9 + 8];
+        }
+        return tables;
+
+    }
+
+    /**
+     * Méthode calculant l'état suivant des cellules consécutives d'une même ligne, un vecteur entier à la fois.
+     * Seuls les vecteurs complets sont calculés, les dernières cellules restant à la charge de l'appelant.
+     * @param courante Génération en cours, halo compris.
+     * @param suivante Génération en préparation, recevant l'état suivant des cellules.
+     * @param debut Index de la première cellule.
+     * @param fin Index suivant la dernière cellule, sur la même ligne.
+     * @param largeur Largeur d'une ligne halo compris.
+     * @param tables Tables de transition rangées par la méthode 'compiler'.
+     * @return L'index de la première cellule qui n'a pas été calculée.
+     */
+    protected static int calculerCellules(byte[] courante, byte[] suivante, int debut, int fin, int largeur, byte[] tables) {
+
+        ByteVector table = ByteVector.fromArray(ESPECE, tables, 0);
+        ByteVector tableHuitVoisins = ByteVector.fromArray(ESPECE, tables, ESPECE.length());
+        int index = debut;
+        for (int borne = debut + ESPECE.loopBound(fin - debut); index < borne; index += ESPECE.length()) {
+            ByteVector voisins = ByteVector.fromArray(ESPECE, courante, index - largeur - 1)
+                    .add(ByteVector.fromArray(ESPECE, courante, index - largeur))
+                    .add(ByteVector.fromArray(ESPECE, courante, index - largeur + 1))
+                    .add(ByteVector.fromArray(ESPECE, courante, index - 1))
+                    .add(ByteVector.fromArray(ESPECE, courante, index + 1))
+                    .add(ByteVector.fromArray(ESPECE, courante, index + largeur - 1))
+                    .add(ByteVector.fromArray(ESPECE, courante, index + largeur))
+                    .add(ByteVector.fromArray(ESPECE, courante, index + largeur + 1));
+            ByteVector cellules = ByteVector.fromArray(ESPECE, courante, index);
+            // Chaque voie lit sa propre case de la table : l'état de la cellule puis ses voisins modulo 8, le cas des 8 voisins étant lu à part.
+            ByteVector etats = voisins.and((byte) 7).or(cellules.lanewise(VectorOperators.LSHL, 3));
+            etats.selectFrom(table)
+                    .blend(cellules.selectFrom(tableHuitVoisins), voisins.eq((byte) 8))
+                    .intoArray(suivante, index);
+        }
+        return index;
+
+    }
+
+}
@@ -0,0 +1,211 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * L'Ordonnanceur cadence un nombre quelconque de simulations simultanées.
+ * Chaque simulation est représentée par une tâche qui enchaîne ses générations à intervalle fixe et exécute les commandes qu'elle reçoit
+ * entre deux générations, jamais en même temps qu'une génération.
+ * Les générations et les commandes sont exécutées sur des fils virtuels : une tâche en pause ou en attente de sa prochaine échéance
+ * n'occupe aucun fil, seul un unique fil d'horloge réveille les tâches à leurs échéances.
+ * Les échéances sont calculées à partir de la précédente et non de la fin de la génération,
+ * le temps de calcul d'une génération ne décale donc pas la cadence.
+ * @author Velki0
+ * @version 1.0
+ */
+public class Ordonnanceur {
+
+    /** Ordonnanceur partagé par toutes les simulations de l'application. */
+    protected static final Ordonnanceur PARTAGE = new Ordonnanceur();
+    /** Durée maximale en nanosecondes pendant laquelle une tâche à pleine vitesse garde son fil avant de le rendre. */
+    private static final long TRANCHE = 1_000_000L;
+
+    /** Horloge réveillant les tâches à leurs échéances. */
+    private final ScheduledExecutorService horloge;
+    /** Exécuteur des générations et des commandes, un fil virtuel par exécution. */
+    private final ExecutorService executeur;
+
+    /**
+     * Constructeur d'un ordonnanceur dont l'horloge tourne sur un fil démon.
+     */
+    protected Ordonnanceur() {
+
+        horloge = Executors.newSingleThreadScheduledExecutor(tache -> {
+            Thread fil = new Thread(tache, "Horloge des simulations");
+            fil.setDaemon(true);
+            return fil;
+        });
+        executeur = Executors.newVirtualThreadPerTaskExecutor();
+
+    }
+
+    /**
+     * Méthode créant une nouvelle tâche, en pause, cadencée par cet ordonnanceur.
+     * @param generation Calcul d'une génération de la simulation.
+     * @return La tâche créée.
+     */
+    protected Tache planifier(Runnable generation) { return new Tache(generation); }
+
+    /**
+     * Une Tache enchaîne les générations d'une simulation et exécute ses commandes une par une.
+     * Une seule exécution de la tâche est en cours à tout instant, la simulation n'a donc besoin d'aucun verrou.
+     */
+    protected final class Tache {
+
+        /** Calcul d'une génération de la simulation. */
+        private final Runnable generation;
+        /** Commandes en attente, exécutées avant la génération suivante. */
+        private final Queue<Runnable> commandes;
+        /** Indique si les générations s'enchaînent. */
+        private volatile boolean enMarche;
+        /** Intervalle entre deux générations en nanosecondes, 0 pour enchaîner les générations sans attendre. */
+        private volatile long periode;
+        /** Échéance de la prochaine génération, en nanosecondes. */
+        private long echeance;
+        /** Indique qu'une exécution de la tâche est prévue ou en cours sur un fil virtuel. */
+        private boolean active;
+        /** Réveil programmé sur l'horloge pour la prochaine échéance. */
+        private ScheduledFuture<?> reveil;
+
+        /**
+         * Constructeur d'une tâche en pause.
+         * @param generation Calcul d'une génération de la simulation.
+         */
+        private Tache(Runnable generation) {
+
+            this.generation = generation;
+            this.commandes = new ConcurrentLinkedQueue<>();
+
+        }
+
+        /**
+         * Méthode confiant une commande à la tâche, exécutée dès que la génération en cours est terminée.
+         * Une génération isolée peut ainsi être calculée en pause en transmettant le calcul d'une génération comme commande.
+         * @param commande Commande à exécuter.
+         */
+        protected void executer(Runnable commande) {
+
+            commandes.add(commande);
+            reveiller();
+
+        }
+
+        /**
+         * Méthode mettant en marche ou en pause l'enchaînement des générations, sans créer ni arrêter aucun fil.
+         * À la reprise, la cadence repart de l'instant présent.
+         * @param marche Valeur booléenne définissant si les générations doivent s'enchaîner ('true') ou non ('false').
+         */
+        protected void setEnMarche(boolean marche) {
+
+            enMarche = marche;
+            if (marche) {
+                executer(() -> echeance = System.nanoTime());
+            }
+
+        }
+
+        /**
+         * Getter afin de savoir si les générations s'enchaînent.
+         * @return 'true' si la tâche est en marche.
+         */
+        protected boolean isEnMarche() { return enMarche; }
+
+        /**
+         * Setter pour fixer l'intervalle entre deux générations.
+         * @param periode Intervalle en nanosecondes, 0 pour enchaîner les générations aussi vite que possible.
+         */
+        protected void setPeriode(long periode) { this.periode = periode; }
+
+        /**
+         * Méthode lançant une exécution de la tâche si aucune n'est déjà prévue, en annulant le réveil éventuellement programmé.
+         */
+        private synchronized void reveiller() {
+
+            if (!active) {
+                if (reveil != null) {
+                    reveil.cancel(false);
+                    reveil = null;
+                }
+                active = true;
+                executeur.execute(this::derouler);
+            }
+
+        }
+
+        /**
+         * Méthode appelée par l'horloge à l'échéance de la prochaine génération.
+         */
+        private synchronized void sonner() {
+
+            reveil = null;
+            if (!active) {
+                active = true;
+                executeur.execute(this::derouler);
+            }
+
+        }
+
+        /**
+         * Exécution de la tâche sur un fil virtuel.
+         * Les commandes en attente sont exécutées, puis les générations arrivées à échéance sont calculées.
+         * À pleine vitesse, les générations s'enchaînent pendant une tranche de temps avant que le fil ne soit rendu.
+         * Si la tâche a pris plus d'une période de retard, la cadence repart de l'instant présent
+         * plutôt que d'enchaîner les générations en retard.
+         * Une erreur pendant une génération ou une commande met la tâche en pause.
+         */
+        private void derouler() {
+
+            long finTranche = System.nanoTime() + TRANCHE;
+            try {
+                while (true) {
+                    Runnable commande;
+                    while ((commande = commandes.poll()) != null) {
+                        commande.run();
+                    }
+                    long maintenant = System.nanoTime();
+                    if (!enMarche || maintenant < echeance || maintenant >= finTranche) {
+                        break;
+                    }
+                    generation.run();
+                    long intervalle = periode;
+                    echeance += intervalle;
+                    if (echeance < maintenant - intervalle) {
+                        echeance = maintenant;
+                    }
+                }
+            } catch (RuntimeException | Error erreur) {
+                enMarche = false;
+                throw erreur;
+            } finally {
+                planifierSuite();
+            }
+
+        }
+
+        /**
+         * Méthode programmant l'exécution suivante de la tâche : immédiatement si des commandes attendent
+         * ou si la prochaine génération est déjà à échéance, sur l'horloge si elle est à venir, jamais si la tâche est en pause.
+         */
+        private synchronized void planifierSuite() {
+
+            long attente = echeance - System.nanoTime();
+            if (!commandes.isEmpty() || (enMarche && attente <= 0)) {
+                executeur.execute(this::derouler);
+            } else {
+                active = false;
+                if (enMarche) {
+                    reveil = horloge.schedule(this::sonner, attente, TimeUnit.NANOSECONDS);
+                }
+            }
+
+        }
+
+    }
+
+}
@@ -1,36 +1,216 @@
 package fr.baptistegerardin.jeudelavie.entites;
 
-import fr.baptistegerardin.jeudelavie.exceptions.ModeleRenseigneNonConforme;
-
 import javax.swing.JPanel;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.beans.Transient;
-import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Le PlateauDeJeu est une entité graphique représentant la vie de l'automate.
- * Il est composé de l'automate, du numéro de la génération en cours et de d'autres informations graphiques comme :
- * - Une grille de pixels.
+ * Il affiche une simulation, qui regroupe l'automate, le numéro de la génération en cours et les paramètres de calcul,
+ * et possède d'autres informations graphiques comme :
  * - Une taille de pixels.
  * - Une vitesse d'actualisation de la grille.
+ * La simulation n'est manipulée que par sa tâche, cadencée par l'ordonnanceur partagé : les demandes de l'interface (chargement,
+ * réinitialisation, redimensionnement, ...) lui sont transmises comme commandes et exécutées entre deux générations.
+ * Le fil de Swing n'attend jamais ces commandes : chacune renvoie un résultat complété sur le fil de Swing une fois exécutée,
+ * auquel l'interface enchaîne la suite de son traitement.
+ * Après chaque génération, la tâche publie un instantané immuable de son état, lu par l'interface sans verrou.
+ * Lorsque l'interface réclame une nouvelle image, elle dessine l'automate à raison d'un pixel par cellule dans une trame hors écran,
+ * échangée avec l'interface par triple tampon : ni la tâche de simulation ni le fil de Swing n'attendent jamais l'autre
+ * et une image n'est jamais affichée à moitié dessinée.
+ * Une minuterie Swing affiche la dernière trame IMAGES_PAR_SECONDE fois par seconde au plus, en sautant les générations intermédiaires.
+ * Le plateau est affiché dans une zone de défilement : seule la vue visible est dessinée, quelle que soit la taille de la grille.
+ * Lorsque le zoom est réduit sous un pixel par cellule, chaque pixel représente un bloc de cellules et s'allume si l'une d'elles est vivante,
+ * le coût du dessin suit ainsi le nombre de pixels affichés et non le nombre de cellules de la grille.
+ * Lorsque la simulation atteint une structure stable ou périodique, le plateau peut se mettre de lui-même en pause :
+ * la propriété 'enMarche' passe alors à 'false', afin que l'interface mette à jour ses menus.
+ * Les mesures de la simulation (population, naissances, morts, durées de calcul et de dessin) sont publiées par JMX tant que le plateau est affiché,
+ * puis retirées lorsqu'il est retiré de sa fenêtre, et peuvent être journalisées dans un fichier CSV.
  * @author Velki0
  * @version 1.0
  */
-public class PlateauDeJeu extends JPanel implements Runnable {
-
-    /** Automate cellulaire du plateau. */
-    private Automate automate;
-    /** Grille permettant l'affichage graphique. */
-    private boolean[][] grille;
-    /** Numéro de la génération en cours. */
-    private int generation;
+public class PlateauDeJeu extends JPanel implements Scrollable {
+
+    /** Nombre maximal d'images dessinées par seconde. */
+    private static final int IMAGES_PAR_SECONDE = 60;
+    /** Durée en nanosecondes sur laquelle les débits de générations et d'images sont mesurés. */
+    private static final long DUREE_MESURE = 500_000_000L;
+    /** Couleur des cellules vivantes. */
+    private static final int COULEUR_VIVANTE = Color.red.getRGB();
+    /** Taille maximale des cellules en pixels. */
+    private static final int TAILLE_CELLULES_MAXIMALE = 10;
+    /** Nombre maximal de cellules représentées par un pixel, sur chaque axe. */
+    private static final int REDUCTION_MAXIMALE = 1024;
+    /** Nombre maximal de lignes et de colonnes dessinées tant que l'interface n'a pas indiqué la vue affichée. */
+    private static final int VUE_INITIALE = 1024;
+    /** Durée en nanosecondes d'une tranche de calcul vers une génération ultérieure, entre lesquelles la tâche exécute les autres commandes. */
+    private static final long DUREE_TRANCHE_SAUT = 50_000_000L;
+    /** Pas de défilement en pixels. */
+    private static final int PAS_DEFILEMENT = 16;
+    /** Nombre de plateaux créés, utilisé pour nommer leurs mesures publiées par JMX. */
+    private static final AtomicInteger PLATEAUX_CREES = new AtomicInteger();
+
+    /** Nom sous lequel les mesures de la simulation sont publiées par JMX tant que le plateau est affiché. */
+    private final String nomMesures;
+    /** Simulation affichée par le plateau, manipulée uniquement par sa tâche. */
+    private final Simulation simulation;
+    /** Tâche enchaînant les générations de la simulation et exécutant les commandes de l'interface. */
+    private final Ordonnanceur.Tache tache;
+    /** Dernier instantané publié par la tâche de simulation. */
+    private volatile Instantane instantane;
     /** Taille des cellules en nombre de pixels pour l'affichage. */
     private int tailleCellules;
+    /** Nombre de cellules représentées par un pixel sur chaque axe, supérieur à 1 lorsque le zoom est réduit sous un pixel par cellule. */
+    private int reduction;
+    /** Vue que l'interface souhaite afficher, 'null' pour le coin supérieur gauche de la grille tant qu'elle n'a rien affiché. */
+    private volatile Vue vueDemandee;
+    /** Indique qu'une commande de dessin de la vue demandée est déjà en attente. */
+    private final AtomicBoolean redessinPrevu;
     /** Vitesse d'actualisation à laquelle le jeu évolue. */
     private int vitesseActualisation;
+    /** Indique si le jeu se met en pause dès qu'une structure stable ou périodique est atteinte. */
+    private volatile boolean pauseSurCycle;
+    /** Couleur des cellules mortes. */
+    private final int couleurMorte;
+    /** Trame en cours de dessin, propriété de la tâche de simulation. */
+    private Trame trameArriere;
+    /** Dernière trame publiée, échangée atomiquement entre les deux fils. */
+    private final AtomicReference<Trame> trameIntermediaire;
+    /** Trame affichée, propriété du fil de Swing. */
+    private Trame trameAffichee;
+    /** Numéro de la dernière trame publiée. */
+    private long numeroTrame;
+    /** Indique que l'interface attend une nouvelle trame. */
+    private final AtomicBoolean trameDemandee;
+    /** Indique qu'un rafraîchissement de l'interface est déjà prévu sur le fil de Swing. */
+    private final AtomicBoolean rafraichissementPrevu;
+    /** Minuterie cadençant l'affichage, active tant que le plateau est affiché. */
+    private final Timer minuterieAffichage;
+    /** Nombre d'images dessinées depuis le début de la mesure en cours. */
+    private int imagesDessinees;
+    /** Instant du début de la mesure en cours, en nanosecondes. */
+    private long debutMesure;
+    /** Numéro de la génération au début de la mesure en cours. */
+    private long generationDebutMesure;
+    /** Dernier débit de simulation mesuré, en générations par seconde. */
+    private double generationsParSeconde;
+    /** Dernier débit d'affichage mesuré, en images par seconde. */
+    private double imagesParSeconde;
+
+    /**
+     * Une Trame est une image de l'automate prête à être affichée.
+     * Trois trames circulent entre la tâche de simulation et le fil de Swing, aucune n'étant jamais lue et écrite en même temps.
+     */
+    private static final class Trame {
+
+        /** Numéro de publication de la trame, croissant. */
+        private long numero;
+        /** Vue dessinée dans la trame. */
+        private Vue vue;
+        /** Image contenant un pixel par cellule, recréée uniquement quand la taille de la grille change. */
+        private BufferedImage image;
+        /** Raster de l'image, écrit directement par l'automate. */
+        private int[] pixels;
+
+    }
+
+    /**
+     * Une Vue est la région rectangulaire de la grille affichée à l'écran, avec son niveau de réduction.
+     * Son origine est alignée sur la réduction afin que les blocs de cellules restent les mêmes pendant le défilement.
+     */
+    private static final class Vue {
+
+        /** Première ligne de la vue. */
+        private final int ligneDebut;
+        /** Première colonne de la vue. */
+        private final int colonneDebut;
+        /** Nombre de lignes de la vue. */
+        private final int lignes;
+        /** Nombre de colonnes de la vue. */
+        private final int colonnes;
+        /** Nombre de cellules représentées par un pixel, sur chaque axe. */
+        private final int reduction;
+
+        /**
+         * Constructeur d'une vue contenue dans une grille, les bornes demandées étant ramenées dans la grille.
+         * @param ligneDebut Première ligne souhaitée.
+         * @param colonneDebut Première colonne souhaitée.
+         * @param ligneFin Ligne suivant la dernière ligne souhaitée.
+         * @param colonneFin Colonne suivant la dernière colonne souhaitée.
+         * @param reduction Nombre de cellules représentées par un pixel.
+         * @param lignesTotales Nombre de lignes de la grille.
+         * @param colonnesTotales Nombre de colonnes de la grille.
+         */
+        private Vue(int ligneDebut, int colonneDebut, int ligneFin, int colonneFin, int reduction, int lignesTotales, int colonnesTotales) {
+
+            this.ligneDebut = Math.max(0, Math.min(ligneDebut, (lignesTotales - 1) / reduction * reduction));
+            this.colonneDebut = Math.max(0, Math.min(colonneDebut, (colonnesTotales - 1) / reduction * reduction));
+            this.lignes = Math.max(1, Math.min(ligneFin, lignesTotales) - this.ligneDebut);
+            this.colonnes = Math.max(1, Math.min(colonneFin, colonnesTotales) - this.colonneDebut);
+            this.reduction = reduction;
+
+        }
+
+        @Override
+        public boolean equals(Object objet) {
+
+            return objet instanceof Vue vue && vue.ligneDebut == ligneDebut && vue.colonneDebut == colonneDebut
+                    && vue.lignes == lignes && vue.colonnes == colonnes && vue.reduction == reduction;
+
+        }
+
+        @Override
+        public int hashCode() { return ((ligneDebut * 31 + colonneDebut) * 31 + lignes) * 31 + colonnes; }
+
+    }
+
+    /**
+     * Interface d'une commande exécutée par la tâche de simulation.
+     */
+    @FunctionalInterface
+    private interface Commande {
+
+        /**
+         * Méthode exécutant la commande.
+         * @throws Exception Exception transmise à l'appelant par le résultat de la commande.
+         */
+        void executer() throws Exception;
+
+    }
+
+    /**
+     * Interface d'une commande exécutée par la tâche de simulation et renvoyant une valeur.
+     * @param <T> Type de la valeur renvoyée.
+     */
+    @FunctionalInterface
+    private interface Calcul<T> {
+
+        /**
+         * Méthode exécutant la commande.
+         * @return La valeur remise à l'appelant.
+         * @throws Exception Exception transmise à l'appelant par le résultat de la commande.
+         */
+        T calculer() throws Exception;
+
+    }
 
     /**
      * Constructeur permettant l'initialisation d'une nouvelle grille graphique du Jeu de la Vie.
@@ -38,108 +218,333 @@ public class PlateauDeJeu extends JPanel implements Runnable {
      */
     protected PlateauDeJeu() {
 
-        this.automate = new Automate(80, 80, false);
-        this.grille = new boolean[80][80];
-        generation = 0;
+        simulation = new Simulation(TypeAutomate.BINAIRE, 80, 80);
+        tache = Ordonnanceur.PARTAGE.planifier(this::calculerGeneration);
         tailleCellules = 5;
-        initialiserGrille();
-        vitesseActualisation = 50;
+        reduction = 1;
+        redessinPrevu = new AtomicBoolean();
+        setVitesseActualisation(50);
+        couleurMorte = getBackground().getRGB();
+        trameArriere = new Trame();
+        trameIntermediaire = new AtomicReference<>(new Trame());
+        trameAffichee = new Trame();
+        trameDemandee = new AtomicBoolean();
+        rafraichissementPrevu = new AtomicBoolean();
+        instantane = simulation.capturer();
+        publierTrame();
+        nomMesures = "Plateau " + PLATEAUX_CREES.incrementAndGet();
+        minuterieAffichage = new Timer(1000 / IMAGES_PAR_SECONDE, evenement -> afficherDerniereTrame());
+        debutMesure = System.nanoTime();
+
+    }
+
+    /**
+     * Méthode transmettant une commande à la tâche de simulation, sans attendre son exécution.
+     * @param commande Commande à exécuter.
+     * @return Le résultat de la commande, complété sur le fil de Swing.
+     * @see #calculer(Calcul)
+     */
+    private CompletableFuture<Void> commander(Commande commande) {
+
+        return calculer(() -> {
+            commande.executer();
+            return null;
+        });
 
     }
 
     /**
-     * Méthode d'initialisation de la grille ou chaque élément graphique prend la valeur de la cellule de l'automate qui lui correspond.
+     * Méthode transmettant une commande renvoyant une valeur à la tâche de simulation, sans attendre son exécution.
+     * La commande est exécutée entre deux générations, la simulation n'est donc jamais modifiée en cours de calcul.
+     * L'état de la simulation est publié et une nouvelle trame est dessinée à l'issue de la commande, sauf si elle a échoué.
+     * Le résultat est ensuite complété sur le fil de Swing, qui n'attend ainsi jamais la tâche de simulation et peut enchaîner
+     * directement sur l'interface : une commande échouée y est complétée avec l'exception jetée, telle quelle.
+     * Les erreurs inattendues (RuntimeException et Error) sont de plus rejetées sur le fil de Swing afin de ne jamais passer inaperçues.
+     * @param calcul Commande à exécuter.
+     * @param <T> Type de la valeur renvoyée par la commande.
+     * @return Le résultat de la commande, complété sur le fil de Swing.
      */
-    private void initialiserGrille() {
+    private <T> CompletableFuture<T> calculer(Calcul<T> calcul) {
 
-        for (int x = 0; x < grille.length; x++) {
-            for (int y = 0; y < grille[0].length; y++) {
-                grille[x][y] = automate.getCellules().get(x).get(y).getEnVie() ;
+        CompletableFuture<T> resultat = new CompletableFuture<>();
+        tache.executer(() -> {
+            try {
+                T valeur = calcul.calculer();
+                // L'état est publié avant de compléter le résultat, l'appelant lit ainsi immédiatement le résultat de sa commande.
+                instantane = simulation.capturer();
+                trameDemandee.set(false);
+                publierTrame();
+                resultat.complete(valeur);
+            } catch (Throwable erreur) {
+                resultat.completeExceptionally(erreur);
+            }
+        });
+        CompletableFuture<T> surSwing = new CompletableFuture<>();
+        resultat.whenComplete((valeur, erreur) -> SwingUtilities.invokeLater(() -> {
+            rafraichirAffichage();
+            if (erreur == null) {
+                surSwing.complete(valeur);
+                return;
+            }
+            surSwing.completeExceptionally(erreur);
+            if (erreur instanceof RuntimeException inattendue) {
+                throw inattendue;
             }
+            if (erreur instanceof Error inattendue) {
+                throw inattendue;
+            }
+        }));
+        return surSwing;
+
+    }
+
+    /**
+     * Méthode renvoyant l'exception jetée par une commande, débarrassée de l'enveloppe ajoutée par les étapes enchaînées à son résultat.
+     * @param erreur Erreur reçue par une étape enchaînée au résultat d'une commande.
+     * @return L'exception jetée par la commande.
+     */
+    protected static Throwable cause(Throwable erreur) { return erreur instanceof CompletionException enveloppe && enveloppe.getCause() != null ? enveloppe.getCause() : erreur; }
+
+    /**
+     * Méthode dessinant la génération en cours dans la trame arrière, puis l'échangeant avec la trame intermédiaire.
+     * Cette méthode n'est appelée que par la tâche de simulation.
+     */
+    protected void publierTrame() {
+
+        long debut = System.nanoTime();
+        Automate automate = simulation.getAutomate();
+        int lignesTotales = automate.getLignesTotales();
+        int colonnesTotales = automate.getColonnesTotales();
+        Vue demandee = vueDemandee;
+        // La vue demandée est ramenée dans la grille, dont la taille a pu changer depuis la demande.
+        Vue vue = demandee == null
+                ? new Vue(0, 0, VUE_INITIALE, VUE_INITIALE, 1, lignesTotales, colonnesTotales)
+                : new Vue(demandee.ligneDebut, demandee.colonneDebut, demandee.ligneDebut + demandee.lignes, demandee.colonneDebut + demandee.colonnes,
+                        demandee.reduction, lignesTotales, colonnesTotales);
+        int largeurImage = (vue.colonnes + vue.reduction - 1) / vue.reduction;
+        int hauteurImage = (vue.lignes + vue.reduction - 1) / vue.reduction;
+        Trame trame = trameArriere;
+        if (trame.image == null || trame.image.getWidth() != largeurImage || trame.image.getHeight() != hauteurImage) {
+            trame.image = new BufferedImage(largeurImage, hauteurImage, BufferedImage.TYPE_INT_RGB);
+            trame.pixels = ((DataBufferInt) trame.image.getRaster().getDataBuffer()).getData();
         }
-        JeuDeLaVie.setGenerationLabel("Génération : " + generation);
-        repaint();
+        automate.dessiner(trame.pixels, vue.ligneDebut, vue.colonneDebut, vue.lignes, vue.colonnes, vue.reduction, COULEUR_VIVANTE, couleurMorte);
+        trame.vue = vue;
+        trame.numero = ++numeroTrame;
+        trameArriere = trameIntermediaire.getAndSet(trame);
+        simulation.getMetriques().enregistrerRendu(System.nanoTime() - debut);
 
     }
 
     /**
-     * Méthode de réinitialisation du plateau de jeu pour obtenir une grille vierge.
+     * Méthode demandant à la tâche de simulation de dessiner la vue demandée sans attendre la prochaine génération, par exemple après un défilement.
+     * Les demandes successives sont regroupées en un seul dessin.
+     */
+    private void redessiner() {
+
+        if (redessinPrevu.compareAndSet(false, true)) {
+            tache.executer(() -> {
+                redessinPrevu.set(false);
+                trameDemandee.set(false);
+                publierTrame();
+            });
+        }
+
+    }
+
+    /**
+     * Méthode de rafraîchissement de l'affichage du plateau de jeu, utilisable depuis n'importe quel fil d'exécution.
+     * Les demandes successives sont regroupées en un seul rafraîchissement sur le fil de Swing.
+     */
+    private void rafraichirAffichage() {
+
+        if (rafraichissementPrevu.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                rafraichissementPrevu.set(false);
+                Instantane etat = instantane;
+                JeuDeLaVie.setGenerationLabel(String.format(Locale.ROOT, "Génération : %d  |  Population : %d  |  %.0f gén/s  |  %.0f img/s%s",
+                        etat.getGeneration(), etat.getPopulation(), generationsParSeconde, imagesParSeconde, libelleCycle(etat.getPeriode())));
+                repaint();
+            });
+        }
+
+    }
+
+    /**
+     * Méthode renvoyant le libellé du cycle atteint, ajouté au numéro de la génération.
+     * @param periode Période du cycle, 1 pour une structure stable, 0 si aucun cycle n'a été détecté.
+     * @return Le libellé du cycle, vide si aucun cycle n'a été détecté.
+     */
+    private static String libelleCycle(long periode) {
+
+        if (periode == 0) {
+            return "";
+        }
+        return periode == 1 ? "  |  structure stable" : "  |  période " + periode;
+
+    }
+
+    /**
+     * Méthode appelée par la minuterie d'affichage sur le fil de Swing.
+     * Le plateau n'est redessiné que si une nouvelle trame a été publiée depuis la dernière image,
+     * les générations calculées entre deux images ne sont donc jamais dessinées.
+     */
+    private void afficherDerniereTrame() {
+
+        long maintenant = System.nanoTime();
+        long generation = instantane.getGeneration();
+        if (maintenant - debutMesure >= DUREE_MESURE) {
+            double secondes = (maintenant - debutMesure) / 1e9;
+            generationsParSeconde = Math.max(0, generation - generationDebutMesure) / secondes;
+            imagesParSeconde = imagesDessinees / secondes;
+            debutMesure = maintenant;
+            generationDebutMesure = generation;
+            imagesDessinees = 0;
+        }
+        if (trameIntermediaire.get().numero > trameAffichee.numero) {
+            rafraichirAffichage();
+        }
+
+    }
+
+    @Override
+    public void addNotify() {
+
+        super.addNotify();
+        simulation.getMetriques().publierJmx(nomMesures);
+        minuterieAffichage.start();
+
+    }
+
+    @Override
+    public void removeNotify() {
+
+        minuterieAffichage.stop();
+        simulation.getMetriques().retirerJmx();
+        super.removeNotify();
+
+    }
+
+    /**
+     * Méthode mettant en marche ou en pause le défilement des générations.
+     * @param marche Valeur booléenne définissant si le jeu doit se mettre en marche ('true') ou en pause ('false').
      */
-    protected void reinitialiserGrille() {
+    protected void setEnMarche(boolean marche) {
 
-        automate.reinitialiserAutomate();
-        generation = 0;
-        initialiserGrille();
+        tache.setEnMarche(marche);
+        if (!marche) {
+            // La génération éventuellement en cours se termine avant que la pause ne soit confirmée, la génération affichée est alors définitive.
+            commander(() -> { });
+        }
 
     }
 
     /**
-     * Méthode pour l'incrémentation d'une génération et la mise à jour du plateau de jeu.
+     * Getter afin de savoir si les générations défilent.
+     * @return 'true' si le jeu est en marche.
+     */
+    protected boolean isEnMarche() { return tache.isEnMarche(); }
+
+    /**
+     * Méthode calculant une seule génération, utilisée pour avancer pas à pas lorsque le jeu est en pause.
+     * @return Le résultat de la commande, complété sur le fil de Swing.
+     */
+    protected CompletableFuture<Void> avancerUnPas() { return commander(simulation::mettreAJour); }
+
+    /**
+     * Méthode de réinitialisation du plateau de jeu pour obtenir une grille vierge.
+     * @return Le résultat de la commande, complété sur le fil de Swing.
+     */
+    protected CompletableFuture<Void> reinitialiserGrille() { return commander(simulation::reinitialiser); }
+
+    /**
+     * Méthode faisant avancer la simulation vers une génération ultérieure, pendant une tranche de DUREE_TRANCHE_SAUT au plus.
+     * Avec le moteur HashLife, les générations intermédiaires sont franchies par puissances de deux, la durée n'étant vérifiée qu'entre deux puissances.
+     * Les autres moteurs calculent les générations une à une. Dans les deux cas l'appelant enchaîne les tranches jusqu'à atteindre la génération voulue,
+     * et peut s'arrêter entre deux d'entre elles.
+     * @param generationCible Numéro de la génération à atteindre, ignoré s'il n'est pas supérieur à la génération en cours.
+     * @return Le résultat de la commande, complété sur le fil de Swing avec le numéro de la génération atteinte à l'issue de la tranche.
      */
-    private void mettreAJourGrille() {
+    protected CompletableFuture<Long> avancerVers(long generationCible) {
 
-        automate.mettreAJourAutomate();
-        initialiserGrille();
-        generation++;
-        JeuDeLaVie.setGenerationLabel("Génération : " + generation);
+        return calculer(() -> {
+            simulation.avancerVers(generationCible, DUREE_TRANCHE_SAUT);
+            return simulation.getGeneration();
+        });
 
     }
 
+    /**
+     * Getter afin de récupérer le numéro de la génération en cours.
+     * @return Le numéro de la génération en cours.
+     */
+    protected long getGeneration() { return instantane.getGeneration(); }
+
     /**
      * Méthode visant à réarranger le plateau de jeu avec une nouvelle taille défini.
      * Une grille vierge est initialisée.
      * @param lignesTotales Nouveau nombre total de lignes.
      * @param colonnesTotales Nouveau nombre total de colonnes.
+     * @return Le résultat de la commande, complété sur le fil de Swing une fois le plateau redimensionné.
      */
-    protected void rearrangerGrille(int lignesTotales, int colonnesTotales) {
+    protected CompletableFuture<Void> rearrangerGrille(int lignesTotales, int colonnesTotales) {
 
-        grille = new boolean[lignesTotales][colonnesTotales];
-        automate = new Automate(lignesTotales, colonnesTotales, false);
-        generation = 0;
-        revalidate();
-        initialiserGrille();
+        return commander(() -> simulation.redimensionner(lignesTotales, colonnesTotales)).thenRun(this::revalidate);
 
     }
 
     /**
-     * Méthode pour charger un plateau de jeu à partir d'un chemin d'accès vers un fichier .rle ou .txt renseigné par l'utilisateur.
-     * @param chemin Chemin d'accès au fichier du modèle.
-     * @throws IOException Exception jetée si le chemin renvoie sur un fichier introuvable ou non-existant.
-     * @throws ModeleRenseigneNonConforme Exception jetée si le fichier renseigné ne possède pas des attributs conformes de lignes et colonnes.
+     * Méthode pour charger un plateau de jeu à partir d'un modèle .rle ou .txt, ou d'une sauvegarde .jdlv, renseigné par l'utilisateur.
+     * Le fichier est lu et son automate construit au préalable, en arrière-plan, seul l'échange des automates est confié au fil de simulation :
+     * le nouvel automate remplace l'ancien d'un seul coup, entre deux générations.
+     * @param preparation Automate préparé à partir du fichier lu.
+     * @return Le résultat de la commande, complété sur le fil de Swing une fois le plateau redimensionné.
      */
-    protected void chargerModele(Path chemin) throws IOException, ModeleRenseigneNonConforme {
+    protected CompletableFuture<Void> installer(Simulation.Preparation preparation) {
 
-        reinitialiserGrille();
-        this.automate = new Automate(new Modele(chemin));
-        this.grille = new boolean[automate.getLignesTotales()][automate.getColonnesTotales()];
-        generation = 0;
-        revalidate();
-        initialiserGrille();
+        return commander(() -> simulation.installer(preparation)).thenRun(this::revalidate);
 
     }
 
     /**
-     * Méthode redéfinissant le plateau de jeu avec une grille entièrement aléatoire.
+     * Méthode photographiant l'état complet de la simulation, afin de l'enregistrer dans un fichier .jdlv ou de l'exporter au format RLE.
+     * Seule la copie des lignes est confiée au fil de simulation, entre deux générations : le fichier est ensuite écrit sur un autre fil.
+     * @return Le résultat de la commande, complété sur le fil de Swing avec la sauvegarde de la génération en cours.
      */
-    protected void autoRemplissage() {
+    protected CompletableFuture<Sauvegarde> photographier() { return calculer(() -> new Sauvegarde(simulation)); }
 
-        automate = new Automate(grille.length, grille[0].length);
-        generation = 0;
-        initialiserGrille();
+    /**
+     * Méthode ouvrant un journal CSV dans lequel les mesures de chaque génération calculée sont ajoutées.
+     * @param chemin Chemin du fichier CSV, remplacé s'il existe.
+     * @return Le résultat de la commande, complété sur le fil de Swing, en échec avec une IOException si le fichier ne peut pas être créé.
+     */
+    protected CompletableFuture<Void> ouvrirJournal(Path chemin) { return commander(() -> simulation.getMetriques().ouvrirJournal(chemin)); }
 
-    }
+    /**
+     * Méthode fermant le journal CSV des mesures s'il est ouvert.
+     * @return Le résultat de la commande, complété sur le fil de Swing une fois les dernières lignes du journal écrites.
+     */
+    protected CompletableFuture<Void> fermerJournal() { return commander(() -> simulation.getMetriques().fermerJournal()); }
+
+    /**
+     * Méthode redéfinissant le plateau de jeu avec une grille entièrement aléatoire.
+     * @param graine Graine du tirage, une même graine redonnant la même grille.
+     * @param densite Proportion de cellules vivantes, de 0 à 1.
+     * @return Le résultat de la commande, complété sur le fil de Swing.
+     */
+    protected CompletableFuture<Void> autoRemplissage(long graine, double densite) { return commander(() -> simulation.remplirAleatoirement(graine, densite)); }
 
     /**
      * Méthode permettant de récupérer la hauteur du plateau de jeu.
      * @return La hauteur du plateau de jeu en nombre de cellules.
      */
-    protected int getHauteurPlateau() { return grille.length; }
+    protected int getHauteurPlateau() { return instantane.getLignesTotales(); }
 
     /**
      * Méthode permettant de récupérer la largeur du plateau de jeu.
      * @return La largeur du plateau de jeu en nombre de cellules.
      */
-    protected int getLargeurPlateau() { return grille[0].length; }
+    protected int getLargeurPlateau() { return instantane.getColonnesTotales(); }
 
     /**
      * Getter afin de récupérer la taille prévu pour l'affichage de chaque cellule.
@@ -147,12 +552,106 @@ public class PlateauDeJeu extends JPanel implements Runnable {
      */
     protected int getTailleCellules() { return tailleCellules; }
 
+    /**
+     * Méthode agrandissant ou réduisant le zoom d'un cran, en conservant le centre de la vue.
+     * Au-delà d'un pixel par cellule, chaque cran de réduction double le nombre de cellules représentées par un pixel.
+     * @param avant 'true' pour agrandir, 'false' pour réduire.
+     */
+    protected void zoomer(boolean avant) {
+
+        Rectangle visible = getVisibleRect();
+        double centreLigne = visible.getCenterY() * reduction / tailleCellules;
+        double centreColonne = visible.getCenterX() * reduction / tailleCellules;
+        if (avant) {
+            if (reduction > 1) {
+                reduction /= 2;
+            } else {
+                tailleCellules = Math.min(TAILLE_CELLULES_MAXIMALE, tailleCellules + 1);
+            }
+        } else {
+            if (tailleCellules > 1) {
+                tailleCellules--;
+            } else {
+                reduction = Math.min(REDUCTION_MAXIMALE, reduction * 2);
+            }
+        }
+        revalidate();
+        repaint();
+        // Le défilement est ajusté une fois la nouvelle taille du plateau prise en compte par la zone de défilement.
+        SwingUtilities.invokeLater(() -> {
+            Rectangle vue = getVisibleRect();
+            vue.x = (int) (centreColonne * tailleCellules / reduction) - vue.width / 2;
+            vue.y = (int) (centreLigne * tailleCellules / reduction) - vue.height / 2;
+            scrollRectToVisible(vue);
+        });
+
+    }
+
     /**
      * Getter afin de récupérer la vitesse actuelle d'actualisation du plateau de jeu.
      * @return La vitesse d'actualisation en millisecondes (ms).
      */
     protected int getVitesseActualisation() { return vitesseActualisation; }
 
+    /**
+     * Getter afin de savoir si le jeu se met en pause dès qu'une structure stable ou périodique est atteinte.
+     * @return 'true' si la pause automatique est active.
+     */
+    protected boolean isPauseSurCycle() { return pauseSurCycle; }
+
+    /**
+     * Setter pour activer ou désactiver la pause automatique sur une structure stable ou périodique.
+     * @param pauseSurCycle Valeur booléenne définissant si le jeu doit se mettre en pause lorsqu'un cycle est détecté.
+     */
+    protected void setPauseSurCycle(boolean pauseSurCycle) { this.pauseSurCycle = pauseSurCycle; }
+
+    /**
+     * Getter afin de récupérer le moteur de calcul actuellement utilisé.
+     * @return Le type d'automate du plateau de jeu.
+     */
+    protected TypeAutomate getTypeAutomate() { return instantane.getTypeAutomate(); }
+
+    /**
+     * Getter afin de récupérer la règle de naissance et de survie suivie par l'automate.
+     * @return La règle du plateau de jeu.
+     */
+    protected Regle getRegle() { return instantane.getRegle(); }
+
+    /**
+     * Setter pour changer de moteur de calcul et de règle.
+     * La génération en cours est recopiée dans le nouvel automate afin de ne pas interrompre la partie.
+     * @param typeAutomate Nouveau type d'automate.
+     * @param regle Nouvelle règle de naissance et de survie.
+     * @return Le résultat de la commande, complété sur le fil de Swing, en échec avec une RegleNonConforme
+     * si le moteur choisi ne peut pas suivre la règle, rien n'étant alors modifié.
+     */
+    protected CompletableFuture<Void> setMoteur(TypeAutomate typeAutomate, Regle regle) { return commander(() -> simulation.setMoteur(typeAutomate, regle)); }
+
+    /**
+     * Getter afin de récupérer le nombre de fils d'exécution utilisés pour calculer une génération.
+     * @return Le nombre de fils d'exécution.
+     */
+    protected int getNombreDeFils() { return instantane.getNombreDeFils(); }
+
+    /**
+     * Setter pour fixer le nombre de fils d'exécution utilisés pour calculer une génération.
+     * Le résultat de chaque génération est identique quel que soit le nombre de fils choisi.
+     * @param nombreDeFils Nouveau nombre de fils d'exécution.
+     */
+    protected void setNombreDeFils(int nombreDeFils) { commander(() -> simulation.setNombreDeFils(nombreDeFils)); }
+
+    /**
+     * Getter afin de récupérer le comportement de l'automate aux bords de la grille.
+     * @return La topologie du plateau de jeu.
+     */
+    protected Topologie getTopologie() { return instantane.getTopologie(); }
+
+    /**
+     * Setter pour fixer le comportement de l'automate aux bords de la grille.
+     * @param topologie Nouvelle topologie, sans effet sur les moteurs à plan infini.
+     */
+    protected void setTopologie(Topologie topologie) { commander(() -> simulation.setTopologie(topologie)); }
+
     /**
      * Setter pour fixer la nouvelle hauteur et largeur des cellules renseignées par l'utilisateur.
      * @param tailleEnPixels Nouvelle taille d'une cellule comprise entre 1x1 et 10x10 pixels.
@@ -160,6 +659,7 @@ public class PlateauDeJeu extends JPanel implements Runnable {
     protected void setTailleCellules(int tailleEnPixels) {
 
         this.tailleCellules = tailleEnPixels;
+        this.reduction = 1;
         revalidate();
         repaint();
 
@@ -167,50 +667,98 @@ public class PlateauDeJeu extends JPanel implements Runnable {
 
     /**
      * Setter pour fixer la nouvelle vitesse d'actualisation du plateau de jeu.
-     * @param vitesseActualisation Nouvelle vitesse d'actualisation en millisecondes (ms).
+     * @param vitesseActualisation Nouvelle vitesse d'actualisation en millisecondes (ms), 0 pour calculer les générations à pleine vitesse.
      */
-    protected void setVitesseActualisation(int vitesseActualisation) { this.vitesseActualisation = vitesseActualisation; }
+    protected void setVitesseActualisation(int vitesseActualisation) {
+
+        this.vitesseActualisation = vitesseActualisation;
+        tache.setPeriode(TimeUnit.MILLISECONDS.toNanos(vitesseActualisation));
+
+    }
 
     @Override
     @Transient
     public Dimension getPreferredSize() {
 
-        return new Dimension(grille[0].length * tailleCellules, grille.length * tailleCellules);
+        return new Dimension((getLargeurPlateau() + reduction - 1) / reduction * tailleCellules, (getHauteurPlateau() + reduction - 1) / reduction * tailleCellules);
+
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+
+        // La zone affichée ne dépasse pas l'écran, le reste du plateau est accessible par les barres de défilement.
+        Dimension ecran = Toolkit.getDefaultToolkit().getScreenSize();
+        Dimension plateau = getPreferredSize();
+        return new Dimension(Math.min(plateau.width, ecran.width - 100), Math.min(plateau.height, ecran.height - 200));
 
     }
 
+    @Override
+    public int getScrollableUnitIncrement(Rectangle zoneVisible, int orientation, int direction) { return PAS_DEFILEMENT; }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle zoneVisible, int orientation, int direction) {
+
+        return (orientation == SwingConstants.VERTICAL ? zoneVisible.height : zoneVisible.width) - PAS_DEFILEMENT;
+
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() { return false; }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() { return false; }
+
     @Override
     protected void paintComponent(Graphics graph) {
+
         super.paintComponent(graph);
-        Color graphColor = graph.getColor();
-        for (int x = 0; x < grille.length; x++) {
-            for (int y = 0; y < grille[0].length; y++) {
-                if (grille[x][y]) {
-                    graph.setColor(Color.red);
-                    graph.fillRect(y * tailleCellules, x * tailleCellules, tailleCellules, tailleCellules);
-                }
-            }
+        if (trameIntermediaire.get().numero > trameAffichee.numero) {
+            trameAffichee = trameIntermediaire.getAndSet(trameAffichee);
+            trameDemandee.set(true);
+            imagesDessinees++;
+        }
+        Rectangle visible = getVisibleRect();
+        if (visible.isEmpty()) {
+            return;
+        }
+        Vue vue = new Vue(visible.y / tailleCellules * reduction, visible.x / tailleCellules * reduction,
+                (visible.y + visible.height + tailleCellules - 1) / tailleCellules * reduction,
+                (visible.x + visible.width + tailleCellules - 1) / tailleCellules * reduction,
+                reduction, getHauteurPlateau(), getLargeurPlateau());
+        if (!vue.equals(trameAffichee.vue) && !vue.equals(vueDemandee)) {
+            vueDemandee = vue;
+            redessiner();
+        }
+        // En attendant la trame de la nouvelle vue, la trame précédente reste affichée à sa place si elle est au même zoom.
+        Trame trame = trameAffichee;
+        if (trame.image != null && trame.vue.reduction == reduction) {
+            graph.drawImage(trame.image, trame.vue.colonneDebut / reduction * tailleCellules, trame.vue.ligneDebut / reduction * tailleCellules,
+                    trame.image.getWidth() * tailleCellules, trame.image.getHeight() * tailleCellules, null);
         }
-        graph.setColor(graphColor);
 
     }
 
     /**
-     * Boucle d'actualisation du plateau de jeu.
-     * Chaque nouvelle génération est affichée avec un délai prévu par l'attribut 'vitesseActualisation'.
+     * Calcul d'une génération par la tâche de simulation, cadencé par l'ordonnanceur selon la vitesse d'actualisation.
+     * L'affichage n'est pas mis à jour ici : une trame n'est dessinée que si l'interface a affiché la précédente.
+     * Si la pause automatique est active, la tâche se met en pause dès l'entrée dans un cycle, sur la génération qui l'a révélé :
+     * une fois le jeu relancé, ce même cycle ne provoque plus de pause.
      */
-    @Override
-    @SuppressWarnings("BusyWait")
-    public void run() {
-
-        while (!Thread.currentThread().isInterrupted()) {
-            mettreAJourGrille();
-            try {
-                Thread.sleep(vitesseActualisation);
-            } catch (InterruptedException exception) {
-                Thread.currentThread().interrupt();
-                break;
-            }
+    private void calculerGeneration() {
+
+        long periodePrecedente = instantane.getPeriode();
+        simulation.mettreAJour();
+        instantane = simulation.capturer();
+        if (pauseSurCycle && periodePrecedente == 0 && instantane.getPeriode() > 0) {
+            tache.setEnMarche(false);
+            trameDemandee.set(false);
+            publierTrame();
+            SwingUtilities.invokeLater(() -> firePropertyChange("enMarche", true, false));
+            rafraichirAffichage();
+        } else if (trameDemandee.getAndSet(false)) {
+            publierTrame();
         }
 
     }
@@ -0,0 +1,409 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import fr.baptistegerardin.jeudelavie.exceptions.RegleNonConforme;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * La RechercheDeSoupes fait évoluer en ligne de commande un grand nombre de soupes, c'est-à-dire de grilles remplies au hasard,
+ * afin d'en tirer des statistiques : durée de vie, période de la structure finale et population finale.
+ * Chaque soupe évolue jusqu'à atteindre une structure stable ou périodique, ou jusqu'au nombre maximal de générations.
+ * Sa durée de vie est le numéro de la première génération de cette structure finale.
+ * La soupe numéro 'n' est tirée avec la graine 'graine + n' : elle peut ainsi être retrouvée seule, par exemple avec le menu Auto remplissage.
+ * Les soupes sont réparties entre plusieurs fils d'exécution, chacun disposant de sa propre simulation, créée une fois pour toutes
+ * et remplie à nouveau en place pour chaque soupe : avec les moteurs sur grille, aucune grille n'est allouée pendant la recherche,
+ * seuls les générateurs du tirage étant créés pour chaque soupe. Les moteurs sur plan infini allouent en revanche leurs cellules au fil des générations.
+ * Exemple : --headless --soups 10000 --taille 64x64 --generations 5000 --out soupes.csv [--densite 0.5] [--graine 1] [--fils 8]
+ * [--moteur BINAIRE] [--topologie TORIQUE] [--regle B36/S23] [--histogram durees.csv]
+ * @author Velki0
+ * @version 1.0
+ */
+public final class RechercheDeSoupes {
+
+    /** Dimensions des soupes. */
+    private final int lignesTotales, colonnesTotales;
+    /** Proportion de cellules vivantes des soupes. */
+    private final double densite;
+    /** Graine de la première soupe, les suivantes étant tirées avec les graines suivantes. */
+    private final long graine;
+    /** Nombre maximal de générations calculées pour chaque soupe. */
+    private final long generationsMaximales;
+    /** Moteur de calcul des soupes. */
+    private final TypeAutomate typeAutomate;
+    /** Comportement des soupes aux bords de la grille. */
+    private final Topologie topologie;
+    /** Règle suivie par les soupes. */
+    private final Regle regle;
+
+    /**
+     * Constructeur d'une recherche.
+     * @param lignesTotales Nombre de lignes des soupes.
+     * @param colonnesTotales Nombre de colonnes des soupes.
+     * @param densite Proportion de cellules vivantes des soupes, de 0 à 1.
+     * @param graine Graine de la première soupe.
+     * @param generationsMaximales Nombre maximal de générations calculées pour chaque soupe.
+     * @param typeAutomate Moteur de calcul des soupes.
+     * @param topologie Comportement des soupes aux bords de la grille.
+     * @param regle Règle suivie par les soupes.
+     * @throws IllegalArgumentException Exception jetée si la densité n'est pas comprise entre 0 et 1.
+     */
+    protected RechercheDeSoupes(int lignesTotales, int colonnesTotales, double densite, long graine, long generationsMaximales,
+                                TypeAutomate typeAutomate, Topologie topologie, Regle regle) {
+
+        if (!(densite >= 0 && densite <= 1)) {
+            throw new IllegalArgumentException("La densité des soupes doit être comprise entre 0 et 1 : " + densite);
+        }
+        this.lignesTotales = lignesTotales;
+        this.colonnesTotales = colonnesTotales;
+        this.densite = densite;
+        this.graine = graine;
+        this.generationsMaximales = generationsMaximales;
+        this.typeAutomate = typeAutomate;
+        this.topologie = topologie;
+        this.regle = regle;
+
+    }
+
+    /**
+     * Méthode faisant évoluer toutes les soupes, réparties entre plusieurs fils d'exécution.
+     * Chaque fil prend la prochaine soupe restante dès qu'il a terminé la précédente, les soupes longues n'en retardant ainsi aucune autre.
+     * Les résultats ne dépendent pas du nombre de fils.
+     * @param nombreDeSoupes Nombre de soupes à faire évoluer.
+     * @param nombreDeFils Nombre de fils d'exécution, chacun faisant évoluer une soupe à la fois.
+     * @return Les résultats de chaque soupe.
+     * @throws RegleNonConforme Exception jetée si la règle ne peut pas être suivie par le moteur choisi.
+     * @throws InterruptedException Exception jetée si le fil appelant est interrompu pendant la recherche.
+     */
+    protected Resultats rechercher(int nombreDeSoupes, int nombreDeFils) throws RegleNonConforme, InterruptedException {
+
+        Resultats resultats = new Resultats(nombreDeSoupes);
+        AtomicInteger prochaineSoupe = new AtomicInteger();
+        // Les simulations sont préparées avant la recherche, une règle refusée par le moteur est ainsi signalée immédiatement.
+        List<Simulation> simulations = new ArrayList<>();
+        for (int fil = 0; fil < Math.max(1, Math.min(nombreDeFils, nombreDeSoupes)); fil++) {
+            Simulation simulation = new Simulation(typeAutomate, lignesTotales, colonnesTotales);
+            simulation.setTopologie(topologie);
+            simulation.setMoteur(typeAutomate, regle);
+            simulations.add(simulation);
+        }
+        try (ExecutorService executeur = Executors.newFixedThreadPool(simulations.size())) {
+            List<Future<?>> taches = new ArrayList<>();
+            for (Simulation simulation : simulations) {
+                taches.add(executeur.submit(() -> explorer(simulation, resultats, prochaineSoupe)));
+            }
+            try {
+                for (Future<?> tache : taches) {
+                    tache.get();
+                }
+            } catch (ExecutionException exception) {
+                throw exception.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(exception.getCause());
+            } finally {
+                executeur.shutdownNow();
+            }
+        }
+        return resultats;
+
+    }
+
+    /**
+     * Méthode faisant évoluer les soupes restantes une à une avec la simulation d'un fil, jusqu'à ce qu'il n'en reste plus.
+     * @param simulation Simulation réservée au fil.
+     * @param resultats Résultats de la recherche, dont chaque soupe remplit sa propre case.
+     * @param prochaineSoupe Numéro de la prochaine soupe à faire évoluer.
+     */
+    private void explorer(Simulation simulation, Resultats resultats, AtomicInteger prochaineSoupe) {
+
+        for (int soupe = prochaineSoupe.getAndIncrement(); soupe < resultats.getNombreDeSoupes(); soupe = prochaineSoupe.getAndIncrement()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            simulation.remplirAleatoirement(graine + soupe, densite);
+            while (simulation.getPeriode() == 0 && simulation.getGeneration() < generationsMaximales) {
+                simulation.mettreAJour();
+            }
+            long periode = simulation.getPeriode();
+            resultats.graines[soupe] = graine + soupe;
+            resultats.generations[soupe] = simulation.getGeneration();
+            resultats.periodes[soupe] = periode;
+            resultats.dureesDeVie[soupe] = periode > 0 ? simulation.getGeneration() - periode : -1;
+            resultats.populations[soupe] = simulation.getPopulation();
+        }
+
+    }
+
+    /**
+     * Méthode exécutant la recherche décrite par la ligne de commande, enregistrant son rapport et affichant son bilan.
+     * @param arguments Arguments de la ligne de commande.
+     * @return Le code de retour du programme : 0 en cas de succès, 1 en cas d'échec, 2 si les arguments sont incorrects.
+     */
+    protected static int executer(String[] arguments) {
+
+        int nombreDeSoupes = -1;
+        int lignesTotales = -1, colonnesTotales = -1;
+        long generations = -1;
+        Path sortie = null;
+        Path histogramme = null;
+        double densite = 0.5;
+        long graine = 1;
+        int nombreDeFils = Runtime.getRuntime().availableProcessors();
+        TypeAutomate typeAutomate = TypeAutomate.BINAIRE;
+        Topologie topologie = Topologie.BORNEE;
+        Regle regle = Regle.CONWAY;
+        RechercheDeSoupes recherche;
+        try {
+            for (int index = 0; index < arguments.length; index++) {
+                switch (arguments[index]) {
+                    case "--headless" -> { }
+                    case "--soups" -> nombreDeSoupes = Integer.parseInt(SimulationSansInterface.valeur(arguments, ++index));
+                    case "--taille" -> {
+                        String[] dimensions = SimulationSansInterface.valeur(arguments, ++index).toLowerCase(Locale.ROOT).split("x", -1);
+                        if (dimensions.length != 2) {
+                            throw new IllegalArgumentException("La taille des soupes doit être de la forme <lignes>x<colonnes> : " + arguments[index]);
+                        }
+                        lignesTotales = Integer.parseInt(dimensions[0]);
+                        colonnesTotales = Integer.parseInt(dimensions[1]);
+                    }
+                    case "--generations" -> generations = Long.parseLong(SimulationSansInterface.valeur(arguments, ++index));
+                    case "--out" -> sortie = Paths.get(SimulationSansInterface.valeur(arguments, ++index));
+                    case "--histogram" -> histogramme = Paths.get(SimulationSansInterface.valeur(arguments, ++index));
+                    case "--densite" -> densite = Double.parseDouble(SimulationSansInterface.valeur(arguments, ++index));
+                    case "--graine" -> graine = Long.parseLong(SimulationSansInterface.valeur(arguments, ++index));
+                    case "--fils" -> nombreDeFils = Integer.parseInt(SimulationSansInterface.valeur(arguments, ++index));
+                    case "--moteur" -> typeAutomate = TypeAutomate.valueOf(SimulationSansInterface.valeur(arguments, ++index).toUpperCase(Locale.ROOT));
+                    case "--topologie" -> topologie = Topologie.valueOf(SimulationSansInterface.valeur(arguments, ++index).toUpperCase(Locale.ROOT));
+                    case "--regle" -> regle = Regle.analyser(SimulationSansInterface.valeur(arguments, ++index));
+                    default -> throw new IllegalArgumentException("Argument inconnu : " + arguments[index]);
+                }
+            }
+            if (nombreDeSoupes < 1 || lignesTotales < 1 || colonnesTotales < 1 || generations < 0 || sortie == null) {
+                throw new IllegalArgumentException("Les arguments --soups, --taille, --generations et --out sont obligatoires");
+            }
+            if (nombreDeFils < 1) {
+                throw new IllegalArgumentException("Le nombre de fils doit être au moins égal à 1 : " + nombreDeFils);
+            }
+            if (typeAutomate.expliquerRefus(lignesTotales, colonnesTotales) != null) {
+                throw new IllegalArgumentException(typeAutomate.expliquerRefus(lignesTotales, colonnesTotales));
+            }
+            recherche = new RechercheDeSoupes(lignesTotales, colonnesTotales, densite, graine, generations, typeAutomate, topologie, regle);
+        } catch (IllegalArgumentException | RegleNonConforme exception) {
+            System.err.println(exception.getMessage());
+            System.err.println("Utilisation : --headless --soups <N> --taille <lignes>x<colonnes> --generations <N> --out <soupes.csv> [--densite <0.5>] [--graine <N>] [--fils <N>]"
+                    + " [--moteur CLASSIQUE|VECTORIEL|BINAIRE|HASHLIFE|DISPERSE|GENERATIONS] [--topologie BORNEE|TORIQUE] [--regle <B3/S23>] [--histogram <durees.csv>]");
+            return SimulationSansInterface.ARGUMENTS_INCORRECTS;
+        }
+
+        try {
+            long debut = System.nanoTime();
+            Resultats resultats = recherche.rechercher(nombreDeSoupes, nombreDeFils);
+            double secondes = (System.nanoTime() - debut) / 1e9;
+            resultats.ecrire(sortie);
+            if (histogramme != null) {
+                resultats.ecrireHistogramme(histogramme);
+            }
+            System.out.println("Moteur : " + typeAutomate + ", règle : " + regle + ", topologie : " + topologie + ", fils : " + nombreDeFils);
+            System.out.printf(Locale.ROOT, "Soupes : %d de %dx%d, densité %.3f, graines %d à %d%n",
+                    nombreDeSoupes, lignesTotales, colonnesTotales, densite, graine, graine + nombreDeSoupes - 1);
+            System.out.printf(Locale.ROOT, "Durée : %.3f s, soit %.1f soupes et %.1f générations par seconde%n",
+                    secondes, nombreDeSoupes / secondes, resultats.compterGenerations() / secondes);
+            System.out.println("Soupes stabilisées : " + resultats.compterStabilisees() + " sur " + nombreDeSoupes);
+            System.out.println("Durées de vie :");
+            for (Map.Entry<Long, Integer> classe : resultats.calculerHistogramme().entrySet()) {
+                System.out.printf(Locale.ROOT, "  %s : %d%n", classe.getKey() < 0 ? "non stabilisée" : "de " + classe.getKey() + " à " + finDeClasse(classe.getKey()),
+                        classe.getValue());
+            }
+            System.out.println("Périodes :");
+            for (Map.Entry<Long, Integer> periode : resultats.compterPeriodes().entrySet()) {
+                System.out.printf(Locale.ROOT, "  %s : %d%n", periode.getKey() == 0 ? "aucune" : periode.getKey() == 1 ? "stable" : Long.toString(periode.getKey()),
+                        periode.getValue());
+            }
+            System.out.printf(Locale.ROOT, "Population finale moyenne : %.1f%n", resultats.calculerPopulationMoyenne());
+            return SimulationSansInterface.SUCCES;
+        } catch (IOException exception) {
+            System.err.println("Le rapport ne peut pas être écrit : " + exception.getMessage());
+        } catch (RegleNonConforme exception) {
+            System.err.println("La règle renseignée est non-conforme : " + exception.getMessage());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            System.err.println("La recherche a été interrompue");
+        }
+        return SimulationSansInterface.ECHEC;
+
+    }
+
+    /**
+     * Méthode renvoyant la dernière durée de vie d'une classe de l'histogramme.
+     * @param classe La première durée de vie de la classe, nulle ou puissance de deux.
+     * @return La dernière durée de vie de la classe.
+     */
+    private static long finDeClasse(long classe) { return classe == 0 ? 0 : 2 * classe - 1; }
+
+    /**
+     * Les Resultats d'une recherche rassemblent, pour chaque soupe, sa graine, le nombre de générations calculées,
+     * sa durée de vie, la période de sa structure finale et sa population finale.
+     * Chaque soupe n'étant traitée que par un seul fil, chaque case n'est écrite que par ce fil.
+     */
+    protected static final class Resultats {
+
+        /** En-tête du rapport CSV. */
+        private static final String ENTETE_RAPPORT = "soupe,graine,generations,duree_de_vie,periode,population_finale";
+        /** En-tête de l'histogramme CSV. */
+        private static final String ENTETE_HISTOGRAMME = "duree_de_vie_min,duree_de_vie_max,soupes";
+
+        /** Graine de chaque soupe. */
+        private final long[] graines;
+        /** Nombre de générations calculées pour chaque soupe. */
+        private final long[] generations;
+        /** Durée de vie de chaque soupe, -1 si elle n'a pas atteint de structure stable ou périodique. */
+        private final long[] dureesDeVie;
+        /** Période de la structure finale de chaque soupe, 1 si elle est stable, 0 si elle n'a pas été atteinte. */
+        private final long[] periodes;
+        /** Population finale de chaque soupe. */
+        private final long[] populations;
+
+        /**
+         * Constructeur de résultats vides.
+         * @param nombreDeSoupes Nombre de soupes de la recherche.
+         */
+        private Resultats(int nombreDeSoupes) {
+
+            graines = new long[nombreDeSoupes];
+            generations = new long[nombreDeSoupes];
+            dureesDeVie = new long[nombreDeSoupes];
+            periodes = new long[nombreDeSoupes];
+            populations = new long[nombreDeSoupes];
+
+        }
+
+        /**
+         * Méthode enregistrant une ligne par soupe dans un rapport CSV.
+         * @param chemin Chemin d'accès du rapport.
+         * @throws IOException Exception jetée si le fichier ne peut pas être écrit.
+         */
+        protected void ecrire(Path chemin) throws IOException {
+
+            try (BufferedWriter rapport = Files.newBufferedWriter(chemin, StandardCharsets.UTF_8)) {
+                rapport.write(ENTETE_RAPPORT);
+                rapport.newLine();
+                for (int soupe = 0; soupe < graines.length; soupe++) {
+                    rapport.write(soupe + "," + graines[soupe] + "," + generations[soupe] + "," + dureesDeVie[soupe] + "," + periodes[soupe] + "," + populations[soupe]);
+                    rapport.newLine();
+                }
+            }
+
+        }
+
+        /**
+         * Méthode enregistrant l'histogramme des durées de vie dans un fichier CSV, les soupes non stabilisées formant la classe de -1 à -1.
+         * @param chemin Chemin d'accès de l'histogramme.
+         * @throws IOException Exception jetée si le fichier ne peut pas être écrit.
+         */
+        protected void ecrireHistogramme(Path chemin) throws IOException {
+
+            try (BufferedWriter histogramme = Files.newBufferedWriter(chemin, StandardCharsets.UTF_8)) {
+                histogramme.write(ENTETE_HISTOGRAMME);
+                histogramme.newLine();
+                for (Map.Entry<Long, Integer> classe : calculerHistogramme().entrySet()) {
+                    long fin = classe.getKey() < 0 ? -1 : finDeClasse(classe.getKey());
+                    histogramme.write(classe.getKey() + "," + fin + "," + classe.getValue());
+                    histogramme.newLine();
+                }
+            }
+
+        }
+
+        /**
+         * Méthode comptant les soupes par classe de durée de vie, chaque classe allant d'une puissance de deux à la suivante exclue.
+         * @return Le nombre de soupes de chaque classe, indexé par la première durée de vie de la classe (0, 1, 2, 4, 8, ...) ou par -1 pour les soupes non stabilisées.
+         */
+        protected TreeMap<Long, Integer> calculerHistogramme() {
+
+            TreeMap<Long, Integer> histogramme = new TreeMap<>();
+            for (long dureeDeVie : dureesDeVie) {
+                histogramme.merge(dureeDeVie <= 0 ? dureeDeVie : Long.highestOneBit(dureeDeVie), 1, Integer::sum);
+            }
+            return histogramme;
+
+        }
+
+        /**
+         * Méthode comptant les soupes par période de leur structure finale.
+         * @return Le nombre de soupes de chaque période, 0 regroupant les soupes non stabilisées.
+         */
+        protected TreeMap<Long, Integer> compterPeriodes() {
+
+            TreeMap<Long, Integer> comptes = new TreeMap<>();
+            for (long periode : periodes) {
+                comptes.merge(periode, 1, Integer::sum);
+            }
+            return comptes;
+
+        }
+
+        /**
+         * Méthode comptant les soupes ayant atteint une structure stable ou périodique.
+         * @return Le nombre de soupes stabilisées.
+         */
+        protected int compterStabilisees() {
+
+            int stabilisees = 0;
+            for (long periode : periodes) {
+                if (periode > 0) {
+                    stabilisees++;
+                }
+            }
+            return stabilisees;
+
+        }
+
+        /**
+         * Méthode comptant les générations calculées pour toutes les soupes.
+         * @return Le nombre total de générations.
+         */
+        protected long compterGenerations() {
+
+            long total = 0;
+            for (long generation : generations) {
+                total += generation;
+            }
+            return total;
+
+        }
+
+        /**
+         * Méthode calculant la population finale moyenne des soupes.
+         * @return La population finale moyenne, 0 s'il n'y a aucune soupe.
+         */
+        protected double calculerPopulationMoyenne() {
+
+            long total = 0;
+            for (long population : populations) {
+                total += population;
+            }
+            return populations.length > 0 ? (double) total / populations.length : 0;
+
+        }
+
+        /**
+         * Getter afin de récupérer le nombre de soupes de la recherche.
+         * @return Le nombre de soupes.
+         */
+        protected int getNombreDeSoupes() { return graines.length; }
+
+    }
+
+}
@@ -0,0 +1,244 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import fr.baptistegerardin.jeudelavie.exceptions.RegleNonConforme;
+
+/**
+ * Une Regle décrit un automate cellulaire de la famille du Jeu de la Vie ('Life-like') :
+ * l'état suivant d'une cellule ne dépend que de son état actuel et du nombre de ses huit voisines en vie.
+ * Elle s'écrit 'Bxx/Syy', les chiffres suivant le 'B' (naissance) et le 'S' (survie) étant les nombres de voisins concernés.
+ * Par exemple B3/S23 pour le Jeu de la Vie de Conway, B36/S23 pour HighLife, B2/S pour Seeds ou B3678/S34678 pour Day &amp; Night.
+ * L'ancienne notation 'S/B' sans lettres ('23/3') est également acceptée.
+ * Une règle de la famille 'Generations' ajoute un nombre d'états, 'B2/S/C3' pour Brian's Brain ou '345/2/4' pour Star Wars :
+ * une cellule vivante qui ne survit pas passe par des états mourants successifs (2, 3, ...) avant de redevenir morte,
+ * seules les cellules vivantes (état 1) comptant comme voisines. Seul le moteur Generations peut suivre une telle règle.
+ * La règle est compilée en une table de transition de 18 cases indexée par 'etat * 9 + voisins',
+ * un moteur de calcul obtient ainsi l'état suivant d'une cellule par une seule lecture de tableau.
+ * Une seconde table, étendue à tous les états, sert au moteur Generations.
+ * @author Velki0
+ * @version 1.0
+ */
+public final class Regle {
+
+    /** La règle standard B3/S23 du Jeu de la Vie de Conway. */
+    protected static final Regle CONWAY = new Regle(1 << 3, (1 << 2) | (1 << 3), 2);
+    /** Nombre maximal d'états d'une règle Generations, chaque état tenant dans un octet. */
+    protected static final int NOMBRE_ETATS_MAXIMAL = 256;
+
+    /** Nombres de voisins provoquant une naissance, le bit 'n' correspondant à 'n' voisins. */
+    private final int masqueNaissance;
+    /** Nombres de voisins permettant une survie, le bit 'n' correspondant à 'n' voisins. */
+    private final int masqueSurvie;
+    /** Nombre d'états d'une cellule, 2 pour une règle à deux états (morte ou vivante). */
+    private final int nombreEtats;
+    /** Table de transition, la case 'etat * 9 + voisins' contient l'état suivant (0 ou 1) de la cellule. */
+    private final byte[] transitions;
+    /** Table de transition étendue à tous les états, la case 'etat * 9 + voisins' contient l'état suivant de la cellule. */
+    private final byte[] transitionsEtats;
+
+    /**
+     * Constructeur d'une règle à partir de ses ensembles de naissance et de survie.
+     * @param masqueNaissance Nombres de voisins provoquant une naissance, sous forme de masque de 9 bits.
+     * @param masqueSurvie Nombres de voisins permettant une survie, sous forme de masque de 9 bits.
+     * @param nombreEtats Nombre d'états d'une cellule, de 2 à 256.
+     */
+    private Regle(int masqueNaissance, int masqueSurvie, int nombreEtats) {
+
+        this.masqueNaissance = masqueNaissance;
+        this.masqueSurvie = masqueSurvie;
+        this.nombreEtats = nombreEtats;
+        transitions = new byte[18];
+        for (int voisins = 0; voisins <= 8; voisins++) {
+            transitions[voisins] = (byte) ((masqueNaissance >>> voisins) & 1);
+            transitions[9 + voisins] = (byte) ((masqueSurvie >>> voisins) & 1);
+        }
+        // Une cellule vivante qui ne survit pas devient mourante, une cellule mourante vieillit d'un état quel que soit son voisinage.
+        transitionsEtats = new byte[nombreEtats * 9];
+        for (int voisins = 0; voisins <= 8; voisins++) {
+            transitionsEtats[voisins] = transitions[voisins];
+            transitionsEtats[9 + voisins] = (byte) (isSurvie(voisins) ? 1 : nombreEtats > 2 ? 2 : 0);
+            for (int etat = 2; etat < nombreEtats; etat++) {
+                transitionsEtats[etat * 9 + voisins] = (byte) (etat + 1 < nombreEtats ? etat + 1 : 0);
+            }
+        }
+
+    }
+
+    /**
+     * Méthode lisant une règle écrite en notation 'B/S' ('B36/S23') ou 'S/B' ('23/36'), sans tenir compte de la casse ni des espaces.
+     * Un nombre d'états peut suivre, après un 'C' ou un 'G' ('B2/S/C3') ou après une seconde barre oblique ('345/2/4').
+     * @param notation La règle écrite.
+     * @return La règle correspondante.
+     * @throws RegleNonConforme Exception jetée si la notation n'est pas lisible.
+     */
+    protected static Regle analyser(String notation) throws RegleNonConforme {
+
+        String regle = notation.replace(" ", "").toUpperCase();
+        int masqueNaissance = 0;
+        int masqueSurvie = 0;
+        String etats = "2";
+        if (regle.indexOf('B') >= 0 || regle.indexOf('S') >= 0) {
+            // Notation 'B/S' : chaque chiffre s'ajoute à l'ensemble désigné par la dernière lettre rencontrée.
+            char ensemble = ' ';
+            boolean naissanceLue = false;
+            boolean survieLue = false;
+            boolean etatsLus = false;
+            for (char caractere : regle.toCharArray()) {
+                if (caractere == 'B' && !naissanceLue) {
+                    ensemble = caractere;
+                    naissanceLue = true;
+                } else if (caractere == 'S' && !survieLue) {
+                    ensemble = caractere;
+                    survieLue = true;
+                } else if ((caractere == 'C' || caractere == 'G') && !etatsLus) {
+                    ensemble = 'C';
+                    etatsLus = true;
+                    etats = "";
+                } else if (caractere == '/' && ensemble != ' ') {
+                    ensemble = ' ';
+                } else if (caractere >= '0' && caractere <= '8' && ensemble == 'B') {
+                    masqueNaissance |= 1 << (caractere - '0');
+                } else if (caractere >= '0' && caractere <= '8' && ensemble == 'S') {
+                    masqueSurvie |= 1 << (caractere - '0');
+                } else if (caractere >= '0' && caractere <= '9' && ensemble == 'C') {
+                    etats += caractere;
+                } else {
+                    throw new RegleNonConforme("La règle '" + notation + "' contient un caractère inattendu : '" + caractere + "'");
+                }
+            }
+            if (!naissanceLue || !survieLue) {
+                throw new RegleNonConforme("La règle '" + notation + "' doit préciser ses naissances ('B') et ses survies ('S')");
+            }
+        } else {
+            // Ancienne notation 'S/B' : les survies puis les naissances, séparées par une barre oblique, puis éventuellement le nombre d'états.
+            String[] parties = regle.split("/", -1);
+            if (parties.length < 2 || parties.length > 3) {
+                throw new RegleNonConforme("La règle '" + notation + "' n'est écrite ni sous la forme 'B3/S23' ni sous la forme '23/3'");
+            }
+            masqueSurvie = lireVoisins(parties[0], notation);
+            masqueNaissance = lireVoisins(parties[1], notation);
+            if (parties.length == 3) {
+                etats = parties[2];
+            }
+        }
+        int nombreEtats;
+        try {
+            nombreEtats = Integer.parseInt(etats);
+        } catch (NumberFormatException exception) {
+            throw new RegleNonConforme("La règle '" + notation + "' ne précise pas correctement son nombre d'états");
+        }
+        if (nombreEtats < 2 || nombreEtats > NOMBRE_ETATS_MAXIMAL) {
+            throw new RegleNonConforme("La règle '" + notation + "' doit compter de 2 à " + NOMBRE_ETATS_MAXIMAL + " états");
+        }
+        return new Regle(masqueNaissance, masqueSurvie, nombreEtats);
+
+    }
+
+    /**
+     * Méthode lisant une suite de chiffres de 0 à 8 sous forme de masque de 9 bits.
+     * @param chiffres La suite de chiffres.
+     * @param notation La règle complète, pour le message d'erreur.
+     * @return Le masque des nombres de voisins.
+     * @throws RegleNonConforme Exception jetée si un caractère n'est pas un chiffre de 0 à 8.
+     */
+    private static int lireVoisins(String chiffres, String notation) throws RegleNonConforme {
+
+        int masque = 0;
+        for (char caractere : chiffres.toCharArray()) {
+            if (caractere < '0' || caractere > '8') {
+                throw new RegleNonConforme("La règle '" + notation + "' contient un caractère inattendu : '" + caractere + "'");
+            }
+            masque |= 1 << (caractere - '0');
+        }
+        return masque;
+
+    }
+
+    /**
+     * Getter pour récupérer la table de transition de la règle, indexée par 'etat * 9 + voisins'.
+     * Le tableau est partagé afin d'être lu sans copie dans les boucles de calcul, il ne doit pas être modifié.
+     * @return La table de transition de 18 cases.
+     */
+    protected byte[] getTransitions() { return transitions; }
+
+    /**
+     * Getter pour récupérer la table de transition étendue à tous les états, indexée par 'etat * 9 + voisins' où 'voisins' ne compte que les cellules vivantes.
+     * Le tableau est partagé, il ne doit pas être modifié.
+     * @return La table de transition de 'nombreEtats * 9' cases.
+     */
+    protected byte[] getTransitionsEtats() { return transitionsEtats; }
+
+    /**
+     * Getter pour récupérer le nombre d'états d'une cellule.
+     * @return Le nombre d'états, 2 pour une règle à deux états.
+     */
+    protected int getNombreEtats() { return nombreEtats; }
+
+    /**
+     * Méthode indiquant si la règle appartient à la famille 'Generations', c'est-à-dire si elle compte des états mourants.
+     * Seul le moteur Generations peut alors la suivre.
+     * @return 'true' si la règle compte plus de deux états.
+     */
+    protected boolean isGenerations() { return nombreEtats > 2; }
+
+    /**
+     * Méthode donnant l'état suivant d'une cellule.
+     * @param enVie État actuel de la cellule.
+     * @param voisins Nombre de voisines en vie, de 0 à 8.
+     * @return L'état de la cellule à la génération suivante.
+     */
+    protected boolean prochainEtat(boolean enVie, int voisins) { return transitions[(enVie ? 9 : 0) + voisins] != 0; }
+
+    /**
+     * Méthode indiquant si une cellule morte naît avec un nombre de voisins donné.
+     * @param voisins Nombre de voisines en vie, de 0 à 8.
+     * @return 'true' en cas de naissance.
+     */
+    protected boolean isNaissance(int voisins) { return ((masqueNaissance >>> voisins) & 1) != 0; }
+
+    /**
+     * Méthode indiquant si une cellule vivante survit avec un nombre de voisins donné.
+     * @param voisins Nombre de voisines en vie, de 0 à 8.
+     * @return 'true' en cas de survie.
+     */
+    protected boolean isSurvie(int voisins) { return ((masqueSurvie >>> voisins) & 1) != 0; }
+
+    /**
+     * Méthode indiquant si des cellules naissent sans aucune voisine (règles 'B0').
+     * Le vide devient alors vivant, ce qu'un moteur sur plan infini ne peut pas représenter.
+     * @return 'true' si la règle contient B0.
+     */
+    protected boolean isNaissanceSansVoisin() { return (masqueNaissance & 1) != 0; }
+
+    @Override
+    public boolean equals(Object objet) {
+
+        return objet instanceof Regle autre && autre.masqueNaissance == masqueNaissance && autre.masqueSurvie == masqueSurvie && autre.nombreEtats == nombreEtats;
+
+    }
+
+    @Override
+    public int hashCode() { return (nombreEtats << 18) | (masqueNaissance << 9) | masqueSurvie; }
+
+    @Override
+    public String toString() {
+
+        StringBuilder notation = new StringBuilder("B");
+        for (int voisins = 0; voisins <= 8; voisins++) {
+            if (isNaissance(voisins)) {
+                notation.append(voisins);
+            }
+        }
+        notation.append("/S");
+        for (int voisins = 0; voisins <= 8; voisins++) {
+            if (isSurvie(voisins)) {
+                notation.append(voisins);
+            }
+        }
+        if (isGenerations()) {
+            notation.append("/C").append(nombreEtats);
+        }
+        return notation.toString();
+
+    }
+
+}
@@ -0,0 +1,246 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Un Remplissage tire au hasard les cellules vivantes d'une grille, avec une densité choisie et une graine qui le rend reproductible.
+ * Les cellules sont tirées 64 à la fois, directement dans une grille de bits : chaque mot est obtenu en combinant quelques mots aléatoires
+ * par des ET et des OU suivant les chiffres binaires de la densité (un seul tirage pour 50 %, deux pour 25 % ou 75 %, au plus 16).
+ * La grille est découpée en bandes de lignes de hauteur fixe, chacune recevant son propre générateur issu de la graine par 'SplittableRandom.split' :
+ * les bandes peuvent ainsi être remplies en parallèle, et une même graine donne la même grille quel que soit le nombre de fils d'exécution.
+ * Les lignes sont tirées une à une et transmises directement à la grille remplie : aucune grille intermédiaire n'est allouée.
+ * @author Velki0
+ * @version 1.0
+ */
+public final class Remplissage {
+
+    /** Hauteur des bandes de lignes remplies chacune par son propre générateur, indépendante du nombre de fils. */
+    private static final int LIGNES_PAR_BANDE = 64;
+    /** Nombre de chiffres binaires de la densité, qui est donc arrondie au 65536e le plus proche. */
+    private static final int CHIFFRES_DENSITE = 16;
+
+    /** Graine du remplissage. */
+    private final long graine;
+    /** Densité arrondie, en 65536e : le bit 'n' donne l'opération appliquée avec le 'n'-ième mot tiré. */
+    private final int seuil;
+
+    /**
+     * Constructeur d'un remplissage.
+     * @param graine Graine du générateur, une même graine donnant toujours la même grille.
+     * @param densite Proportion de cellules vivantes, de 0 à 1.
+     * @throws IllegalArgumentException Exception jetée si la densité n'est pas comprise entre 0 et 1.
+     */
+    protected Remplissage(long graine, double densite) {
+
+        if (!(densite >= 0 && densite <= 1)) {
+            throw new IllegalArgumentException("La densité du remplissage doit être comprise entre 0 et 1 : " + densite);
+        }
+        this.graine = graine;
+        this.seuil = (int) Math.round(densite * (1 << CHIFFRES_DENSITE));
+
+    }
+
+    /**
+     * Une Destination reçoit les lignes tirées une à une, sous forme de mots de 64 bits.
+     * Lorsque plusieurs fils remplissent les bandes, elle est appelée en parallèle, pour des lignes toujours différentes.
+     */
+    @FunctionalInterface
+    protected interface Destination {
+
+        /**
+         * Méthode recevant une ligne tirée.
+         * @param ligne Numéro de la ligne.
+         * @param mots Mots de la ligne, le bit 'n' du mot 'm' correspondant à la colonne '64 * m + n', réutilisés pour la ligne suivante.
+         */
+        void recevoir(int ligne, long[] mots);
+
+    }
+
+    /**
+     * Méthode tirant les cellules d'une grille de bits existante, dont toutes les cellules sont remplacées.
+     * @param lignes Grille à remplir, une ligne de mots par ligne.
+     * @param colonnesTotales Nombre de colonnes de la grille, les bits au-delà de la dernière colonne restant nuls.
+     * @param nombreDeFils Nombre de fils d'exécution remplissant les bandes, sans effet sur le résultat.
+     */
+    protected void remplir(long[][] lignes, int colonnesTotales, int nombreDeFils) {
+
+        remplir(lignes.length, colonnesTotales, nombreDeFils, (x, mots) -> System.arraycopy(mots, 0, lignes[x], 0, mots.length));
+
+    }
+
+    /**
+     * Méthode tirant les cellules d'une grille rangée à raison d'un octet par cellule, dont toutes les cellules sont remplacées par 0 ou 1.
+     * Les lignes sont dépliées une à une dans la grille, sans grille de bits intermédiaire.
+     * Les octets situés hors de la grille, comme le halo des moteurs à un octet par cellule, ne sont pas modifiés.
+     * @param cellules Octets de la grille, la cellule (x, y) se trouvant à l'index 'origine + x * largeur + y'.
+     * @param origine Index de la cellule (0, 0).
+     * @param largeur Écart entre les index de deux lignes consécutives.
+     * @param lignesTotales Nombre de lignes de la grille.
+     * @param colonnesTotales Nombre de colonnes de la grille.
+     * @param nombreDeFils Nombre de fils d'exécution remplissant les bandes, sans effet sur le résultat.
+     */
+    protected void remplir(byte[] cellules, int origine, int largeur, int lignesTotales, int colonnesTotales, int nombreDeFils) {
+
+        remplir(lignesTotales, colonnesTotales, nombreDeFils, (x, mots) -> {
+            int debut = origine + x * largeur;
+            for (int y = 0; y < colonnesTotales; y++) {
+                cellules[debut + y] = (byte) ((mots[y >>> 6] >>> y) & 1);
+            }
+        });
+
+    }
+
+    /**
+     * Méthode tirant les lignes d'une grille et les transmettant une à une à une destination, sans jamais allouer la grille entière.
+     * @param lignesTotales Nombre de lignes de la grille.
+     * @param colonnesTotales Nombre de colonnes de la grille, les bits au-delà de la dernière colonne étant nuls.
+     * @param nombreDeFils Nombre de fils d'exécution remplissant les bandes, sans effet sur le résultat.
+     * @param destination Destination des lignes tirées, appelée en parallèle si plusieurs fils sont demandés.
+     */
+    protected void remplir(int lignesTotales, int colonnesTotales, int nombreDeFils, Destination destination) {
+
+        // Les générateurs sont tous issus de la graine, dans l'ordre des bandes, avant tout calcul parallèle.
+        int bandes = (lignesTotales + LIGNES_PAR_BANDE - 1) / LIGNES_PAR_BANDE;
+        SplittableRandom racine = new SplittableRandom(graine);
+        SplittableRandom[] generateurs = new SplittableRandom[bandes];
+        for (int bande = 0; bande < bandes; bande++) {
+            generateurs[bande] = racine.split();
+        }
+        Tirage tirage = new Tirage(destination, lignesTotales, (colonnesTotales + 63) >>> 6,
+                -1L >>> (64 - (colonnesTotales - ((((colonnesTotales + 63) >>> 6) - 1) << 6))), generateurs);
+        if (nombreDeFils > 1 && bandes > 1) {
+            AutomateGrille.getReservoir(nombreDeFils).invoke(new RemplissageBandes(this, tirage, 0, bandes));
+        } else {
+            remplirBandes(tirage, 0, bandes);
+        }
+
+    }
+
+    /**
+     * Méthode remplissant les lignes d'un intervalle de bandes, chaque bande avec son propre générateur.
+     * Les lignes sont tirées dans une seule ligne de mots, réutilisée d'une ligne à l'autre.
+     * @param tirage Paramètres du tirage.
+     * @param debut Première bande (incluse).
+     * @param fin Dernière bande (exclue).
+     */
+    private void remplirBandes(Tirage tirage, int debut, int fin) {
+
+        long[] ligne = new long[tirage.motsParLigne];
+        for (int bande = debut; bande < fin; bande++) {
+            SplittableRandom generateur = tirage.generateurs[bande];
+            for (int x = bande * LIGNES_PAR_BANDE; x < Math.min(tirage.lignesTotales, (bande + 1) * LIGNES_PAR_BANDE); x++) {
+                for (int mot = 0; mot < ligne.length; mot++) {
+                    ligne[mot] = tirerMot(generateur);
+                }
+                ligne[ligne.length - 1] &= tirage.masqueDernierMot;
+                tirage.destination.recevoir(x, ligne);
+            }
+        }
+
+    }
+
+    /**
+     * Méthode tirant un mot de 64 cellules, chacune vivante avec la probabilité demandée.
+     * Les chiffres binaires de la densité sont lus du plus faible au plus fort : un chiffre 1 combine le mot par un OU avec un mot aléatoire,
+     * un chiffre 0 par un ET. Chaque bit vaut ainsi 1 avec une probabilité égale à la densité arrondie.
+     * Les chiffres nuls de poids faible sont sautés, un ET avec un mot encore nul ne le changeant pas.
+     * @param generateur Générateur de la bande.
+     * @return Le mot tiré.
+     */
+    private long tirerMot(SplittableRandom generateur) {
+
+        if (seuil == 0 || seuil == 1 << CHIFFRES_DENSITE) {
+            return seuil == 0 ? 0 : -1L;
+        }
+        long mot = 0;
+        for (int chiffre = Integer.numberOfTrailingZeros(seuil); chiffre < CHIFFRES_DENSITE; chiffre++) {
+            long tirage = generateur.nextLong();
+            mot = ((seuil >>> chiffre) & 1) != 0 ? mot | tirage : mot & tirage;
+        }
+        return mot;
+
+    }
+
+    /**
+     * Un Tirage regroupe les paramètres communs à toutes les bandes d'un même remplissage.
+     */
+    private static final class Tirage {
+
+        /** Destination des lignes tirées. */
+        private final Destination destination;
+        /** Nombre de lignes de la grille. */
+        private final int lignesTotales;
+        /** Nombre de mots de chaque ligne. */
+        private final int motsParLigne;
+        /** Masque des colonnes existantes du dernier mot de chaque ligne. */
+        private final long masqueDernierMot;
+        /** Générateur de chaque bande. */
+        private final SplittableRandom[] generateurs;
+
+        /**
+         * Constructeur d'un tirage.
+         * @param destination Destination des lignes tirées.
+         * @param lignesTotales Nombre de lignes de la grille.
+         * @param motsParLigne Nombre de mots de chaque ligne.
+         * @param masqueDernierMot Masque des colonnes existantes du dernier mot de chaque ligne.
+         * @param generateurs Générateur de chaque bande.
+         */
+        private Tirage(Destination destination, int lignesTotales, int motsParLigne, long masqueDernierMot, SplittableRandom[] generateurs) {
+
+            this.destination = destination;
+            this.lignesTotales = lignesTotales;
+            this.motsParLigne = motsParLigne;
+            this.masqueDernierMot = masqueDernierMot;
+            this.generateurs = generateurs;
+
+        }
+
+    }
+
+    /**
+     * Tâche récursive découpant un intervalle de bandes en deux jusqu'à n'en contenir qu'une, remplie par son propre générateur.
+     */
+    @SuppressWarnings("serial")
+    private static final class RemplissageBandes extends RecursiveAction {
+
+        /** Remplissage dont les bandes sont tirées. */
+        private final Remplissage remplissage;
+        /** Paramètres du tirage. */
+        private final Tirage tirage;
+        /** Première bande (incluse). */
+        private final int debut;
+        /** Dernière bande (exclue). */
+        private final int fin;
+
+        /**
+         * Constructeur d'une tâche de remplissage de bandes.
+         * @param remplissage Remplissage dont les bandes sont tirées.
+         * @param tirage Paramètres du tirage.
+         * @param debut Première bande (incluse).
+         * @param fin Dernière bande (exclue).
+         */
+        private RemplissageBandes(Remplissage remplissage, Tirage tirage, int debut, int fin) {
+
+            this.remplissage = remplissage;
+            this.tirage = tirage;
+            this.debut = debut;
+            this.fin = fin;
+
+        }
+
+        @Override
+        protected void compute() {
+
+            if (fin - debut == 1) {
+                remplissage.remplirBandes(tirage, debut, fin);
+                return;
+            }
+            int milieu = (debut + fin) >>> 1;
+            invokeAll(new RemplissageBandes(remplissage, tirage, debut, milieu), new RemplissageBandes(remplissage, tirage, milieu, fin));
+
+        }
+
+    }
+
+}
@@ -0,0 +1,332 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import fr.baptistegerardin.jeudelavie.exceptions.ModeleRenseigneNonConforme;
+import fr.baptistegerardin.jeudelavie.exceptions.RegleNonConforme;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Une Sauvegarde est l'état complet d'une simulation enregistré dans un fichier binaire compact (extension .jdlv).
+ * Contrairement au format RLE, elle conserve le numéro de génération, le moteur de calcul et la topologie, et se relit sans aucune analyse :
+ * après un court en-tête, les cellules sont rangées ligne par ligne en mots de 64 bits, exactement comme dans la grille du moteur binaire.
+ * Le fichier est lu et écrit par projection en mémoire ('MappedByteBuffer'), région par région, chaque ligne étant recopiée d'un bloc :
+ * une grille de plusieurs gigaoctets est ainsi chargée en un temps proche de celui de la lecture du disque.
+ * Pour l'enregistrer, la simulation est d'abord photographiée, ce qui ne coûte qu'une copie de ses lignes, puis la photographie est écrite sur un autre fil.
+ * Pour les moteurs sur plan infini, seule la fenêtre affichée est enregistrée.
+ * Structure du fichier, en petit-boutiste : la signature 'JDLV', la version du format, le nombre de lignes, le nombre de colonnes,
+ * le numéro de génération, puis le moteur, la topologie et la règle sous forme de textes précédés de leur longueur.
+ * L'en-tête est complété jusqu'à un multiple de 8 octets, puis viennent les lignes de cellules, le bit 'n' du mot 'm' correspondant à la colonne '64 * m + n'.
+ * Pour une règle à plusieurs états (Generations), les bits désignent les cellules vivantes et sont suivis de l'état de chaque cellule, un octet par cellule.
+ * @author Velki0
+ * @version 1.0
+ */
+public final class Sauvegarde {
+
+    /** Extension des fichiers de sauvegarde. */
+    protected static final String EXTENSION = "jdlv";
+    /** Signature des fichiers de sauvegarde, les octets 'JDLV' lus en petit-boutiste. */
+    private static final int SIGNATURE = 0x564C444A;
+    /** Version du format de fichier. */
+    private static final int VERSION = 1;
+    /** Taille maximale de l'en-tête en octets. */
+    private static final int TAILLE_ENTETE_MAXIMALE = 1024;
+    /** Taille maximale d'une région du fichier projetée en mémoire en une fois. */
+    private static final long TAILLE_REGION = 1L << 30;
+
+    /** Numéro de la génération enregistrée. */
+    private final long generation;
+    /** Moteur de calcul de la simulation enregistrée. */
+    private final TypeAutomate typeAutomate;
+    /** Comportement de l'automate aux bords de la grille. */
+    private final Topologie topologie;
+    /** Dimensions, règle et cellules de la génération enregistrée. */
+    private final Modele modele;
+
+    /**
+     * Constructeur d'une sauvegarde lue depuis un fichier .jdlv.
+     * @param chemin Le chemin d'accès du fichier.
+     * @throws IOException Exception jetée si le fichier est introuvable ou ne peut pas être lu.
+     * @throws ModeleRenseigneNonConforme Exception jetée si le fichier n'est pas une sauvegarde, est tronqué ou renseigne des paramètres illisibles.
+     */
+    protected Sauvegarde(Path chemin) throws IOException, ModeleRenseigneNonConforme {
+
+        this(chemin, Modele.SANS_PROGRESSION);
+
+    }
+
+    /**
+     * Constructeur d'une sauvegarde lue depuis un fichier .jdlv, dont la lecture est suivie par un observateur.
+     * La lecture s'interrompt dès que le fil qui l'exécute est interrompu.
+     * @param chemin Le chemin d'accès du fichier.
+     * @param progression L'observateur informé après chaque ligne lue du nombre d'octets lus et de lignes décodées.
+     * @throws IOException Exception jetée si le fichier est introuvable ou illisible, ou 'InterruptedIOException' si le fil de lecture est interrompu.
+     * @throws ModeleRenseigneNonConforme Exception jetée si le fichier n'est pas une sauvegarde, est tronqué ou renseigne des paramètres illisibles.
+     */
+    protected Sauvegarde(Path chemin, Modele.Progression progression) throws IOException, ModeleRenseigneNonConforme {
+
+        try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+            long tailleFichier = canal.size();
+            ByteBuffer entete = canal.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(tailleFichier, TAILLE_ENTETE_MAXIMALE)).order(ByteOrder.LITTLE_ENDIAN);
+            int lignesTotales;
+            int colonnesTotales;
+            Regle regle;
+            try {
+                if (entete.getInt() != SIGNATURE) {
+                    throw new ModeleRenseigneNonConforme("Le fichier n'est pas une sauvegarde du Jeu de la Vie");
+                }
+                int version = entete.getInt();
+                if (version != VERSION) {
+                    throw new ModeleRenseigneNonConforme("La version " + version + " du format de sauvegarde n'est pas prise en charge");
+                }
+                lignesTotales = entete.getInt();
+                colonnesTotales = entete.getInt();
+                generation = entete.getLong();
+                typeAutomate = TypeAutomate.valueOf(lireTexte(entete));
+                topologie = Topologie.valueOf(lireTexte(entete));
+                regle = Regle.analyser(lireTexte(entete));
+            } catch (BufferUnderflowException exception) {
+                throw new ModeleRenseigneNonConforme("L'en-tête de la sauvegarde est tronqué");
+            } catch (IllegalArgumentException | RegleNonConforme exception) {
+                throw new ModeleRenseigneNonConforme("L'en-tête de la sauvegarde est illisible : " + exception.getMessage());
+            }
+            if (lignesTotales < 1 || colonnesTotales < 1 || generation < 0) {
+                throw new ModeleRenseigneNonConforme("La sauvegarde ne possède pas un nombre de lignes et de colonnes correct : " + colonnesTotales + " x " + lignesTotales);
+            }
+            int motsParLigne = (colonnesTotales + 63) >>> 6;
+            long debutCellules = aligner(entete.position());
+            long debutEtats = debutCellules + 8L * motsParLigne * lignesTotales;
+            if (tailleFichier != debutEtats + (regle.isGenerations() ? (long) lignesTotales * colonnesTotales : 0)) {
+                throw new ModeleRenseigneNonConforme("La taille de la sauvegarde ne correspond pas à ses dimensions, le fichier est tronqué ou endommagé");
+            }
+
+            // Les lignes sont lues d'un bloc, région par région, une région ne pouvant pas dépasser 2 Go.
+            long[][] cellules = new long[lignesTotales][motsParLigne];
+            int lignesParRegion = (int) Math.max(1, Math.min(lignesTotales, TAILLE_REGION / (8L * motsParLigne)));
+            for (int debut = 0; debut < lignesTotales; debut += lignesParRegion) {
+                int fin = Math.min(lignesTotales, debut + lignesParRegion);
+                MappedByteBuffer region = canal.map(FileChannel.MapMode.READ_ONLY, debutCellules + 8L * motsParLigne * debut, 8L * motsParLigne * (fin - debut));
+                LongBuffer mots = region.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+                for (int x = debut; x < fin; x++) {
+                    mots.get(cellules[x]);
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("La lecture de la sauvegarde a été interrompue");
+                    }
+                    progression.signaler(debutCellules + 8L * motsParLigne * (x + 1), x + 1);
+                }
+            }
+            // Les bits situés au-delà de la dernière colonne sont ignorés, comme les cellules hors des dimensions d'un fichier RLE.
+            long masqueDernierMot = -1L >>> (64 - (colonnesTotales - ((motsParLigne - 1) << 6)));
+            for (long[] ligne : cellules) {
+                ligne[motsParLigne - 1] &= masqueDernierMot;
+            }
+            byte[][] etats = regle.isGenerations() ? lireEtats(canal, debutEtats, lignesTotales, colonnesTotales, regle, progression) : null;
+            modele = new Modele(lignesTotales, colonnesTotales, regle, cellules, etats);
+        }
+
+    }
+
+    /**
+     * Constructeur d'une sauvegarde photographiant l'état complet d'une simulation.
+     * Les cellules sont recopiées d'un bloc, ligne par ligne : la sauvegarde peut ensuite être écrite sur un autre fil pendant que la simulation continue.
+     * @param simulation La simulation à photographier, qui ne doit pas être modifiée pendant la copie.
+     */
+    protected Sauvegarde(Simulation simulation) {
+
+        this.generation = simulation.getGeneration();
+        this.typeAutomate = simulation.getTypeAutomate();
+        this.topologie = simulation.getTopologie();
+        this.modele = new Modele(simulation.getAutomate());
+
+    }
+
+    /**
+     * Méthode écrivant la sauvegarde dans un fichier .jdlv, remplacé s'il existe.
+     * L'écriture s'interrompt dès que le fil qui l'exécute est interrompu, le fichier restant alors incomplet.
+     * @param chemin Le chemin d'accès du fichier.
+     * @param progression L'observateur informé après chaque ligne écrite du nombre d'octets et de lignes écrits.
+     * @throws IOException Exception jetée si le fichier ne peut pas être écrit, ou 'InterruptedIOException' si le fil d'écriture est interrompu.
+     */
+    protected void ecrire(Path chemin, Modele.Progression progression) throws IOException {
+
+        int lignesTotales = modele.getLignesTotales();
+        int colonnesTotales = modele.getColonnesTotales();
+        int motsParLigne = (colonnesTotales + 63) >>> 6;
+
+        ByteBuffer entete = ByteBuffer.allocate(TAILLE_ENTETE_MAXIMALE).order(ByteOrder.LITTLE_ENDIAN);
+        entete.putInt(SIGNATURE);
+        entete.putInt(VERSION);
+        entete.putInt(lignesTotales);
+        entete.putInt(colonnesTotales);
+        entete.putLong(generation);
+        ecrireTexte(entete, typeAutomate.name());
+        ecrireTexte(entete, topologie.name());
+        ecrireTexte(entete, modele.getRegle().toString());
+        long debutCellules = aligner(entete.position());
+        entete.position((int) debutCellules).flip();
+
+        try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            while (entete.hasRemaining()) {
+                canal.write(entete);
+            }
+            // La projection d'une région au-delà de la fin du fichier l'agrandit d'autant.
+            int lignesParRegion = (int) Math.max(1, Math.min(lignesTotales, TAILLE_REGION / (8L * motsParLigne)));
+            for (int debut = 0; debut < lignesTotales; debut += lignesParRegion) {
+                int fin = Math.min(lignesTotales, debut + lignesParRegion);
+                MappedByteBuffer region = canal.map(FileChannel.MapMode.READ_WRITE, debutCellules + 8L * motsParLigne * debut, 8L * motsParLigne * (fin - debut));
+                LongBuffer mots = region.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+                for (int x = debut; x < fin; x++) {
+                    mots.put(modele.getLigne(x));
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("L'écriture de la sauvegarde a été interrompue");
+                    }
+                    progression.signaler(debutCellules + 8L * motsParLigne * (x + 1), x + 1);
+                }
+                region.force();
+            }
+            if (modele.getRegle().isGenerations()) {
+                ecrireEtats(canal, debutCellules + 8L * motsParLigne * lignesTotales, progression);
+            }
+        }
+
+    }
+
+    /**
+     * Méthode lisant l'état de chaque cellule, rangé après les lignes de bits pour une règle à plusieurs états.
+     * @param canal Le canal du fichier.
+     * @param debutEtats Position du premier état dans le fichier.
+     * @param lignesTotales Nombre de lignes de la sauvegarde.
+     * @param colonnesTotales Nombre de colonnes de la sauvegarde.
+     * @param regle Règle de la sauvegarde, dont le nombre d'états borne les états lus.
+     * @param progression L'observateur de la progression de la lecture.
+     * @return Les états lus, une ligne d'octets par ligne.
+     * @throws IOException Exception jetée si le fichier ne peut pas être lu, ou 'InterruptedIOException' si le fil de lecture est interrompu.
+     * @throws ModeleRenseigneNonConforme Exception jetée si un état n'existe pas dans la règle.
+     */
+    private static byte[][] lireEtats(FileChannel canal, long debutEtats, int lignesTotales, int colonnesTotales, Regle regle, Modele.Progression progression)
+            throws IOException, ModeleRenseigneNonConforme {
+
+        byte[][] etats = new byte[lignesTotales][colonnesTotales];
+        int lignesParRegion = (int) Math.max(1, Math.min(lignesTotales, TAILLE_REGION / colonnesTotales));
+        for (int debut = 0; debut < lignesTotales; debut += lignesParRegion) {
+            int fin = Math.min(lignesTotales, debut + lignesParRegion);
+            MappedByteBuffer region = canal.map(FileChannel.MapMode.READ_ONLY, debutEtats + (long) colonnesTotales * debut, (long) colonnesTotales * (fin - debut));
+            for (int x = debut; x < fin; x++) {
+                region.get(etats[x]);
+                for (byte etat : etats[x]) {
+                    if ((etat & 0xFF) >= regle.getNombreEtats()) {
+                        throw new ModeleRenseigneNonConforme("La sauvegarde contient l'état " + (etat & 0xFF) + ", la règle " + regle + " n'en comporte que " + regle.getNombreEtats());
+                    }
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("La lecture de la sauvegarde a été interrompue");
+                }
+                progression.signaler(debutEtats + (long) colonnesTotales * (x + 1), lignesTotales);
+            }
+        }
+        return etats;
+
+    }
+
+    /**
+     * Méthode écrivant l'état de chaque cellule après les lignes de bits, pour une règle à plusieurs états.
+     * @param canal Le canal du fichier.
+     * @param debutEtats Position du premier état dans le fichier.
+     * @param progression L'observateur de la progression de l'écriture.
+     * @throws IOException Exception jetée si le fichier ne peut pas être écrit, ou 'InterruptedIOException' si le fil d'écriture est interrompu.
+     */
+    private void ecrireEtats(FileChannel canal, long debutEtats, Modele.Progression progression) throws IOException {
+
+        int lignesTotales = modele.getLignesTotales();
+        int colonnesTotales = modele.getColonnesTotales();
+        int lignesParRegion = (int) Math.max(1, Math.min(lignesTotales, TAILLE_REGION / colonnesTotales));
+        for (int debut = 0; debut < lignesTotales; debut += lignesParRegion) {
+            int fin = Math.min(lignesTotales, debut + lignesParRegion);
+            MappedByteBuffer region = canal.map(FileChannel.MapMode.READ_WRITE, debutEtats + (long) colonnesTotales * debut, (long) colonnesTotales * (fin - debut));
+            for (int x = debut; x < fin; x++) {
+                region.put(modele.getEtats(x));
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("L'écriture de la sauvegarde a été interrompue");
+                }
+                progression.signaler(debutEtats + (long) colonnesTotales * (x + 1), lignesTotales);
+            }
+            region.force();
+        }
+
+    }
+
+    /**
+     * Méthode indiquant si un fichier est une sauvegarde, d'après son extension.
+     * @param chemin Le chemin d'accès du fichier.
+     * @return 'true' si le fichier porte l'extension .jdlv.
+     */
+    protected static boolean estSauvegarde(Path chemin) { return chemin.getFileName().toString().toLowerCase(Locale.ROOT).endsWith("." + EXTENSION); }
+
+    /**
+     * Méthode arrondissant une position au multiple de 8 octets supérieur, afin que chaque mot de cellules soit aligné dans le fichier.
+     * @param position Position en octets.
+     * @return La position alignée.
+     */
+    private static long aligner(long position) { return (position + 7) & ~7L; }
+
+    /**
+     * Méthode écrivant un texte précédé de sa longueur en octets.
+     * @param tampon Le tampon recevant le texte.
+     * @param texte Le texte à écrire.
+     */
+    private static void ecrireTexte(ByteBuffer tampon, String texte) {
+
+        byte[] octets = texte.getBytes(StandardCharsets.UTF_8);
+        tampon.putShort((short) octets.length);
+        tampon.put(octets);
+
+    }
+
+    /**
+     * Méthode lisant un texte précédé de sa longueur en octets.
+     * @param tampon Le tampon positionné sur la longueur du texte.
+     * @return Le texte lu.
+     */
+    private static String lireTexte(ByteBuffer tampon) {
+
+        byte[] octets = new byte[tampon.getShort() & 0xFFFF];
+        tampon.get(octets);
+        return new String(octets, StandardCharsets.UTF_8);
+
+    }
+
+    /**
+     * Getter afin de récupérer le numéro de la génération enregistrée.
+     * @return Le numéro de la génération.
+     */
+    protected long getGeneration() { return generation; }
+
+    /**
+     * Getter afin de récupérer le moteur de calcul de la simulation enregistrée.
+     * @return Le type d'automate.
+     */
+    protected TypeAutomate getTypeAutomate() { return typeAutomate; }
+
+    /**
+     * Getter afin de récupérer le comportement de l'automate aux bords de la grille.
+     * @return La topologie de la simulation enregistrée.
+     */
+    protected Topologie getTopologie() { return topologie; }
+
+    /**
+     * Getter afin de récupérer les dimensions, la règle et les cellules de la génération enregistrée.
+     * @return Le modèle de la génération enregistrée.
+     */
+    protected Modele getModele() { return modele; }
+
+}
@@ -0,0 +1,401 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import fr.baptistegerardin.jeudelavie.exceptions.ModeleRenseigneNonConforme;
+import fr.baptistegerardin.jeudelavie.exceptions.RegleNonConforme;
+
+/**
+ * La Simulation regroupe un automate, le numéro de sa génération et les paramètres de calcul choisis par l'utilisateur.
+ * Elle ne dépend d'aucune classe graphique : le plateau de jeu l'affiche, tandis que le mode sans interface la fait tourner seule.
+ * Les paramètres (moteur, nombre de fils, topologie et règle) sont conservés et appliqués à chaque nouvel automate.
+ * L'empreinte de chaque génération calculée est confiée à un détecteur de cycles, qui signale les structures stables et périodiques.
+ * Son historique est vidé dès que l'automate est modifié autrement qu'en calculant sa génération suivante.
+ * Chaque génération calculée est également chronométrée et ses mesures (population, naissances, morts) sont transmises aux métriques de la simulation.
+ * @author Velki0
+ * @version 1.0
+ */
+public class Simulation {
+
+    /** Nombre de générations conservées par le détecteur de cycles, c'est-à-dire la plus longue période détectable. */
+    protected static final int PERIODE_MAXIMALE = 1024;
+
+    /** Moteur de calcul utilisé pour l'automate. */
+    private TypeAutomate typeAutomate;
+    /** Automate cellulaire de la simulation. */
+    private Automate automate;
+    /** Numéro de la génération en cours. */
+    private long generation;
+    /** Nombre de fils d'exécution utilisés par l'automate pour calculer une génération. */
+    private int nombreDeFils;
+    /** Comportement de l'automate aux bords de la grille. */
+    private Topologie topologie;
+    /** Règle de naissance et de survie suivie par l'automate. */
+    private Regle regle;
+    /** Détecteur des structures stables et périodiques. */
+    private final DetecteurDeCycles detecteurDeCycles;
+    /** Mesures de la simulation. */
+    private final Metriques metriques;
+
+    /**
+     * Une Preparation est un automate construit à partir d'un modèle ou d'une sauvegarde, prêt à remplacer celui d'une simulation.
+     * Sa construction parcourt toutes les cellules lues mais ne dépend pas de la simulation : elle peut être faite sur n'importe quel fil,
+     * l'installation dans la simulation se limitant ensuite à échanger les automates.
+     */
+    protected static final class Preparation {
+
+        /** Moteur de calcul de l'automate préparé. */
+        private final TypeAutomate typeAutomate;
+        /** Automate préparé, suivant déjà sa règle. */
+        private final Automate automate;
+        /** Topologie imposée par une sauvegarde, 'null' pour conserver celle de la simulation. */
+        private final Topologie topologie;
+        /** Numéro de la génération de l'automate préparé. */
+        private final long generation;
+
+        /**
+         * Constructeur d'une préparation.
+         * @param typeAutomate Moteur de calcul de l'automate préparé.
+         * @param automate Automate préparé.
+         * @param topologie Topologie imposée, 'null' pour conserver celle de la simulation.
+         * @param generation Numéro de la génération de l'automate préparé.
+         */
+        private Preparation(TypeAutomate typeAutomate, Automate automate, Topologie topologie, long generation) {
+
+            this.typeAutomate = typeAutomate;
+            this.automate = automate;
+            this.topologie = topologie;
+            this.generation = generation;
+
+        }
+
+    }
+
+    /**
+     * Constructeur d'une simulation sur une grille vierge, suivant la règle B3/S23 sur une grille bornée.
+     * @param typeAutomate Moteur de calcul utilisé.
+     * @param lignesTotales Nombre de lignes totales de la grille.
+     * @param colonnesTotales Nombre de colonnes totales de la grille.
+     * @throws IllegalArgumentException Exception jetée si la grille est trop grande pour le moteur choisi.
+     */
+    protected Simulation(TypeAutomate typeAutomate, int lignesTotales, int colonnesTotales) {
+
+        this.typeAutomate = typeAutomate;
+        this.nombreDeFils = 1;
+        this.topologie = Topologie.BORNEE;
+        this.regle = Regle.CONWAY;
+        this.detecteurDeCycles = new DetecteurDeCycles(PERIODE_MAXIMALE);
+        this.metriques = new Metriques();
+        installerAutomate(typeAutomate.creer(lignesTotales, colonnesTotales, false));
+
+    }
+
+    /**
+     * Méthode remplaçant l'automate de la simulation en lui appliquant les paramètres de calcul choisis par l'utilisateur.
+     * La génération repart de zéro.
+     * @param nouvelAutomate Le nouvel automate de la simulation.
+     */
+    private void installerAutomate(Automate nouvelAutomate) {
+
+        nouvelAutomate.setNombreDeFils(nombreDeFils);
+        nouvelAutomate.setTopologie(topologie);
+        nouvelAutomate.setRegle(regle);
+        this.automate = nouvelAutomate;
+        this.generation = 0;
+        signalerModification();
+
+    }
+
+    /**
+     * Méthode signalant que l'automate a été modifié autrement qu'en calculant sa génération suivante.
+     * L'historique du détecteur de cycles est vidé et repart de la génération en cours, dont l'état est transmis aux métriques.
+     */
+    private void signalerModification() {
+
+        detecteurDeCycles.oublier();
+        detecteurDeCycles.enregistrer(generation, automate.getEmpreinte());
+        metriques.enregistrerEtat(generation, automate.getPopulation());
+
+    }
+
+    /**
+     * Méthode pour l'incrémentation d'une génération.
+     */
+    protected void mettreAJour() {
+
+        long debut = System.nanoTime();
+        automate.mettreAJourAutomate();
+        long duree = System.nanoTime() - debut;
+        generation++;
+        detecteurDeCycles.enregistrer(generation, automate.getEmpreinte());
+        metriques.enregistrerGeneration(generation, automate.getPopulation(), automate.getNaissances(), automate.getMorts(), duree);
+
+    }
+
+    /**
+     * Méthode faisant avancer la simulation d'un nombre quelconque de générations.
+     * Avec le moteur HashLife, les générations intermédiaires sont franchies par puissances de deux.
+     * Les générations franchies n'étant pas toutes observées, la détection des cycles repart de la génération atteinte.
+     * @param generations Nombre de générations à franchir.
+     */
+    protected void avancer(long generations) {
+
+        automate.avancer(generations);
+        generation += generations;
+        signalerModification();
+
+    }
+
+    /**
+     * Méthode faisant avancer la simulation vers une génération ultérieure sans dépasser une durée donnée, afin de pouvoir être interrompue.
+     * Un moteur capable de sauter des générations franchit des puissances de deux de plus en plus grandes jusqu'à atteindre la génération demandée
+     * ou épuiser la durée accordée, les générations franchies n'étant pas observées.
+     * Les autres calculent les générations une à une, chacune étant observée comme une génération ordinaire,
+     * jusqu'à atteindre la génération demandée ou épuiser la durée accordée : l'appelant rappelle alors cette méthode pour continuer.
+     * Au moins une génération est calculée à chaque appel.
+     * @param generationCible Numéro de la génération à atteindre, ignoré s'il n'est pas supérieur à la génération en cours.
+     * @param dureeMaximale Durée en nanosecondes au-delà de laquelle aucune nouvelle génération n'est commencée.
+     */
+    protected void avancerVers(long generationCible, long dureeMaximale) {
+
+        if (generationCible <= generation) {
+            return;
+        }
+        if (automate.isSautDeGenerations()) {
+            generation += automate.avancer(generationCible - generation, dureeMaximale);
+            signalerModification();
+            return;
+        }
+        long fin = System.nanoTime() + dureeMaximale;
+        do {
+            mettreAJour();
+        } while (generation < generationCible && System.nanoTime() - fin < 0);
+
+    }
+
+    /**
+     * Méthode effaçant toutes les cellules de l'automate et remettant la génération à zéro.
+     */
+    protected void reinitialiser() {
+
+        automate.reinitialiserAutomate();
+        generation = 0;
+        signalerModification();
+
+    }
+
+    /**
+     * Méthode remplaçant l'automate par une grille vierge d'une nouvelle taille.
+     * @param lignesTotales Nouveau nombre total de lignes.
+     * @param colonnesTotales Nouveau nombre total de colonnes.
+     * @throws IllegalArgumentException Exception jetée si la grille est trop grande pour le moteur en cours, rien n'est alors modifié.
+     */
+    protected void redimensionner(int lignesTotales, int colonnesTotales) {
+
+        installerAutomate(typeAutomate.creer(lignesTotales, colonnesTotales, false));
+
+    }
+
+    /**
+     * Méthode remplissant l'automate en place avec des cellules tirées au hasard, sans le recréer.
+     * La génération repart de zéro, une même graine et une même densité redonnant toujours la même grille.
+     * @param graine Graine du tirage.
+     * @param densite Proportion de cellules vivantes, de 0 à 1.
+     * @throws IllegalArgumentException Exception jetée si la densité n'est pas comprise entre 0 et 1.
+     */
+    protected void remplirAleatoirement(long graine, double densite) {
+
+        automate.remplir(new Remplissage(graine, densite));
+        generation = 0;
+        signalerModification();
+
+    }
+
+    /**
+     * Méthode préparant l'automate d'un modèle prédéfini, sans modifier aucune simulation.
+     * Un modèle suivant une règle à plusieurs états est préparé pour le moteur Generations, le seul capable de la suivre.
+     * @param typeAutomate Moteur de calcul choisi par l'utilisateur.
+     * @param modele Modèle de l'automate cellulaire.
+     * @return L'automate préparé, partant de la génération zéro.
+     * @throws ModeleRenseigneNonConforme Exception jetée si la règle du modèle ne peut pas être suivie par le moteur choisi.
+     */
+    protected static Preparation preparer(TypeAutomate typeAutomate, Modele modele) throws ModeleRenseigneNonConforme {
+
+        TypeAutomate typeModele = modele.getRegle().isGenerations() ? TypeAutomate.GENERATIONS : typeAutomate;
+        return new Preparation(typeModele, typeModele.creer(modele), null, 0);
+
+    }
+
+    /**
+     * Méthode préparant l'automate d'une sauvegarde, avec son moteur, sa topologie, sa règle et son numéro de génération, sans modifier aucune simulation.
+     * @param sauvegarde Sauvegarde à restaurer.
+     * @return L'automate préparé.
+     * @throws ModeleRenseigneNonConforme Exception jetée si la règle enregistrée ne peut pas être suivie par le moteur enregistré.
+     */
+    protected static Preparation preparer(Sauvegarde sauvegarde) throws ModeleRenseigneNonConforme {
+
+        Automate automateRestaure = sauvegarde.getTypeAutomate().creer(sauvegarde.getModele());
+        automateRestaure.setTopologie(sauvegarde.getTopologie());
+        return new Preparation(sauvegarde.getTypeAutomate(), automateRestaure, sauvegarde.getTopologie(), sauvegarde.getGeneration());
+
+    }
+
+    /**
+     * Méthode remplaçant l'automate par un automate préparé, dont la règle est conservée pour les grilles suivantes.
+     * Le nombre de fils d'exécution choisi par l'utilisateur est conservé, ainsi que sa topologie si la préparation n'en impose aucune.
+     * L'automate étant déjà construit, seuls les paramètres de calcul lui sont appliqués : l'installation ne parcourt pas la grille.
+     * @param preparation Automate préparé.
+     */
+    protected void installer(Preparation preparation) {
+
+        typeAutomate = preparation.typeAutomate;
+        regle = preparation.automate.getRegle();
+        if (preparation.topologie != null) {
+            topologie = preparation.topologie;
+        }
+        installerAutomate(preparation.automate);
+        if (preparation.generation != 0) {
+            generation = preparation.generation;
+            signalerModification();
+        }
+
+    }
+
+    /**
+     * Méthode remplaçant l'automate par un modèle prédéfini.
+     * Le modèle impose sa règle, qui est conservée pour les grilles suivantes.
+     * Un modèle suivant une règle à plusieurs états fait passer la simulation sur le moteur Generations, le seul capable de la suivre.
+     * @param modele Modèle de l'automate cellulaire.
+     * @throws ModeleRenseigneNonConforme Exception jetée si la règle du modèle ne peut pas être suivie par le moteur choisi.
+     */
+    protected void chargerModele(Modele modele) throws ModeleRenseigneNonConforme { installer(preparer(typeAutomate, modele)); }
+
+    /**
+     * Méthode remplaçant la simulation par une sauvegarde : moteur, topologie, règle, cellules et numéro de génération sont restaurés.
+     * Le nombre de fils d'exécution choisi par l'utilisateur est conservé.
+     * @param sauvegarde Sauvegarde à restaurer.
+     * @throws ModeleRenseigneNonConforme Exception jetée si la règle enregistrée ne peut pas être suivie par le moteur enregistré, rien n'est alors modifié.
+     */
+    protected void restaurer(Sauvegarde sauvegarde) throws ModeleRenseigneNonConforme { installer(preparer(sauvegarde)); }
+
+    /**
+     * Getter afin de récupérer l'automate de la simulation.
+     * @return L'automate en cours.
+     */
+    protected Automate getAutomate() { return automate; }
+
+    /**
+     * Getter afin de récupérer le numéro de la génération en cours.
+     * @return Le numéro de la génération en cours.
+     */
+    protected long getGeneration() { return generation; }
+
+    /**
+     * Getter afin de récupérer la période du cycle atteint par la génération en cours.
+     * @return La période du cycle, 1 pour une structure stable, 0 si la génération en cours n'a pas été rencontrée récemment.
+     */
+    protected long getPeriode() { return detecteurDeCycles.getPeriode(); }
+
+    /**
+     * Getter afin de récupérer les mesures de la simulation.
+     * @return Les métriques de la simulation.
+     */
+    protected Metriques getMetriques() { return metriques; }
+
+    /**
+     * Méthode photographiant l'état de la simulation afin de le transmettre à un autre fil d'exécution.
+     * @return Un instantané immuable de la génération en cours et des paramètres de calcul.
+     */
+    protected Instantane capturer() {
+
+        return new Instantane(generation, getPeriode(), automate.getPopulation(), automate.getLignesTotales(), automate.getColonnesTotales(), typeAutomate, regle, nombreDeFils, topologie);
+
+    }
+
+    /**
+     * Getter afin de récupérer le nombre de cellules vivantes de la génération en cours.
+     * @return La population de l'automate.
+     */
+    protected long getPopulation() { return automate.getPopulation(); }
+
+    /**
+     * Getter afin de récupérer le moteur de calcul actuellement utilisé.
+     * @return Le type d'automate de la simulation.
+     */
+    protected TypeAutomate getTypeAutomate() { return typeAutomate; }
+
+    /**
+     * Getter afin de récupérer la règle de naissance et de survie suivie par l'automate.
+     * @return La règle de la simulation.
+     */
+    protected Regle getRegle() { return regle; }
+
+    /**
+     * Setter pour changer de moteur de calcul et de règle.
+     * La génération en cours est recopiée dans le nouvel automate afin de ne pas interrompre la partie.
+     * @param typeAutomate Nouveau type d'automate.
+     * @param regle Nouvelle règle de naissance et de survie.
+     * @throws RegleNonConforme Exception jetée si le moteur choisi ne peut pas suivre la règle, rien n'est alors modifié.
+     * @throws IllegalArgumentException Exception jetée si la grille est trop grande pour le moteur choisi, rien n'est alors modifié.
+     */
+    protected void setMoteur(TypeAutomate typeAutomate, Regle regle) throws RegleNonConforme {
+
+        String refus = typeAutomate.expliquerRefus(regle);
+        if (refus != null) {
+            throw new RegleNonConforme(refus);
+        }
+        if (typeAutomate != this.typeAutomate) {
+            // Le nouvel automate est créé avant toute modification, une grille trop grande pour le moteur choisi ne change ainsi rien.
+            Automate nouvelAutomate = typeAutomate.creer(automate.getLignesTotales(), automate.getColonnesTotales(), false);
+            nouvelAutomate.copierDepuis(automate);
+            this.regle = regle;
+            long generationEnCours = generation;
+            this.typeAutomate = typeAutomate;
+            installerAutomate(nouvelAutomate);
+            generation = generationEnCours;
+            signalerModification();
+        } else if (!regle.equals(automate.getRegle())) {
+            this.regle = regle;
+            automate.setRegle(regle);
+            signalerModification();
+        }
+
+    }
+
+    /**
+     * Getter afin de récupérer le nombre de fils d'exécution utilisés pour calculer une génération.
+     * @return Le nombre de fils d'exécution.
+     */
+    protected int getNombreDeFils() { return nombreDeFils; }
+
+    /**
+     * Setter pour fixer le nombre de fils d'exécution utilisés pour calculer une génération.
+     * Le résultat de chaque génération est identique quel que soit le nombre de fils choisi.
+     * @param nombreDeFils Nouveau nombre de fils d'exécution.
+     */
+    protected void setNombreDeFils(int nombreDeFils) {
+
+        this.nombreDeFils = nombreDeFils;
+        automate.setNombreDeFils(nombreDeFils);
+
+    }
+
+    /**
+     * Getter afin de récupérer le comportement de l'automate aux bords de la grille.
+     * @return La topologie de la simulation.
+     */
+    protected Topologie getTopologie() { return topologie; }
+
+    /**
+     * Setter pour fixer le comportement de l'automate aux bords de la grille.
+     * @param topologie Nouvelle topologie, sans effet sur les moteurs à plan infini.
+     */
+    protected void setTopologie(Topologie topologie) {
+
+        if (topologie != this.topologie) {
+            this.topologie = topologie;
+            automate.setTopologie(topologie);
+            signalerModification();
+        }
+
+    }
+
+}
@@ -0,0 +1,195 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import fr.baptistegerardin.jeudelavie.exceptions.ModeleRenseigneNonConforme;
+import fr.baptistegerardin.jeudelavie.exceptions.RegleNonConforme;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * La SimulationSansInterface fait tourner une simulation en ligne de commande, sans aucune fenêtre.
+ * Aucune classe graphique (AWT ou Swing) n'est chargée, l'application peut ainsi tourner sur un serveur sans affichage.
+ * Le modèle est chargé, avancé du nombre de générations demandé aussi vite que possible, puis éventuellement enregistré au format RLE.
+ * Le modèle peut aussi être une sauvegarde .jdlv, dont le moteur, la topologie, la règle et le numéro de génération sont restaurés
+ * (les options --moteur, --topologie et --regle les remplacent), et le résultat est enregistré comme sauvegarde si son nom se termine par .jdlv.
+ * Avec l'option --stop-on-cycle, les générations sont calculées une à une et la simulation s'arrête dès qu'une structure stable ou périodique est atteinte.
+ * Avec l'option --metrics, les générations sont calculées une à une et leurs mesures sont journalisées dans un fichier CSV.
+ * Les mesures sont également publiées par JMX pendant toute la simulation.
+ * Avec l'option --soups, c'est une recherche de soupes aléatoires qui est lancée à la place (voir RechercheDeSoupes).
+ * Avec l'option --verify, ce sont les contrôles de cohérence des moteurs qui sont lancés à la place (voir Verification).
+ * Exemple : --headless --pattern modele.rle --generations 1000 --out resultat.rle [--moteur BINAIRE] [--fils 4] [--topologie TORIQUE] [--regle B36/S23]
+ * [--stop-on-cycle] [--metrics mesures.csv]
+ * @author Velki0
+ * @version 1.0
+ */
+public class SimulationSansInterface {
+
+    /** Code de retour d'une simulation réussie. */
+    protected static final int SUCCES = 0;
+    /** Code de retour d'une simulation échouée pendant son exécution. */
+    protected static final int ECHEC = 1;
+    /** Code de retour d'une ligne de commande incorrecte. */
+    protected static final int ARGUMENTS_INCORRECTS = 2;
+
+    /**
+     * Constructeur privé, la classe ne contient que des méthodes statiques.
+     */
+    private SimulationSansInterface() { }
+
+    /**
+     * Méthode indiquant si la ligne de commande demande le mode sans interface.
+     * @param arguments Arguments de la ligne de commande.
+     * @return 'true' si l'argument '--headless' est présent.
+     */
+    public static boolean estDemandee(String[] arguments) {
+
+        for (String argument : arguments) {
+            if (argument.equals("--headless")) {
+                return true;
+            }
+        }
+        return false;
+
+    }
+
+    /**
+     * Méthode exécutant la simulation décrite par la ligne de commande et affichant son bilan.
+     * @param arguments Arguments de la ligne de commande.
+     * @return Le code de retour du programme : 0 en cas de succès, 1 en cas d'échec, 2 si les arguments sont incorrects.
+     */
+    public static int executer(String[] arguments) {
+
+        for (String argument : arguments) {
+            if (argument.equals("--soups")) {
+                return RechercheDeSoupes.executer(arguments);
+            }
+            if (argument.equals("--verify")) {
+                return Verification.executer(arguments);
+            }
+        }
+        Path modele = null;
+        long generations = -1;
+        Path sortie = null;
+        TypeAutomate typeAutomate = null;
+        int nombreDeFils = 1;
+        Topologie topologie = null;
+        Regle regle = null;
+        boolean arretSurCycle = false;
+        Path journal = null;
+        try {
+            for (int index = 0; index < arguments.length; index++) {
+                switch (arguments[index]) {
+                    case "--headless" -> { }
+                    case "--pattern" -> modele = Paths.get(valeur(arguments, ++index));
+                    case "--generations" -> generations = Long.parseLong(valeur(arguments, ++index));
+                    case "--out" -> sortie = Paths.get(valeur(arguments, ++index));
+                    case "--moteur" -> typeAutomate = TypeAutomate.valueOf(valeur(arguments, ++index).toUpperCase(Locale.ROOT));
+                    case "--fils" -> nombreDeFils = Integer.parseInt(valeur(arguments, ++index));
+                    case "--topologie" -> topologie = Topologie.valueOf(valeur(arguments, ++index).toUpperCase(Locale.ROOT));
+                    case "--regle" -> regle = Regle.analyser(valeur(arguments, ++index));
+                    case "--stop-on-cycle" -> arretSurCycle = true;
+                    case "--metrics" -> journal = Paths.get(valeur(arguments, ++index));
+                    default -> throw new IllegalArgumentException("Argument inconnu : " + arguments[index]);
+                }
+            }
+            if (modele == null || generations < 0) {
+                throw new IllegalArgumentException("Les arguments --pattern et --generations sont obligatoires");
+            }
+        } catch (IllegalArgumentException | RegleNonConforme exception) {
+            System.err.println(exception.getMessage());
+            System.err.println("Utilisation : --headless --pattern <fichier.rle|fichier.jdlv> --generations <N> [--out <resultat.rle|resultat.jdlv>]"
+                    + " [--moteur CLASSIQUE|VECTORIEL|BINAIRE|HASHLIFE|DISPERSE|GENERATIONS] [--fils <N>] [--topologie BORNEE|TORIQUE] [--regle <B3/S23>] [--stop-on-cycle] [--metrics <mesures.csv>]");
+            return ARGUMENTS_INCORRECTS;
+        }
+
+        try {
+            Simulation simulation = new Simulation(typeAutomate != null ? typeAutomate : TypeAutomate.BINAIRE, 1, 1);
+            simulation.setNombreDeFils(nombreDeFils);
+            if (Sauvegarde.estSauvegarde(modele)) {
+                simulation.restaurer(new Sauvegarde(modele));
+            } else {
+                simulation.chargerModele(new Modele(modele));
+            }
+            if (topologie != null) {
+                simulation.setTopologie(topologie);
+            }
+            if (typeAutomate != null || regle != null) {
+                simulation.setMoteur(typeAutomate != null ? typeAutomate : simulation.getTypeAutomate(), regle != null ? regle : simulation.getRegle());
+            }
+
+            Metriques metriques = simulation.getMetriques();
+            metriques.publierJmx("Sans interface");
+            if (journal != null) {
+                metriques.ouvrirJournal(journal);
+            }
+            long generationInitiale = simulation.getGeneration();
+            long debut = System.nanoTime();
+            try {
+                if (arretSurCycle || journal != null) {
+                    // Chaque génération doit être observée pour reconnaître un cycle ou être journalisée, HashLife ne saute donc plus de générations.
+                    while (simulation.getGeneration() - generationInitiale < generations && !(arretSurCycle && simulation.getPeriode() > 0)) {
+                        simulation.mettreAJour();
+                    }
+                } else {
+                    simulation.avancer(generations);
+                }
+            } finally {
+                metriques.fermerJournal();
+            }
+            long duree = System.nanoTime() - debut;
+
+            if (sortie != null && Sauvegarde.estSauvegarde(sortie)) {
+                new Sauvegarde(simulation).ecrire(sortie, Modele.SANS_PROGRESSION);
+            } else if (sortie != null) {
+                try (Writer ecrivain = Files.newBufferedWriter(sortie, StandardCharsets.UTF_8)) {
+                    new Modele(simulation.getAutomate()).ecrire(ecrivain, Modele.SANS_PROGRESSION);
+                }
+            }
+            double secondes = duree / 1e9;
+            System.out.println("Moteur : " + simulation.getTypeAutomate() + ", règle : " + simulation.getRegle() + ", topologie : " + simulation.getTopologie() + ", fils : " + nombreDeFils);
+            System.out.println("Générations : " + simulation.getGeneration());
+            System.out.printf(Locale.ROOT, "Durée : %.3f s%n", secondes);
+            System.out.printf(Locale.ROOT, "Générations par seconde : %.1f%n", secondes > 0 ? (simulation.getGeneration() - generationInitiale) / secondes : 0.0);
+            System.out.println("Population finale : " + simulation.getPopulation());
+            if (metriques.getDureeMoyenneGenerationNanos() > 0) {
+                System.out.println("Durée moyenne d'une génération : " + metriques.getDureeMoyenneGenerationNanos() + " ns");
+            }
+            if (metriques.getNaissancesTotales() + metriques.getMortsTotales() > 0) {
+                System.out.println("Naissances : " + metriques.getNaissancesTotales() + ", morts : " + metriques.getMortsTotales());
+            }
+            if (arretSurCycle) {
+                long periode = simulation.getPeriode();
+                System.out.println(periode == 0 ? "Cycle : aucun cycle de période inférieure ou égale à " + Simulation.PERIODE_MAXIMALE + " détecté"
+                        : periode == 1 ? "Cycle : structure stable" : "Cycle : période " + periode);
+            }
+            return SUCCES;
+        } catch (IOException exception) {
+            System.err.println("Le fichier ne peut pas être lu ou écrit : " + exception.getMessage());
+        } catch (ModeleRenseigneNonConforme | RegleNonConforme exception) {
+            System.err.println("Le modèle renseigné est non-conforme : " + exception.getMessage());
+        }
+        return ECHEC;
+
+    }
+
+    /**
+     * Méthode renvoyant la valeur d'une option de la ligne de commande.
+     * @param arguments Arguments de la ligne de commande.
+     * @param index Position attendue de la valeur.
+     * @return La valeur de l'option.
+     */
+    protected static String valeur(String[] arguments, int index) {
+
+        if (index >= arguments.length) {
+            throw new IllegalArgumentException("Valeur manquante après " + arguments[index - 1]);
+        }
+        return arguments[index];
+
+    }
+
+}
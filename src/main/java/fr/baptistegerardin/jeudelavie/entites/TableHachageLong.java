@@ -0,0 +1,218 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import java.util.Arrays;
+
+/**
+ * La TableHachageLong associe un compteur entier à des clés de type 'long' sans jamais créer d'objet.
+ * Elle sert aussi bien d'ensemble (les clés présentes) que de table de comptage (la valeur associée à chaque clé).
+ * Les collisions sont résolues par sondage linéaire dans des tableaux primitifs dont la capacité est une puissance de deux.
+ * @author Velki0
+ * @version 1.0
+ */
+public class TableHachageLong {
+
+    /** Taux de remplissage au-delà duquel la capacité est doublée. */
+    private static final double TAUX_REMPLISSAGE_MAXIMUM = 0.6;
+
+    /** Clés rangées dans la table. */
+    private long[] cles;
+    /** Valeurs associées aux clés. */
+    private int[] valeurs;
+    /** Indique si la case correspondante contient une clé. */
+    private boolean[] occupees;
+    /** Nombre de clés présentes. */
+    private int taille;
+    /** Masque appliqué aux empreintes pour obtenir un index, égal à la capacité moins un. */
+    private int masque;
+
+    /**
+     * Constructeur d'une table vide.
+     * @param capaciteInitiale Nombre de clés attendues, la capacité réelle est arrondie à la puissance de deux supérieure.
+     */
+    protected TableHachageLong(int capaciteInitiale) {
+
+        allouer(Math.max(16, Integer.highestOneBit(Math.max(1, (int) (capaciteInitiale / TAUX_REMPLISSAGE_MAXIMUM))) << 1));
+
+    }
+
+    /**
+     * Méthode allouant des tableaux vides d'une capacité donnée.
+     * @param capacite Nouvelle capacité, puissance de deux.
+     */
+    private void allouer(int capacite) {
+
+        cles = new long[capacite];
+        valeurs = new int[capacite];
+        occupees = new boolean[capacite];
+        masque = capacite - 1;
+        taille = 0;
+
+    }
+
+    /**
+     * Méthode mélangeant les bits d'une clé afin de répartir uniformément les clés voisines.
+     * @param cle Clé à mélanger.
+     * @return L'index de départ du sondage.
+     */
+    private int indexDepart(long cle) {
+
+        cle ^= cle >>> 33;
+        cle *= 0xff51afd7ed558ccdL;
+        cle ^= cle >>> 33;
+        return (int) cle & masque;
+
+    }
+
+    /**
+     * Méthode renvoyant l'index de la case contenant la clé, ou de la case vide où elle devrait être insérée.
+     * @param cle Clé recherchée.
+     * @return L'index de la case.
+     */
+    private int chercher(long cle) {
+
+        int index = indexDepart(cle);
+        while (occupees[index] && cles[index] != cle) {
+            index = (index + 1) & masque;
+        }
+        return index;
+
+    }
+
+    /**
+     * Méthode ajoutant un incrément à la valeur associée à une clé, la clé étant insérée avec une valeur nulle si elle est absente.
+     * @param cle Clé concernée.
+     * @param increment Valeur ajoutée.
+     */
+    protected void ajouter(long cle, int increment) {
+
+        int index = chercher(cle);
+        if (!occupees[index]) {
+            if (taille + 1 > TAUX_REMPLISSAGE_MAXIMUM * occupees.length) {
+                agrandir();
+                index = chercher(cle);
+            }
+            occupees[index] = true;
+            cles[index] = cle;
+            valeurs[index] = 0;
+            taille++;
+        }
+        valeurs[index] += increment;
+
+    }
+
+    /**
+     * Méthode indiquant si une clé est présente dans la table.
+     * @param cle Clé recherchée.
+     * @return 'true' si la clé est présente.
+     */
+    protected boolean contient(long cle) { return occupees[chercher(cle)]; }
+
+    /**
+     * Méthode renvoyant la valeur associée à une clé.
+     * @param cle Clé recherchée.
+     * @return La valeur associée, 0 si la clé est absente.
+     */
+    protected int lire(long cle) {
+
+        int index = chercher(cle);
+        return occupees[index] ? valeurs[index] : 0;
+
+    }
+
+    /**
+     * Méthode retirant une clé de la table.
+     * Les clés suivantes de la même chaîne de sondage sont recalées afin de ne laisser aucun trou dans la chaîne.
+     * @param cle Clé à retirer.
+     */
+    protected void retirer(long cle) {
+
+        int index = chercher(cle);
+        if (!occupees[index]) {
+            return;
+        }
+        occupees[index] = false;
+        taille--;
+        int suivant = (index + 1) & masque;
+        while (occupees[suivant]) {
+            int ideal = indexDepart(cles[suivant]);
+            // La clé est recalée si sa position idéale ne se trouve pas strictement entre le trou et sa position actuelle.
+            boolean entre = index <= suivant ? (index < ideal && ideal <= suivant) : (index < ideal || ideal <= suivant);
+            if (!entre) {
+                cles[index] = cles[suivant];
+                valeurs[index] = valeurs[suivant];
+                occupees[index] = true;
+                occupees[suivant] = false;
+                index = suivant;
+            }
+            suivant = (suivant + 1) & masque;
+        }
+
+    }
+
+    /**
+     * Méthode doublant la capacité de la table en réinsérant toutes ses clés.
+     */
+    private void agrandir() {
+
+        long[] anciennesCles = cles;
+        int[] anciennesValeurs = valeurs;
+        boolean[] anciennesOccupees = occupees;
+        allouer(occupees.length << 1);
+        for (int index = 0; index < anciennesOccupees.length; index++) {
+            if (anciennesOccupees[index]) {
+                int nouvelIndex = chercher(anciennesCles[index]);
+                occupees[nouvelIndex] = true;
+                cles[nouvelIndex] = anciennesCles[index];
+                valeurs[nouvelIndex] = anciennesValeurs[index];
+                taille++;
+            }
+        }
+
+    }
+
+    /**
+     * Méthode vidant la table sans libérer sa capacité.
+     */
+    protected void vider() {
+
+        if (taille > 0) {
+            Arrays.fill(occupees, false);
+            taille = 0;
+        }
+
+    }
+
+    /**
+     * Getter pour récupérer le nombre de clés présentes.
+     * @return Le nombre de clés.
+     */
+    protected int getTaille() { return taille; }
+
+    /**
+     * Getter pour récupérer le nombre de cases de la table, à utiliser pour parcourir les clés avec 'estOccupee'.
+     * @return La capacité de la table.
+     */
+    protected int getCapacite() { return occupees.length; }
+
+    /**
+     * Méthode indiquant si une case de la table contient une clé.
+     * @param index Index de la case.
+     * @return 'true' si la case est occupée.
+     */
+    protected boolean estOccupee(int index) { return occupees[index]; }
+
+    /**
+     * Getter pour récupérer la clé rangée dans une case occupée.
+     * @param index Index de la case.
+     * @return La clé.
+     */
+    protected long getCle(int index) { return cles[index]; }
+
+    /**
+     * Getter pour récupérer la valeur rangée dans une case occupée.
+     * @param index Index de la case.
+     * @return La valeur.
+     */
+    protected int getValeur(int index) { return valeurs[index]; }
+
+}
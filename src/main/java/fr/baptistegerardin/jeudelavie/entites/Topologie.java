@@ -0,0 +1,31 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+/**
+ * Énumération des comportements possibles aux bords d'une grille de taille fixe.
+ * @author Velki0
+ * @version 1.0
+ */
+public enum Topologie {
+
+    /** Les cellules situées hors de la grille sont toujours mortes. */
+    BORNEE("Bornée"),
+    /** Les bords opposés de la grille se rejoignent, comme à la surface d'un tore. */
+    TORIQUE("Torique");
+
+    /** Libellé affiché à l'utilisateur. */
+    private final String libelle;
+
+    /**
+     * Constructeur d'une topologie.
+     * @param libelle Libellé affiché à l'utilisateur.
+     */
+    Topologie(String libelle) {
+
+        this.libelle = libelle;
+
+    }
+
+    @Override
+    public String toString() { return libelle; }
+
+}
@@ -0,0 +1,178 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import fr.baptistegerardin.jeudelavie.exceptions.ModeleRenseigneNonConforme;
+
+/**
+ * Énumération des différents moteurs de calcul pouvant animer le plateau de jeu.
+ * Chaque type sait instancier l'automate qui lui correspond, que ce soit avec des cellules uniformes ou à partir d'un modèle.
+ * @author Velki0
+ * @version 1.0
+ */
+public enum TypeAutomate {
+
+    /** Moteur de référence, un octet par cellule. */
+    CLASSIQUE("Classique", false, Constantes.CELLULES_MAXIMALES_OCTETS),
+    /** Moteur de référence calculé par vecteurs SIMD, un octet par cellule. */
+    VECTORIEL("Vectoriel (SIMD, un octet par cellule)", false, Constantes.CELLULES_MAXIMALES_OCTETS),
+    /** Moteur compact, 64 cellules par mot de 64 bits. */
+    BINAIRE("Binaire (64 cellules par mot)", false, Long.MAX_VALUE),
+    /** Moteur HashLife sur un plan infini, capable de sauter des générations par puissances de deux. */
+    HASHLIFE("HashLife (plan infini)", true, Long.MAX_VALUE),
+    /** Moteur ne stockant que les cellules vivantes, sur un plan infini. */
+    DISPERSE("Dispersé (plan infini)", true, Long.MAX_VALUE),
+    /** Moteur des règles à plusieurs états (Brian's Brain, Star Wars...), un octet par cellule contenant son état. */
+    GENERATIONS("Generations (plusieurs états, un octet par cellule)", false, Constantes.CELLULES_MAXIMALES_OCTETS);
+
+    /** Libellé affiché à l'utilisateur. */
+    private final String libelle;
+    /** Indique si le moteur simule un plan infini, dont la taille ne définit que la fenêtre affichée. */
+    private final boolean planInfini;
+    /** Nombre maximal de cellules de la grille, bords compris. */
+    private final long cellulesMaximales;
+
+    /**
+     * Constructeur d'un type d'automate.
+     * @param libelle Libellé affiché à l'utilisateur.
+     * @param planInfini Indique si le moteur simule un plan infini.
+     * @param cellulesMaximales Nombre maximal de cellules de la grille, bords compris.
+     */
+    TypeAutomate(String libelle, boolean planInfini, long cellulesMaximales) {
+
+        this.libelle = libelle;
+        this.planInfini = planInfini;
+        this.cellulesMaximales = cellulesMaximales;
+
+    }
+
+    /**
+     * Méthode expliquant pourquoi le moteur ne peut pas suivre une règle.
+     * Sur un plan infini, une règle faisant naître des cellules sans voisin (B0) remplirait instantanément tout le plan.
+     * Seul le moteur Generations sait représenter les états mourants d'une règle à plus de deux états.
+     * @param regle Règle à vérifier.
+     * @return Le motif du refus, ou 'null' si la règle peut être suivie par ce moteur.
+     */
+    protected String expliquerRefus(Regle regle) {
+
+        if (regle.isGenerations() && this != GENERATIONS) {
+            return "La règle " + regle + " comporte " + regle.getNombreEtats() + " états, seul le moteur " + GENERATIONS.libelle + " peut la suivre";
+        }
+        if (planInfini && regle.isNaissanceSansVoisin()) {
+            return "La règle " + regle + " fait naître des cellules sans voisin, le moteur " + libelle + " ne peut pas la suivre";
+        }
+        return null;
+
+    }
+
+    /**
+     * Méthode expliquant pourquoi le moteur ne peut pas représenter une grille.
+     * Les moteurs à un octet par cellule rangent toute la grille, entourée d'une bordure d'une cellule, dans un seul tableau,
+     * dont la taille ne peut pas dépasser la plus grande taille de tableau allouable par la machine virtuelle.
+     * Les autres moteurs rangent chaque ligne dans son propre tableau et ne sont limités que par la mémoire.
+     * @param lignesTotales Nombre de lignes de la grille.
+     * @param colonnesTotales Nombre de colonnes de la grille.
+     * @return Le motif du refus, ou 'null' si la grille peut être représentée par ce moteur.
+     */
+    protected String expliquerRefus(int lignesTotales, int colonnesTotales) {
+
+        if (lignesTotales < 1 || colonnesTotales < 1) {
+            return "La grille doit comporter au moins une ligne et une colonne : " + lignesTotales + "x" + colonnesTotales;
+        }
+        if ((long) (lignesTotales + 2) * (colonnesTotales + 2) > cellulesMaximales) {
+            return "Une grille de " + lignesTotales + "x" + colonnesTotales + " cellules dépasse la limite du moteur " + libelle
+                    + " (" + getCoteMaximal() + "x" + getCoteMaximal() + " au plus)";
+        }
+        return null;
+
+    }
+
+    /**
+     * Getter afin de récupérer la plus grande taille de côté telle que toute grille dont les deux côtés ne la dépassent pas puisse être représentée par ce moteur.
+     * @return Le nombre maximal de lignes et de colonnes d'une grille quelconque.
+     */
+    protected int getCoteMaximal() { return (int) Math.min(Integer.MAX_VALUE - 2, (long) Math.sqrt((double) cellulesMaximales) - 2); }
+
+    /**
+     * Méthode instanciant un automate dont toutes les cellules ont le même état initial.
+     * @param lignesTotales Nombre de lignes totales de l'automate.
+     * @param colonnesTotales Nombre de colonnes totales de l'automate.
+     * @param etatInitial État initial de toutes les cellules de l'automate.
+     * @return Le nouvel automate.
+     * @throws IllegalArgumentException Exception jetée si la grille ne peut pas être représentée par ce moteur.
+     */
+    protected Automate creer(int lignesTotales, int colonnesTotales, boolean etatInitial) {
+
+        String refus = expliquerRefus(lignesTotales, colonnesTotales);
+        if (refus != null) {
+            throw new IllegalArgumentException(refus);
+        }
+        return switch (this) {
+            case CLASSIQUE -> new AutomateClassique(lignesTotales, colonnesTotales, etatInitial);
+            case VECTORIEL -> new AutomateVectoriel(lignesTotales, colonnesTotales, etatInitial);
+            case BINAIRE -> new AutomateBinaire(lignesTotales, colonnesTotales, etatInitial);
+            case HASHLIFE -> {
+                Automate automate = new AutomateHashLife(lignesTotales, colonnesTotales);
+                if (etatInitial) {
+                    automate.copierDepuis(new AutomateBinaire(lignesTotales, colonnesTotales, true));
+                }
+                yield automate;
+            }
+            case DISPERSE -> {
+                Automate automate = new AutomateDisperse(lignesTotales, colonnesTotales);
+                if (etatInitial) {
+                    automate.copierDepuis(new AutomateBinaire(lignesTotales, colonnesTotales, true));
+                }
+                yield automate;
+            }
+            case GENERATIONS -> new AutomateGenerations(lignesTotales, colonnesTotales, etatInitial);
+        };
+
+    }
+
+    /**
+     * Méthode instanciant un automate à partir d'un modèle prédéfini, qui suit la règle indiquée par le modèle.
+     * @param modele Modèle de l'automate cellulaire.
+     * @return Le nouvel automate.
+     * @throws ModeleRenseigneNonConforme Exception jetée si la règle du modèle ne peut pas être suivie par ce moteur ou si sa grille est trop grande pour lui.
+     */
+    protected Automate creer(Modele modele) throws ModeleRenseigneNonConforme {
+
+        String refus = expliquerRefus(modele.getRegle());
+        if (refus == null) {
+            refus = expliquerRefus(modele.getLignesTotales(), modele.getColonnesTotales());
+        }
+        if (refus != null) {
+            throw new ModeleRenseigneNonConforme(refus);
+        }
+        Automate automate = switch (this) {
+            case CLASSIQUE -> new AutomateClassique(modele);
+            case VECTORIEL -> new AutomateVectoriel(modele);
+            case BINAIRE -> new AutomateBinaire(modele);
+            case HASHLIFE -> new AutomateHashLife(modele);
+            case DISPERSE -> new AutomateDisperse(modele);
+            case GENERATIONS -> new AutomateGenerations(modele);
+        };
+        automate.setRegle(modele.getRegle());
+        return automate;
+
+    }
+
+    /**
+     * Getter indiquant si le moteur simule un plan infini, dont la taille ne définit que la fenêtre affichée.
+     * @return 'true' pour les moteurs HashLife et Dispersé, 'false' pour les moteurs sur grille.
+     */
+    protected boolean isPlanInfini() { return planInfini; }
+
+    @Override
+    public String toString() { return libelle; }
+
+    /**
+     * Constantes partagées par les moteurs, une énumération ne pouvant pas lire ses propres constantes statiques dans ses constructeurs.
+     */
+    private static final class Constantes {
+
+        /** Taille maximale d'un tableau allouable par la machine virtuelle, quelques éléments étant réservés à son en-tête. */
+        private static final long CELLULES_MAXIMALES_OCTETS = Integer.MAX_VALUE - 8;
+
+    }
+
+}
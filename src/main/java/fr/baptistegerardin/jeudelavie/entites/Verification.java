@@ -0,0 +1,343 @@
+package fr.baptistegerardin.jeudelavie.entites;
+
+import fr.baptistegerardin.jeudelavie.exceptions.RegleNonConforme;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * La Verification contrôle en ligne de commande que les moteurs de calcul donnent les mêmes résultats quel que soit le nombre de fils d'exécution.
+ * Pour chaque moteur sur grille, chaque topologie et plusieurs règles, une même soupe évolue avec un seul fil puis avec plusieurs :
+ * la population et l'empreinte de chaque génération, ainsi que la grille finale, doivent être identiques.
+ * Les moteurs sur grille suivant une même règle doivent de plus aboutir aux mêmes populations et à la même grille finale.
+ * Le remplissage aléatoire est enfin contrôlé : une même graine doit donner la même grille quels que soient le moteur et le nombre de fils,
+ * y compris lorsqu'une grille déjà remplie est remplie à nouveau, et deux graines différentes doivent donner deux grilles différentes.
+ * Les dimensions par défaut ne sont multiples ni de la hauteur des bandes ni de la largeur d'un mot, afin que les bords soient eux aussi contrôlés.
+ * Exemple : --headless --verify [--taille 250x300] [--generations 100] [--fils 8] [--graine 1]
+ * @author Velki0
+ * @version 1.0
+ */
+public final class Verification {
+
+    /** Règles suivies par les soupes contrôlées, dont deux règles à plusieurs états réservées au moteur Generations. */
+    private static final String[] REGLES = {"B3/S23", "B36/S23", "B2/S", "B3678/S34678", "B2/S/C3", "B2/S345/C4"};
+    /** Proportion de cellules vivantes des soupes contrôlées. */
+    private static final double DENSITE = 0.4;
+
+    /** Dimensions des soupes. */
+    private final int lignesTotales, colonnesTotales;
+    /** Nombre de générations calculées pour chaque soupe. */
+    private final int generations;
+    /** Nombre de fils d'exécution comparé à un seul fil. */
+    private final int nombreDeFils;
+    /** Graine des soupes. */
+    private final long graine;
+    /** Nombre de contrôles effectués. */
+    private int controles;
+    /** Description de chaque contrôle échoué. */
+    private final List<String> echecs = new ArrayList<>();
+
+    /**
+     * Constructeur d'une vérification.
+     * @param lignesTotales Nombre de lignes des soupes.
+     * @param colonnesTotales Nombre de colonnes des soupes.
+     * @param generations Nombre de générations calculées pour chaque soupe.
+     * @param nombreDeFils Nombre de fils d'exécution comparé à un seul fil.
+     * @param graine Graine des soupes.
+     */
+    protected Verification(int lignesTotales, int colonnesTotales, int generations, int nombreDeFils, long graine) {
+
+        this.lignesTotales = lignesTotales;
+        this.colonnesTotales = colonnesTotales;
+        this.generations = generations;
+        this.nombreDeFils = nombreDeFils;
+        this.graine = graine;
+
+    }
+
+    /**
+     * Méthode contrôlant que le remplissage aléatoire ne dépend que de sa graine.
+     * Chaque moteur, y compris sur plan infini, est rempli avec un seul fil puis avec plusieurs, et doit obtenir la grille du premier moteur.
+     * Chaque grille est ensuite remplie avec une autre graine puis de nouveau avec la première, et doit retrouver la même grille.
+     */
+    protected void verifierRemplissage() {
+
+        byte[][] reference = null;
+        TypeAutomate typeReference = null;
+        for (TypeAutomate typeAutomate : TypeAutomate.values()) {
+            for (int fils : new int[] {1, nombreDeFils}) {
+                String cas = "Remplissage " + typeAutomate.name() + ", " + fils + " fils";
+                Automate automate = typeAutomate.creer(lignesTotales, colonnesTotales, false);
+                automate.setNombreDeFils(fils);
+                automate.remplir(new Remplissage(graine, DENSITE));
+                byte[][] grille = capturer(automate);
+                controler(cas + " : population", automate.getPopulation() == compterPopulation(grille) ? null
+                        : automate.getPopulation() + " cellules annoncées au lieu de " + compterPopulation(grille));
+                if (reference == null) {
+                    reference = grille;
+                    typeReference = typeAutomate;
+                    automate.remplir(new Remplissage(graine + 1, DENSITE));
+                    controler(cas + " : graine suivante", Arrays.deepEquals(grille, capturer(automate)) ? "grille identique à celle de la graine " + graine : null);
+                } else {
+                    controler(cas + " : identique à " + typeReference.name() + ", 1 fil", comparer(reference, grille));
+                    automate.remplir(new Remplissage(graine + 1, DENSITE));
+                }
+                automate.remplir(new Remplissage(graine, DENSITE));
+                controler(cas + " : nouveau remplissage en place", comparer(grille, capturer(automate)));
+            }
+        }
+
+    }
+
+    /**
+     * Méthode contrôlant que chaque moteur sur grille calcule les mêmes générations avec un seul fil et avec plusieurs,
+     * et que tous les moteurs suivant une même règle calculent les mêmes générations, pour chaque topologie et chaque règle contrôlée.
+     * @throws RegleNonConforme Exception jetée si une règle contrôlée n'est pas lisible.
+     */
+    protected void verifierMoteurs() throws RegleNonConforme {
+
+        for (Topologie topologie : Topologie.values()) {
+            for (String notation : REGLES) {
+                Regle regle = Regle.analyser(notation);
+                Deroulement reference = null;
+                TypeAutomate typeReference = null;
+                for (TypeAutomate typeAutomate : TypeAutomate.values()) {
+                    if (typeAutomate.isPlanInfini() || typeAutomate.expliquerRefus(regle) != null) {
+                        continue;
+                    }
+                    String cas = typeAutomate.name() + ", " + topologie.name() + ", " + regle;
+                    Deroulement seul = derouler(typeAutomate, topologie, regle, 1);
+                    controler(cas + " : 1 et " + nombreDeFils + " fils", seul.comparer(derouler(typeAutomate, topologie, regle, nombreDeFils), true));
+                    if (reference == null) {
+                        reference = seul;
+                        typeReference = typeAutomate;
+                    } else {
+                        controler(cas + " : identique à " + typeReference.name(), reference.comparer(seul, false));
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Méthode faisant évoluer une soupe et relevant la population et l'empreinte de chaque génération, ainsi que la grille finale.
+     * @param typeAutomate Moteur de calcul de la soupe.
+     * @param topologie Comportement de la soupe aux bords de la grille.
+     * @param regle Règle suivie par la soupe.
+     * @param fils Nombre de fils d'exécution.
+     * @return Le déroulement de la soupe.
+     */
+    private Deroulement derouler(TypeAutomate typeAutomate, Topologie topologie, Regle regle, int fils) {
+
+        Automate automate = typeAutomate.creer(lignesTotales, colonnesTotales, false);
+        automate.setTopologie(topologie);
+        automate.setRegle(regle);
+        automate.setNombreDeFils(fils);
+        automate.remplir(new Remplissage(graine, DENSITE));
+        Deroulement deroulement = new Deroulement(generations);
+        for (int generation = 0; generation <= generations; generation++) {
+            if (generation > 0) {
+                automate.mettreAJourAutomate();
+            }
+            deroulement.populations[generation] = automate.getPopulation();
+            deroulement.empreintes[generation] = automate.getEmpreinte();
+        }
+        deroulement.grille = capturer(automate);
+        return deroulement;
+
+    }
+
+    /**
+     * Méthode recopiant l'état de chaque cellule d'un automate, un octet par cellule.
+     * @param automate L'automate à recopier.
+     * @return Les états des cellules, ligne par ligne.
+     */
+    private static byte[][] capturer(Automate automate) {
+
+        byte[][] grille = new byte[automate.getLignesTotales()][automate.getColonnesTotales()];
+        for (int ligne = 0; ligne < grille.length; ligne++) {
+            automate.copierEtats(ligne, grille[ligne]);
+        }
+        return grille;
+
+    }
+
+    /**
+     * Méthode comptant les cellules vivantes d'une grille recopiée.
+     * @param grille Les états des cellules, ligne par ligne.
+     * @return Le nombre de cellules dans l'état vivant.
+     */
+    private static long compterPopulation(byte[][] grille) {
+
+        long population = 0;
+        for (byte[] ligne : grille) {
+            for (byte etat : ligne) {
+                if (etat == 1) {
+                    population++;
+                }
+            }
+        }
+        return population;
+
+    }
+
+    /**
+     * Méthode comparant deux grilles recopiées.
+     * @param attendue La grille attendue.
+     * @param obtenue La grille obtenue.
+     * @return La description de la première cellule différente, ou 'null' si les deux grilles sont identiques.
+     */
+    private static String comparer(byte[][] attendue, byte[][] obtenue) {
+
+        for (int ligne = 0; ligne < attendue.length; ligne++) {
+            for (int colonne = 0; colonne < attendue[ligne].length; colonne++) {
+                if (attendue[ligne][colonne] != obtenue[ligne][colonne]) {
+                    return "cellule (" + ligne + ", " + colonne + ") dans l'état " + obtenue[ligne][colonne] + " au lieu de " + attendue[ligne][colonne];
+                }
+            }
+        }
+        return null;
+
+    }
+
+    /**
+     * Méthode comptant un contrôle et signalant immédiatement son échec.
+     * @param description La description du contrôle.
+     * @param ecart La description de l'écart constaté, ou 'null' si le contrôle est réussi.
+     */
+    private void controler(String description, String ecart) {
+
+        controles++;
+        if (ecart != null) {
+            echecs.add(description + " : " + ecart);
+            System.out.println("ÉCHEC " + description + " : " + ecart);
+        }
+
+    }
+
+    /**
+     * Getter afin de récupérer le nombre de contrôles effectués.
+     * @return Le nombre de contrôles.
+     */
+    protected int getControles() { return controles; }
+
+    /**
+     * Getter afin de récupérer la description des contrôles échoués.
+     * @return Les contrôles échoués, dans l'ordre où ils ont été effectués.
+     */
+    protected List<String> getEchecs() { return echecs; }
+
+    /**
+     * Méthode exécutant la vérification décrite par la ligne de commande et affichant son bilan.
+     * @param arguments Arguments de la ligne de commande.
+     * @return Le code de retour du programme : 0 si tous les contrôles sont réussis, 1 sinon, 2 si les arguments sont incorrects.
+     */
+    protected static int executer(String[] arguments) {
+
+        int lignesTotales = 250, colonnesTotales = 300;
+        int generations = 100;
+        int nombreDeFils = Math.max(4, Runtime.getRuntime().availableProcessors());
+        long graine = 1;
+        try {
+            for (int index = 0; index < arguments.length; index++) {
+                switch (arguments[index]) {
+                    case "--headless", "--verify" -> { }
+                    case "--taille" -> {
+                        String[] dimensions = SimulationSansInterface.valeur(arguments, ++index).toLowerCase(Locale.ROOT).split("x", -1);
+                        if (dimensions.length != 2) {
+                            throw new IllegalArgumentException("La taille des soupes doit être de la forme <lignes>x<colonnes> : " + arguments[index]);
+                        }
+                        lignesTotales = Integer.parseInt(dimensions[0]);
+                        colonnesTotales = Integer.parseInt(dimensions[1]);
+                    }
+                    case "--generations" -> generations = Integer.parseInt(SimulationSansInterface.valeur(arguments, ++index));
+                    case "--fils" -> nombreDeFils = Integer.parseInt(SimulationSansInterface.valeur(arguments, ++index));
+                    case "--graine" -> graine = Long.parseLong(SimulationSansInterface.valeur(arguments, ++index));
+                    default -> throw new IllegalArgumentException("Argument inconnu : " + arguments[index]);
+                }
+            }
+            if (generations < 0) {
+                throw new IllegalArgumentException("Le nombre de générations doit être positif : " + generations);
+            }
+            if (nombreDeFils < 2) {
+                throw new IllegalArgumentException("Le nombre de fils comparé à un seul fil doit être au moins égal à 2 : " + nombreDeFils);
+            }
+            for (TypeAutomate typeAutomate : TypeAutomate.values()) {
+                if (typeAutomate.expliquerRefus(lignesTotales, colonnesTotales) != null) {
+                    throw new IllegalArgumentException(typeAutomate.expliquerRefus(lignesTotales, colonnesTotales));
+                }
+            }
+        } catch (IllegalArgumentException exception) {
+            System.err.println(exception.getMessage());
+            System.err.println("Utilisation : --headless --verify [--taille <lignes>x<colonnes>] [--generations <N>] [--fils <N>] [--graine <N>]");
+            return SimulationSansInterface.ARGUMENTS_INCORRECTS;
+        }
+
+        Verification verification = new Verification(lignesTotales, colonnesTotales, generations, nombreDeFils, graine);
+        long debut = System.nanoTime();
+        try {
+            verification.verifierRemplissage();
+            verification.verifierMoteurs();
+        } catch (RegleNonConforme exception) {
+            System.err.println("Une règle contrôlée est non-conforme : " + exception.getMessage());
+            return SimulationSansInterface.ECHEC;
+        }
+        double secondes = (System.nanoTime() - debut) / 1e9;
+        System.out.printf(Locale.ROOT, "Soupes : %dx%d, densité %.2f, graine %d, %d générations, 1 et %d fils%n",
+                lignesTotales, colonnesTotales, DENSITE, graine, generations, nombreDeFils);
+        System.out.printf(Locale.ROOT, "Contrôles : %d, échecs : %d, durée : %.3f s%n", verification.getControles(), verification.getEchecs().size(), secondes);
+        return verification.getEchecs().isEmpty() ? SimulationSansInterface.SUCCES : SimulationSansInterface.ECHEC;
+
+    }
+
+    /**
+     * Un Deroulement rassemble la population et l'empreinte de chaque génération d'une soupe, de la génération zéro à la dernière, ainsi que sa grille finale.
+     */
+    private static final class Deroulement {
+
+        /** Population de chaque génération. */
+        private final long[] populations;
+        /** Empreinte de chaque génération. */
+        private final long[] empreintes;
+        /** États des cellules de la dernière génération. */
+        private byte[][] grille;
+
+        /**
+         * Constructeur d'un déroulement vide.
+         * @param generations Nombre de générations calculées après la génération zéro.
+         */
+        private Deroulement(int generations) {
+
+            populations = new long[generations + 1];
+            empreintes = new long[generations + 1];
+
+        }
+
+        /**
+         * Méthode comparant ce déroulement, attendu, à un autre.
+         * Les empreintes n'étant comparables qu'entre automates d'un même moteur, elles ne sont comparées qu'à la demande.
+         * @param obtenu Le déroulement obtenu.
+         * @param avecEmpreintes 'true' pour comparer aussi les empreintes.
+         * @return La description du premier écart, ou 'null' si les deux déroulements sont identiques.
+         */
+        private String comparer(Deroulement obtenu, boolean avecEmpreintes) {
+
+            for (int generation = 0; generation < populations.length; generation++) {
+                if (populations[generation] != obtenu.populations[generation]) {
+                    return "génération " + generation + ", population " + obtenu.populations[generation] + " au lieu de " + populations[generation];
+                }
+                if (avecEmpreintes && empreintes[generation] != obtenu.empreintes[generation]) {
+                    return "génération " + generation + ", empreinte différente";
+                }
+            }
+            String ecart = Verification.comparer(grille, obtenu.grille);
+            return ecart != null ? "grille finale, " + ecart : null;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,22 @@
+package fr.baptistegerardin.jeudelavie.exceptions;
+
+/**
+ * Exception au sujet de la règle d'un automate si sa notation n'est pas conforme ou si le moteur choisi ne peut pas l'appliquer.
+ * Celle-ci est jetée pour une notation illisible ('B3/S23' ou '23/3' sont attendus) ou une règle incompatible avec un plan infini.
+ * @author Velki0
+ * @version 1.0
+ */
+public class RegleNonConforme extends Exception {
+
+    /**
+     * Constructeur de l'exception si l'utilisateur fourni une règle erronée.
+     * Celle-ci est jetée pour une notation illisible ou une règle incompatible avec le moteur de calcul choisi.
+     * @param message Message délivré à l'utilisateur pour une règle non conforme.
+     */
+    public RegleNonConforme(String message) {
+
+        super(message);
+
+    }
+
+}